@@ -0,0 +1,315 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark is a small measuring harness, in the spirit of JMH (which the project can't depend on).
+ * An operation is run in warm-up iterations, so the JIT compiles it, and then in measured iterations
+ * of a fixed duration each. It reports the throughput (operations per second) with its error,
+ * and, like JMH's {@code -prof gc}, the bytes allocated per operation and the garbage collections
+ * during the measurement. Like JMH, every benchmark runs in its own JVM (fork) by default,
+ * so the JIT's profile of one benchmark doesn't slow down the others.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+public final class Benchmark {
+    /** Don't let anyone instantiate this class. */
+    private Benchmark() {}
+
+    /**
+     * The number of operations run between two checks of the clock
+     */
+    private static final int BATCH = 256;
+
+    /**
+     * The prefix of the result line a forked JVM prints for its parent
+     */
+    private static final String RESULT_PREFIX = "#result";
+
+    /**
+     * The sink of the results, like JMH's Blackhole: the identity hashes of the results of an iteration are folded
+     * into it, so the JIT can't drop the operations
+     */
+    private static volatile long sink;
+
+    /**
+     * The options of a benchmark run, parsed from the command line.
+     * @param warmupIterations the number of warm-up iterations
+     * @param iterations the number of measured iterations
+     * @param iterationMillis the duration of every iteration in milliseconds
+     * @param filter a regular expression, only benchmarks whose name contains a match are run
+     * @param forks the number of JVMs every benchmark runs in, 0 for running in this JVM
+     * @param child whether this JVM is a fork, which reports its results to the parent
+     */
+    public record Options(int warmupIterations, int iterations, long iterationMillis, String filter,
+                          int forks, boolean child) {
+        /**
+         * Parses the options from the command line arguments:
+         * {@code -wi <warm-up iterations> -i <iterations> -t <milliseconds per iteration> -f <filter>
+         * -fork <forks>}.
+         * The remaining arguments are ignored, so every benchmark can have its own options.
+         * @param args the command line arguments
+         * @return the options
+         * @throws IllegalArgumentException if a value is missing or not a number
+         */
+        public static Options parse(String[] args) {
+            int warmupIterations = 3, iterations = 5;
+            long iterationMillis = 1000;
+            String filter = "";
+            int forks = 1;
+            boolean child = false;
+            for (int i = 0; i < args.length; ++i) {
+                switch (args[i]) {
+                    case "-wi" -> warmupIterations = Integer.parseInt(value(args, ++i));
+                    case "-i" -> iterations = Integer.parseInt(value(args, ++i));
+                    case "-t" -> iterationMillis = Long.parseLong(value(args, ++i));
+                    case "-f" -> filter = value(args, ++i);
+                    case "-fork" -> forks = Integer.parseInt(value(args, ++i));
+                    case "-child" -> child = true;
+                    default -> { }
+                }
+            }
+            if (warmupIterations < 0 || iterations < 1 || iterationMillis < 1 || forks < 0)
+                throw new IllegalArgumentException("Iterations and duration must be positive");
+            return new Options(warmupIterations, iterations, iterationMillis, filter, forks, child);
+        }
+
+        /**
+         * Gets the value of an option.
+         * @param args the command line arguments
+         * @param i the index of the value
+         * @return the value
+         * @throws IllegalArgumentException if the value is missing
+         */
+        public static String value(String[] args, int i) {
+            if (i >= args.length)
+                throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+            return args[i];
+        }
+
+        /**
+         * Checks whether a benchmark is selected by the filter.
+         * @param name the benchmark's name
+         * @return true if the benchmark should run, false otherwise
+         */
+        public boolean selects(String name) {
+            return filter.isEmpty() || Pattern.compile(filter).matcher(name).find();
+        }
+    }
+
+    /**
+     * The result of a benchmark.
+     * @param name the benchmark's name
+     * @param opsPerSecond the mean throughput over the measured iterations
+     * @param error the error of the throughput (99.9% confidence, as JMH reports)
+     * @param bytesPerOp the bytes allocated per operation, NaN if the JVM can't measure it
+     * @param gcCount the number of garbage collections during the measurement
+     * @param gcMillis the time of the garbage collections during the measurement
+     */
+    public record Result(String name, double opsPerSecond, double error, double bytesPerOp,
+                         long gcCount, long gcMillis) {
+        /**
+         * The header of the results table
+         */
+        public static final String HEADER = String.format(Locale.ROOT, "%-40s %15s %12s %12s %6s %8s",
+                "Benchmark", "ops/s", "error", "B/op", "gc", "gc ms");
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-40s %15.1f %12.1f %12.1f %6d %8d",
+                    name, opsPerSecond, error, bytesPerOp, gcCount, gcMillis);
+        }
+    }
+
+    /**
+     * Runs a benchmark of an operation on the current thread.
+     * The operation gets the number of the run (0, 1, 2, ...), e.g., for going over an array of inputs.
+     * @param name the benchmark's name
+     * @param options the options of the run
+     * @param operation the operation, its result is consumed so it can't be optimized away
+     * @return the result of the benchmark
+     */
+    public static Result run(String name, Options options, IntFunction<Object> operation) {
+        for (int i = 0; i < options.warmupIterations(); ++i)
+            iteration(options.iterationMillis(), operation);
+
+        final com.sun.management.ThreadMXBean threads =
+                ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                        && bean.isThreadAllocatedMemorySupported() ? bean : null;
+        if (threads != null)
+            threads.setThreadAllocatedMemoryEnabled(true);
+        final long thread = Thread.currentThread().threadId();
+        final long bytesBefore = threads == null ? 0 : threads.getThreadAllocatedBytes(thread);
+        final long gcCountBefore = gcCount(), gcMillisBefore = gcMillis();
+
+        double[] throughputs = new double[options.iterations()];
+        long operations = 0;
+        for (int i = 0; i < throughputs.length; ++i) {
+            long start = System.nanoTime();
+            long count = iteration(options.iterationMillis(), operation);
+            throughputs[i] = count * 1e9 / (System.nanoTime() - start);
+            operations += count;
+        }
+
+        final double bytesPerOp = threads == null ? Double.NaN
+                : (double) (threads.getThreadAllocatedBytes(thread) - bytesBefore) / operations;
+        double mean = 0;
+        for (double throughput : throughputs)
+            mean += throughput / throughputs.length;
+        double variance = 0;
+        for (double throughput : throughputs)
+            variance += (throughput - mean) * (throughput - mean) / Math.max(1, throughputs.length - 1);
+        // 3.29 standard errors - the 99.9% confidence interval of the normal distribution
+        double error = 3.29 * Math.sqrt(variance / throughputs.length);
+        return new Result(name, mean, error, bytesPerOp, gcCount() - gcCountBefore, gcMillis() - gcMillisBefore);
+    }
+
+    /**
+     * Runs an operation repeatedly for a duration.
+     * @param millis the duration in milliseconds
+     * @param operation the operation
+     * @return the number of operations run
+     */
+    private static long iteration(long millis, IntFunction<Object> operation) {
+        final long end = System.nanoTime() + millis * 1_000_000;
+        long count = 0;
+        long hash = 0;
+        do {
+            for (int i = 0; i < BATCH; ++i)
+                hash = hash * 31 ^ System.identityHashCode(operation.apply((int) count++));
+        } while (System.nanoTime() < end);
+        sink ^= hash;
+        return count;
+    }
+
+    /**
+     * Sums the number of collections of all the garbage collectors.
+     * @return the number of garbage collections since the JVM started
+     */
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+            count += Math.max(0, gc.getCollectionCount());
+        return count;
+    }
+
+    /**
+     * Sums the collection time of all the garbage collectors.
+     * @return the time of garbage collections since the JVM started in milliseconds
+     */
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+            millis += Math.max(0, gc.getCollectionTime());
+        return millis;
+    }
+
+    /**
+     * Prints results as a table.
+     * @param results the results
+     */
+    public static void print(List<Result> results) {
+        System.out.println(Result.HEADER);
+        for (Result result : results)
+            System.out.println(result);
+    }
+
+    /**
+     * Runs the benchmarks selected by the options, each in its own JVMs unless the options say otherwise,
+     * and prints the results one by one and then as a table.
+     * In a forked JVM, the result is printed for the parent instead.
+     * @param main the class whose main method runs the benchmarks (and is run in the forked JVMs)
+     * @param options the options of the run
+     * @param benchmarks the benchmarks by their names, each creates its operation
+     * @return the results
+     */
+    public static List<Result> runAll(Class<?> main, Options options,
+                                      Map<String, Supplier<IntFunction<Object>>> benchmarks) {
+        List<Result> results = new ArrayList<>();
+        for (var benchmark : benchmarks.entrySet()) {
+            String name = benchmark.getKey();
+            if (!options.selects(name))
+                continue;
+            Result result = options.forks() == 0 ? run(name, options, benchmark.getValue().get())
+                    : fork(main, name, options);
+            if (options.child()) {
+                System.out.println(RESULT_PREFIX + "\t" + result.opsPerSecond() + "\t" + result.error() + "\t"
+                        + result.bytesPerOp() + "\t" + result.gcCount() + "\t" + result.gcMillis());
+                continue;
+            }
+            System.out.println(result);
+            results.add(result);
+        }
+        if (!options.child()) {
+            System.out.println();
+            print(results);
+        }
+        return results;
+    }
+
+    /**
+     * Runs a benchmark in new JVMs, with the same options and class path.
+     * The results of several forks are merged: the throughput is averaged, and its error
+     * covers both the error within the forks and the spread between them.
+     * @param main the class whose main method runs the benchmarks
+     * @param name the benchmark's name
+     * @param options the options of the run
+     * @return the result of the benchmark
+     * @throws IllegalStateException if a forked JVM fails
+     */
+    private static Result fork(Class<?> main, String name, Options options) {
+        final String java = ProcessHandle.current().info().command().orElse("java");
+        final int forks = options.forks();
+        double opsPerSecond = 0, error = 0, bytesPerOp = 0;
+        long gcCount = 0, gcMillis = 0;
+        double[] means = new double[forks];
+        for (int f = 0; f < forks; ++f) {
+            ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    main.getName(), "-wi", String.valueOf(options.warmupIterations()),
+                    "-i", String.valueOf(options.iterations()), "-t", String.valueOf(options.iterationMillis()),
+                    "-f", "^" + Pattern.quote(name) + "$", "-fork", "0", "-child");
+            builder.redirectErrorStream(true);
+            String[] fields = null;
+            try {
+                Process process = builder.start();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                    for (String line = reader.readLine(); line != null; line = reader.readLine())
+                        if (line.startsWith(RESULT_PREFIX))
+                            fields = line.split("\t");
+                        else
+                            System.err.println(line);
+                }
+                if (process.waitFor() != 0 || fields == null)
+                    throw new IllegalStateException("The fork of " + name + " failed");
+            } catch (IOException e) {
+                throw new IllegalStateException("Can't fork " + name, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while running " + name, e);
+            }
+            means[f] = Double.parseDouble(fields[1]);
+            opsPerSecond += means[f] / forks;
+            error = Math.max(error, Double.parseDouble(fields[2]));
+            bytesPerOp += Double.parseDouble(fields[3]) / forks;
+            gcCount += Long.parseLong(fields[4]);
+            gcMillis += Long.parseLong(fields[5]);
+        }
+        if (forks > 1) {
+            double variance = 0;
+            for (double mean : means)
+                variance += (mean - opsPerSecond) * (mean - opsPerSecond) / (forks - 1);
+            error = Math.max(error, 3.29 * Math.sqrt(variance / forks));
+        }
+        return new Result(name, opsPerSecond, error, bytesPerOp, gcCount, gcMillis);
+    }
+}
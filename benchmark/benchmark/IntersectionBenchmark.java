@@ -0,0 +1,291 @@
+package benchmark;
+
+import geometries.*;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Benchmarks of the intersection kernels of all the geometries: {@link Intersectable#calculateIntersections(Ray)}
+ * and {@link Intersectable#findClosestHit(Ray, double, Intersectable.Hit)}, each with sets of hitting,
+ * missing and grazing (tangent, on an edge or almost parallel) rays.
+ * A benchmark's name is {@code <geometry>.<rays>.<query>}, e.g., {@code Sphere.grazing.closest}.
+ * <p>
+ * Run from the command line (after compiling the sources of {@code src} and {@code benchmark} to {@code out}):
+ * <pre>{@code java -cp out benchmark.IntersectionBenchmark [-wi 3] [-i 5] [-t 1000] [-f <regex>] [-fork 1]}</pre>
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+public final class IntersectionBenchmark {
+    /** Don't let anyone instantiate this class. */
+    private IntersectionBenchmark() {}
+
+    /**
+     * The number of rays in a set of rays
+     */
+    private static final int RAYS = 1024;
+    /**
+     * The distance of the rays' heads from the geometries
+     */
+    private static final double DISTANCE = 20;
+
+    /**
+     * A geometry with its sets of rays.
+     * @param name the name of the geometry
+     * @param geometry the geometry
+     * @param hit rays that hit the geometry
+     * @param miss rays that pass near the geometry and miss it
+     * @param grazing rays that graze the geometry
+     */
+    private record Case(String name, Intersectable geometry, Ray[] hit, Ray[] miss, Ray[] grazing) {
+    }
+
+    /**
+     * Runs the benchmarks selected by the command line options and prints the results.
+     * @param args the options (see {@link Benchmark.Options#parse(String[])})
+     */
+    public static void main(String[] args) {
+        Map<String, Supplier<IntFunction<Object>>> benchmarks = new LinkedHashMap<>();
+        for (Case c : cases(new Random(42))) {
+            String[] names = {"hit", "miss", "grazing"};
+            Ray[][] sets = {c.hit(), c.miss(), c.grazing()};
+            for (int s = 0; s < sets.length; ++s) {
+                final Ray[] rays = sets[s];
+                final Intersectable geometry = c.geometry();
+                benchmarks.put(c.name() + "." + names[s] + ".intersections",
+                        () -> i -> geometry.calculateIntersections(rays[i & (RAYS - 1)]));
+                benchmarks.put(c.name() + "." + names[s] + ".closest", () -> {
+                    final Intersectable.Hit hit = new Intersectable.Hit();
+                    return i -> geometry.findClosestHit(rays[i & (RAYS - 1)], Double.POSITIVE_INFINITY, hit.reset())
+                            ? hit.geometry : hit;
+                });
+            }
+        }
+        Benchmark.runAll(IntersectionBenchmark.class, Benchmark.Options.parse(args), benchmarks);
+    }
+
+    /**
+     * Creates the geometries and their rays.
+     * @param random the random generator of the rays
+     * @return the cases
+     */
+    private static List<Case> cases(Random random) {
+        List<Case> cases = new ArrayList<>();
+
+        // Sphere of radius 2 at the origin
+        cases.add(new Case("Sphere", new Sphere(Point.ZERO, 2),
+                rays(random, r -> aim(origin(r), inBall(r, Point.ZERO, 1))),
+                rays(random, r -> passing(r, origin(r), Point.ZERO, 3 + r.nextDouble() * 3)),
+                rays(random, r -> passing(r, origin(r), Point.ZERO, 2))));
+
+        // Plane z = 0
+        cases.add(new Case("Plane", new Plane(Point.ZERO, Vector.AXIS_Z),
+                rays(random, r -> aim(origin(r), inSquare(r, 10))),
+                rays(random, r -> new Ray(origin(r), new Vector(r.nextDouble() - 0.5, r.nextDouble() - 0.5, 1))),
+                rays(random, r -> new Ray(origin(r),
+                        new Vector(r.nextDouble() - 0.5, r.nextDouble() - 0.5, (r.nextDouble() - 0.5) * 1e-9)))));
+
+        // Triangle in the plane z = 0
+        final Point t1 = new Point(-2, -1, 0), t2 = new Point(2, -1, 0), t3 = new Point(0, 2, 0);
+        cases.add(new Case("Triangle", new Triangle(t1, t2, t3),
+                rays(random, r -> aim(origin(r), inTriangle(r, t1, t2, t3))),
+                rays(random, r -> aim(origin(r), outside(r, Point.ZERO, 3, 5))),
+                rays(random, r -> aim(origin(r), onEdge(r, new Point[]{t1, t2, t3})))));
+
+        // Regular pentagon of radius 2 in the plane z = 0
+        final Point[] pentagon = new Point[5];
+        for (int i = 0; i < 5; ++i)
+            pentagon[i] = new Point(2 * Math.cos(2 * Math.PI * i / 5), 2 * Math.sin(2 * Math.PI * i / 5), 0);
+        cases.add(new Case("Polygon", new Polygon(pentagon),
+                rays(random, r -> aim(origin(r), inTriangle(r, Point.ZERO,
+                        pentagon[r.nextInt(5)], pentagon[r.nextInt(5)]))),
+                rays(random, r -> aim(origin(r), outside(r, Point.ZERO, 2.5, 5))),
+                rays(random, r -> aim(origin(r), onEdge(r, pentagon)))));
+
+        // Circle of radius 2 in the plane z = 0
+        cases.add(new Case("Circle", new Circle(Point.ZERO, 2, Vector.AXIS_Z),
+                rays(random, r -> aim(origin(r), outside(r, Point.ZERO, 0, 1.9))),
+                rays(random, r -> aim(origin(r), outside(r, Point.ZERO, 2.2, 5))),
+                rays(random, r -> aim(origin(r), outside(r, Point.ZERO, 2, 2)))));
+
+        // Tube of radius 1 around the Z axis, and a cylinder of height 4 - the rays are horizontal
+        final Ray axis = new Ray(Point.ZERO, Vector.AXIS_Z);
+        cases.add(new Case("Tube", new Tube(1, axis),
+                rays(random, r -> sideways(r, -5, 5, 0.9 * r.nextDouble())),
+                rays(random, r -> sideways(r, -5, 5, 1.5 + r.nextDouble() * 2)),
+                rays(random, r -> sideways(r, -5, 5, 1))));
+        cases.add(new Case("Cylinder", new Cylinder(1, axis, 4),
+                rays(random, r -> sideways(r, 0.5, 3.5, 0.9 * r.nextDouble())),
+                rays(random, r -> sideways(r, 0.5, 3.5, 1.5 + r.nextDouble() * 2)),
+                rays(random, r -> sideways(r, 0.5, 3.5, 1))));
+
+        // Geometries: 4x4 spheres of radius 0.5 on a grid in the plane z = 0, with 3 between the centers,
+        // and rays from above
+        final Geometries spheres = new Geometries();
+        final Point[] centers = new Point[16];
+        for (int i = 0; i < 16; ++i) {
+            centers[i] = new Point(3 * (i % 4) - 4.5, 3 * (i / 4) - 4.5, 0);
+            spheres.add(new Sphere(centers[i], 0.5));
+        }
+        cases.add(new Case("Geometries", spheres,
+                rays(random, r -> down(inBall(r, centers[r.nextInt(16)], 0.3))),
+                rays(random, r -> down(centers[r.nextInt(16)].add(new Vector(1.5, 1.5, 0)))),
+                rays(random, r -> down(outside(r, centers[r.nextInt(16)], 0.5, 0.5)))));
+        return cases;
+    }
+
+    /**
+     * Creates a set of rays.
+     * @param random the random generator
+     * @param generator creates a ray with the random generator
+     * @return the rays
+     */
+    private static Ray[] rays(Random random, Function<Random, Ray> generator) {
+        Ray[] rays = new Ray[RAYS];
+        for (int i = 0; i < RAYS; ++i)
+            rays[i] = generator.apply(random);
+        return rays;
+    }
+
+    /**
+     * Creates a random head of a ray, above the plane z = 0 at {@link #DISTANCE} from the origin.
+     * @param random the random generator
+     * @return the head
+     */
+    private static Point origin(Random random) {
+        Vector direction = new Vector(random.nextGaussian(), random.nextGaussian(),
+                Math.abs(random.nextGaussian()) + 0.1).normalize();
+        return Point.ZERO.add(direction, DISTANCE);
+    }
+
+    /**
+     * Creates a ray from a head through a target.
+     * @param origin the head
+     * @param target the target
+     * @return the ray
+     */
+    private static Ray aim(Point origin, Point target) {
+        return new Ray(origin, target.subtract(origin));
+    }
+
+    /**
+     * Creates a ray whose closest distance from a point is as given.
+     * @param random the random generator
+     * @param origin the ray's head
+     * @param center the point
+     * @param distance the distance of the ray from the point
+     * @return the ray
+     */
+    private static Ray passing(Random random, Point origin, Point center, double distance) {
+        Vector toCenter = center.subtract(origin);
+        double length = toCenter.length();
+        Vector side = toCenter.crossProduct(new Vector(random.nextGaussian(), random.nextGaussian(),
+                random.nextGaussian())).normalize();
+        // the ray through center + side * s passes at s * length / sqrt(length^2 + s^2) from the center
+        double offset = distance * length / Math.sqrt(length * length - distance * distance);
+        return aim(origin, center.add(side, offset));
+    }
+
+    /**
+     * Creates a horizontal ray (perpendicular to the Z axis) at a given distance from the Z axis.
+     * @param random the random generator
+     * @param minZ the minimal height of the ray
+     * @param maxZ the maximal height of the ray
+     * @param distance the distance of the ray from the Z axis
+     * @return the ray
+     */
+    private static Ray sideways(Random random, double minZ, double maxZ, double distance) {
+        double angle = random.nextDouble() * 2 * Math.PI;
+        double z = minZ + random.nextDouble() * (maxZ - minZ);
+        Vector direction = new Vector(-Math.cos(angle), -Math.sin(angle), 0);
+        // the head is moved sideways by the distance, perpendicular to the direction
+        Point head = new Point(DISTANCE * Math.cos(angle) - distance * Math.sin(angle),
+                DISTANCE * Math.sin(angle) + distance * Math.cos(angle), z);
+        return new Ray(head, direction);
+    }
+
+    /**
+     * Creates an almost vertical ray from above through a target.
+     * @param target the target
+     * @return the ray
+     */
+    private static Ray down(Point target) {
+        return aim(target.add(new Vector(0.01, 0.02, DISTANCE)), target);
+    }
+
+    /**
+     * Creates a random point in a ball.
+     * @param random the random generator
+     * @param center the center of the ball
+     * @param radius the radius of the ball
+     * @return the point
+     */
+    private static Point inBall(Random random, Point center, double radius) {
+        return center.add(new Vector(random.nextGaussian(), random.nextGaussian(), random.nextGaussian())
+                .normalize(), radius * Math.cbrt(random.nextDouble()));
+    }
+
+    /**
+     * Creates a random point in a square around the origin in the plane z = 0.
+     * @param random the random generator
+     * @param size the half size of the square
+     * @return the point
+     */
+    private static Point inSquare(Random random, double size) {
+        return new Point((random.nextDouble() * 2 - 1) * size, (random.nextDouble() * 2 - 1) * size, 0);
+    }
+
+    /**
+     * Creates a random point in a ring around a point, parallel to the plane z = 0.
+     * @param random the random generator
+     * @param center the center of the ring
+     * @param minRadius the inner radius of the ring
+     * @param maxRadius the outer radius of the ring
+     * @return the point
+     */
+    private static Point outside(Random random, Point center, double minRadius, double maxRadius) {
+        double angle = random.nextDouble() * 2 * Math.PI;
+        double radius = minRadius + random.nextDouble() * (maxRadius - minRadius);
+        return new Point(center.getX() + radius * Math.cos(angle), center.getY() + radius * Math.sin(angle),
+                center.getZ());
+    }
+
+    /**
+     * Creates a random point in a triangle.
+     * @param random the random generator
+     * @param p1 the first vertex
+     * @param p2 the second vertex
+     * @param p3 the third vertex
+     * @return the point
+     */
+    private static Point inTriangle(Random random, Point p1, Point p2, Point p3) {
+        double a = random.nextDouble(), b = random.nextDouble();
+        if (a + b > 1) {
+            a = 1 - a;
+            b = 1 - b;
+        }
+        return new Point(p1.getX() + a * (p2.getX() - p1.getX()) + b * (p3.getX() - p1.getX()),
+                p1.getY() + a * (p2.getY() - p1.getY()) + b * (p3.getY() - p1.getY()),
+                p1.getZ() + a * (p2.getZ() - p1.getZ()) + b * (p3.getZ() - p1.getZ()));
+    }
+
+    /**
+     * Creates a random point on an edge of a polygon.
+     * @param random the random generator
+     * @param vertices the vertices of the polygon
+     * @return the point
+     */
+    private static Point onEdge(Random random, Point[] vertices) {
+        int i = random.nextInt(vertices.length);
+        Point from = vertices[i], to = vertices[(i + 1) % vertices.length];
+        return from.add(to.subtract(from), random.nextDouble());
+    }
+}
@@ -0,0 +1,340 @@
+package benchmark;
+
+import geometries.*;
+import lighting.*;
+import primitives.*;
+import renderer.Camera;
+import renderer.RayTracerType;
+import sceneTest.Scene;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static java.awt.Color.BLUE;
+import static java.awt.Color.RED;
+
+/**
+ * ReferenceScenes holds the scenes both the rendering tests (FullImageTest, ReflectionRefractionTest, ShadowTest
+ * and LightsTest) and the render benchmarks render, with their geometries, lights and views,
+ * so the benchmarks measure the images the tests produce.
+ * The stars of the UFO scene are placed by a seeded random generator, so every run renders the same image.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+public final class ReferenceScenes {
+    /** Don't let anyone instantiate this class. */
+    private ReferenceScenes() {}
+
+    /**
+     * The seed of the random generator that places the stars of the UFO scene
+     */
+    private static final long STARS_SEED = 1;
+
+    /**
+     * A reference scene with its view.
+     * A new scene is created for every camera, since the ray tracers may rearrange the scene's geometries.
+     * @param name the name of the scene
+     * @param scene creates the scene
+     * @param location the location of the camera
+     * @param target the point the camera is aiming at
+     * @param up the direction up from the camera
+     * @param distance the distance between the camera and the view plane
+     * @param size the width and height of the view plane
+     */
+    public record ReferenceScene(String name, Supplier<Scene> scene, Point location, Point target, Vector up,
+                                 double distance, double size) {
+        /**
+         * Creates a camera builder of the scene's view, with a new scene.
+         * @param rayTracerType the type of the ray tracer
+         * @param resolution the number of pixels in the width and height of the image
+         * @return the camera builder
+         */
+        public Camera.Builder camera(RayTracerType rayTracerType, int resolution) {
+            return Camera.getBuilder()
+                    .setRayTracer(scene.get(), rayTracerType)
+                    .setLocation(location)
+                    .setDirection(target, up)
+                    .setVpDistance(distance).setVpSize(size, size)
+                    .setResolution(resolution, resolution);
+        }
+    }
+
+    /**
+     * The UFO in space scene, in its view
+     */
+    public static final ReferenceScene UFO =
+            new ReferenceScene("ufo", ReferenceScenes::ufo,
+                    new Point(0, -2000, 600), Point.ZERO, Vector.AXIS_Y, 1000, 200);
+    /**
+     * The two spheres scene, in its view
+     */
+    public static final ReferenceScene TWO_SPHERES =
+            new ReferenceScene("twoSpheres", ReferenceScenes::twoSpheres,
+                    new Point(0, 0, 1000), Point.ZERO, Vector.AXIS_Y, 1000, 150);
+    /**
+     * The two spheres on mirrors scene, in its view
+     */
+    public static final ReferenceScene TWO_SPHERES_ON_MIRRORS =
+            new ReferenceScene("twoSpheresOnMirrors", ReferenceScenes::twoSpheresOnMirrors,
+                    new Point(0, 0, 10000), Point.ZERO, Vector.AXIS_Y, 10000, 2500);
+    /**
+     * The partial shadow scene, in its view
+     */
+    public static final ReferenceScene TRIANGLES_TRANSPARENT_SPHERE =
+            new ReferenceScene("trianglesTransparentSphere", ReferenceScenes::trianglesTransparentSphere,
+                    new Point(0, -1000, 550), Point.ZERO, Vector.AXIS_Z, 1000, 200);
+    /**
+     * The shadow scene, in its view
+     */
+    public static final ReferenceScene SHADOW_TRIANGLES_SPHERE =
+            new ReferenceScene("shadowTrianglesSphere", ReferenceScenes::shadowTrianglesSphere,
+                    new Point(0, 0, 1000), Point.ZERO, Vector.AXIS_Y, 1000, 200);
+    /**
+     * The sphere lighted by all kinds of light sources, in its view
+     */
+    public static final ReferenceScene LIGHT_SPHERE_ALL =
+            new ReferenceScene("lightSphereAll", ReferenceScenes::lightSphereAll,
+                    new Point(0, 0, 1000), Point.ZERO, Vector.AXIS_Y, 1000, 150);
+    /**
+     * The triangles lighted by all kinds of light sources, in its view
+     */
+    public static final ReferenceScene LIGHT_TRIANGLES_ALL =
+            new ReferenceScene("lightTrianglesAll", ReferenceScenes::lightTrianglesAll,
+                    new Point(0, 0, 1000), Point.ZERO, Vector.AXIS_Y, 1000, 200);
+
+    /**
+     * All the reference scenes
+     */
+    public static final List<ReferenceScene> ALL = List.of(UFO, TWO_SPHERES, TWO_SPHERES_ON_MIRRORS,
+            TRIANGLES_TRANSPARENT_SPHERE, SHADOW_TRIANGLES_SPHERE, LIGHT_SPHERE_ALL, LIGHT_TRIANGLES_ALL);
+
+    /**
+     * The UFO in space scene of FullImageTest.allEffects: hundreds of stars, a UFO with a transparent dome,
+     * an alien, and a reflective moon.
+     * @return the scene
+     */
+    public static Scene ufo() {
+        Scene scene = new Scene("UFO in space");
+
+        // stars
+        Random rand = new Random(STARS_SEED);
+        Color starEmission = new Color(200, 200, 200);
+        Material starMaterial = new Material().setKD(0.5).setKT(1).setShininess(200);
+        for (int i = 0; i < 250; i++) {
+            double x = rand.nextDouble() * 500 - 250;
+            double y = rand.nextDouble() * 400 + 100;
+            double z = rand.nextDouble() * 320 - 200;
+            double radius = rand.nextDouble() * 1.3 + 0.3;
+            scene.geometries.add(new Sphere(new Point(x, y, z), radius)
+                    .setEmission(starEmission).setMaterial(starMaterial));
+        }
+
+        // alien
+        Color alienEmission = new Color(60, 192, 60);
+        Material alienMaterial = new Material().setKD(0.3).setKS(0.6).setShininess(150).setKT(0.2);
+        Geometry alienHead = new Sphere(new Point(0, 100, 63), 4)
+                .setEmission(alienEmission).setMaterial(alienMaterial);
+        Geometry alienBody = new Cylinder(1, new Ray(new Point(0, 100, 59), Vector.AXIS_Z.scale(-1)), 5)
+                .setEmission(alienEmission).setMaterial(alienMaterial);
+        Geometry alienRightLeg = new Cylinder(1, new Ray(new Point(0, 100, 54), new Vector(1, 0, -2)), 8)
+                .setEmission(alienEmission).setMaterial(alienMaterial);
+        Geometry alienLeftLeg = new Cylinder(1, new Ray(new Point(0, 100, 54), new Vector(-1, 0, -2)), 8)
+                .setEmission(alienEmission).setMaterial(alienMaterial);
+        Geometry alienRightHand = new Cylinder(1, new Ray(new Point(0, 100, 54), new Vector(1, 0, 1)), 8)
+                .setEmission(alienEmission).setMaterial(alienMaterial);
+        Geometry alienLeftHand = new Cylinder(1, new Ray(new Point(0, 100, 54), new Vector(-1, 0, 1)), 8)
+                .setEmission(alienEmission).setMaterial(alienMaterial);
+        Geometry alienRightFeeler = new Cylinder(1, new Ray(new Point(1, 100, 65), new Vector(1, 0, 2.5)), 6)
+                .setEmission(alienEmission).setMaterial(alienMaterial);
+        Geometry alienLeftFeeler = new Cylinder(1, new Ray(new Point(-1, 100, 65), new Vector(-1, 0, 2.5)), 6)
+                .setEmission(alienEmission).setMaterial(alienMaterial);
+        Geometry alienEye = new Sphere(new Point(0, 98, 63.5), 2.8).setEmission(new Color(230, 230, 230))
+                .setMaterial(new Material().setKD(0.5).setKS(0.7).setShininess(150));
+        Geometry alienPupil = new Sphere(new Point(0, 95, 64), 1).setEmission(new Color(20, 20, 20))
+                .setMaterial(new Material().setKD(0.2).setKS(0.9).setShininess(300));
+
+        // ufo dome and cylinder
+        Geometry ufoDome = new Sphere(new Point(0, 100, 50), 20).setEmission(new Color(30, 30, 70))
+                .setMaterial(new Material().setKD(0.1).setKS(0.7).setShininess(300).setKT(0.8).setKR(0.2));
+        Geometry ufoCylinder = new Cylinder(22, new Ray(new Point(0, 100, 44), Vector.AXIS_Z), 3)
+                .setEmission(new Color(192, 90, 0))
+                .setMaterial(new Material().setKD(0.7).setKS(0.3).setShininess(100));
+
+        // ufo disk (skirt)
+        int numberOfDots = 40;
+        Color ufoDiskEmission = new Color(140, 0, 0);
+        Material ufoDiskMaterial = new Material().setKD(0.7).setKS(0.2).setShininess(80);
+        Point[] topCircleDots = new Point[numberOfDots];
+        Point[] bottomCircleDots = new Point[numberOfDots];
+        for (int i = 0; i < numberOfDots; i++) {
+            double angle = i * (2 * Math.PI / numberOfDots);
+            double cosAngle = Math.cos(angle);
+            double sinAngle = Math.sin(angle);
+            topCircleDots[i] = new Point(18 * cosAngle, 18 * sinAngle + 100, 44);
+            bottomCircleDots[i] = new Point(50 * cosAngle, 50 * sinAngle + 100, 28);
+        }
+        for (int dot = 0; dot < numberOfDots; dot++) {
+            int nextDot = (dot + 1) % numberOfDots;
+            scene.geometries.add(new Polygon(bottomCircleDots[dot], bottomCircleDots[nextDot],
+                    topCircleDots[nextDot], topCircleDots[dot])
+                    .setEmission(ufoDiskEmission).setMaterial(ufoDiskMaterial));
+        }
+
+        // circles on the ufo's dome
+        Color circleColor = new Color(90, 90, 90);
+        Material circleMaterial = new Material().setKD(0.5);
+        Geometry circle1 = new Circle(new Point(0, 100, 40), 28, Vector.AXIS_Z)
+                .setEmission(circleColor).setMaterial(circleMaterial);
+        Geometry circle2 = new Circle(new Point(0, 100, 36), 36, Vector.AXIS_Z)
+                .setEmission(circleColor).setMaterial(circleMaterial);
+        Geometry circle3 = new Circle(new Point(0, 100, 32), 45, Vector.AXIS_Z)
+                .setEmission(circleColor).setMaterial(circleMaterial);
+
+        // glow spheres
+        int numGlowSpheres = 16;
+        Color glowSphereEmission = new Color(255, 255, 150);
+        Material glowSphereMaterial = new Material().setKD(0.1).setKS(0.5).setShininess(300);
+        for (int i = 0; i < numGlowSpheres; i++) {
+            double angle = i * (2 * Math.PI / numGlowSpheres);
+            scene.geometries.add(new Sphere(new Point(48 * Math.cos(angle), 48 * Math.sin(angle) + 100, 25), 3)
+                    .setEmission(glowSphereEmission).setMaterial(glowSphereMaterial));
+        }
+
+        // ufo laser and moon
+        Geometry laser = new Cylinder(10, new Ray(new Point(0, 100, 28), new Vector(0, 0, -1)), 70)
+                .setEmission(new Color(70, 70, 0))
+                .setMaterial(new Material().setKT(1).setKD(0.1).setShininess(100));
+        Geometry moon = new Sphere(new Point(0, 100, -250), 220).setEmission(new Color(90, 90, 90))
+                .setMaterial(new Material().setKD(0.7).setKS(0.1).setKR(0.1).setShininess(10));
+
+        scene.geometries.add(ufoDome, ufoCylinder, circle1, circle2, circle3, laser, moon);
+        scene.geometries.add(alienHead, alienBody, alienRightLeg, alienLeftLeg, alienRightHand, alienLeftHand,
+                alienRightFeeler, alienLeftFeeler, alienEye, alienPupil);
+
+        scene.lights.add(new SpotLight(new Color(700, 600, 200), new Point(0, 100, 28), Vector.AXIS_Z.scale(-1))
+                .setKl(0.0001).setKq(0.00005).setNarrowBeam(25));
+        scene.lights.add(new DirectionalLight(new Color(100, 100, 100), new Vector(-8, -10, -10)));
+        scene.lights.add(new DirectionalLight(new Color(70, 70, 70), new Vector(0, 1, -1)));
+        return scene.setAmbientLight(new AmbientLight(new Color(26, 26, 26)));
+    }
+
+    /**
+     * The two spheres scene of ReflectionRefractionTest: a transparent sphere around another sphere.
+     * @return the scene
+     */
+    public static Scene twoSpheres() {
+        Scene scene = new Scene("Two spheres");
+        scene.geometries.add(
+                new Sphere(new Point(0, 0, -50), 50d).setEmission(new Color(BLUE))
+                        .setMaterial(new Material().setKD(0.4).setKS(0.3).setShininess(100).setKT(0.3)),
+                new Sphere(new Point(0, 0, -50), 25d).setEmission(new Color(RED))
+                        .setMaterial(new Material().setKD(0.5).setKS(0.5).setShininess(100)));
+        scene.lights.add(new SpotLight(new Color(1000, 600, 0), new Point(-100, -100, 500), new Vector(-1, -1, -2))
+                .setKl(0.0004).setKq(0.0000006));
+        return scene;
+    }
+
+    /**
+     * The two spheres on mirrors scene of ReflectionRefractionTest: nested spheres reflected by two mirrors.
+     * @return the scene
+     */
+    public static Scene twoSpheresOnMirrors() {
+        Scene scene = new Scene("Two spheres on mirrors");
+        scene.geometries.add(
+                new Sphere(new Point(-950, -900, -1000), 400d).setEmission(new Color(0, 50, 100))
+                        .setMaterial(new Material().setKD(0.25).setKS(0.25).setShininess(20)
+                                .setKT(new Double3(0.5, 0, 0))),
+                new Sphere(new Point(-950, -900, -1000), 200d).setEmission(new Color(100, 50, 20))
+                        .setMaterial(new Material().setKD(0.25).setKS(0.25).setShininess(20)),
+                new Triangle(new Point(1500, -1500, -1500), new Point(-1500, 1500, -1500),
+                        new Point(670, 670, 3000))
+                        .setEmission(new Color(20, 20, 20))
+                        .setMaterial(new Material().setKR(1)),
+                new Triangle(new Point(1500, -1500, -1500), new Point(-1500, 1500, -1500),
+                        new Point(-1500, -1500, -2000))
+                        .setEmission(new Color(20, 20, 20))
+                        .setMaterial(new Material().setKR(new Double3(0.5, 0, 0.4))));
+        scene.lights.add(new SpotLight(new Color(1020, 400, 400), new Point(-750, -750, -150), new Vector(-1, -1, -4))
+                .setKl(0.00001).setKq(0.000005));
+        return scene.setAmbientLight(new AmbientLight(new Color(26, 26, 26)));
+    }
+
+    /**
+     * The partial shadow scene of ReflectionRefractionTest: two triangles shaded by a transparent sphere.
+     * @return the scene
+     */
+    public static Scene trianglesTransparentSphere() {
+        Scene scene = new Scene("Triangles and a transparent sphere");
+        scene.geometries.add(
+                new Triangle(new Point(-150, -150, -115), new Point(150, -150, -135), new Point(75, 75, -150))
+                        .setMaterial(new Material().setKD(0.5).setKS(0.5).setShininess(60)),
+                new Triangle(new Point(-150, -150, -115), new Point(-70, 70, -140), new Point(75, 75, -150))
+                        .setMaterial(new Material().setKD(0.5).setKS(0.5).setShininess(60)),
+                new Sphere(new Point(60, 50, -50), 30d).setEmission(new Color(BLUE))
+                        .setMaterial(new Material().setKD(0.2).setKS(0.2).setShininess(30).setKT(0.6)));
+        scene.lights.add(new SpotLight(new Color(700, 400, 400), new Point(60, 50, 0), new Vector(0, 0, -1))
+                .setKl(4E-5).setKq(2E-7));
+        return scene.setAmbientLight(new AmbientLight(new Color(38, 38, 38)));
+    }
+
+    /**
+     * The shadow scene of ShadowTest.trianglesSphere: two triangles shaded by an opaque sphere.
+     * @return the scene
+     */
+    public static Scene shadowTrianglesSphere() {
+        Scene scene = new Scene("Triangles and a sphere");
+        scene.geometries.add(
+                new Triangle(new Point(-150, -150, -115), new Point(150, -150, -135), new Point(75, 75, -150))
+                        .setMaterial(new Material().setKS(0.8).setShininess(60)),
+                new Triangle(new Point(-150, -150, -115), new Point(-70, 70, -140), new Point(75, 75, -150))
+                        .setMaterial(new Material().setKS(0.8).setShininess(60)),
+                new Sphere(new Point(0, 0, -11), 30d).setEmission(new Color(BLUE))
+                        .setMaterial(new Material().setKD(0.5).setKS(0.5).setShininess(30)));
+        scene.lights.add(new SpotLight(new Color(700, 400, 400), new Point(40, 40, 115), new Vector(-1, -1, -4))
+                .setKl(4E-4).setKq(2E-5));
+        return scene.setAmbientLight(new AmbientLight(new Color(38, 38, 38)));
+    }
+
+    /**
+     * The sphere scene of LightsTest.sphereAll: a sphere lighted by all kinds of light sources.
+     * @return the scene
+     */
+    public static Scene lightSphereAll() {
+        Scene scene = new Scene("Sphere and all lights");
+        scene.geometries.add(new Sphere(new Point(0, 0, -50), 50d).setEmission(new Color(BLUE).reduce(2))
+                .setMaterial(new Material().setKD(0.5).setKS(0.5).setShininess(301)));
+        scene.lights.add(new DirectionalLight(new Color(500, 500, 500), new Vector(-1, -1, 0.5)));
+        scene.lights.add(new PointLight(new Color(100, 600, 0), new Point(0, 0, 50))
+                .setKl(0.001).setKq(0.00015));
+        scene.lights.add(new SpotLight(new Color(800, 0, 0), new Point(-70, 20, 0), new Vector(1.3, -0.5, -1))
+                .setKl(0.01).setKq(0.000001));
+        scene.lights.add(new SpotLight(new Color(650, 500, 0), new Point(-50, -20, 25), new Vector(0.2, 0, -0.3))
+                .setKl(0.001).setKq(0.00004).setNarrowBeam(60));
+        return scene;
+    }
+
+    /**
+     * The triangles scene of LightsTest.trianglesAll: two triangles lighted by all kinds of light sources.
+     * @return the scene
+     */
+    public static Scene lightTrianglesAll() {
+        Scene scene = new Scene("Triangles and all lights");
+        Material material = new Material().setKD(new Double3(0.2, 0.6, 0.4)).setKS(new Double3(0.2, 0.4, 0.3))
+                .setShininess(301);
+        Point[] vertices = {
+                new Point(-110, -110, -150), new Point(95, 100, -150),
+                new Point(110, -110, -150), new Point(-75, 78, 100)
+        };
+        scene.geometries.add(
+                new Triangle(vertices[0], vertices[1], vertices[2]).setMaterial(material),
+                new Triangle(vertices[0], vertices[1], vertices[3]).setMaterial(material));
+        scene.lights.add(new DirectionalLight(new Color(450, 100, 100), new Vector(-2, 0, -1)));
+        scene.lights.add(new PointLight(new Color(300, 400, 150), new Point(30, 0, -50))
+                .setKl(0.002).setKq(0.00025));
+        scene.lights.add(new SpotLight(new Color(0, 0, 400), new Point(60, 10, -80), new Vector(0, 0, -1))
+                .setKl(0.009).setKq(0.00001));
+        scene.lights.add(new SpotLight(new Color(400, 400, 400), new Point(0, 0, 0), new Vector(0, -0.5, -1))
+                .setKl(0.001).setKq(0.000015).setNarrowBeam(100));
+        return scene.setAmbientLight(new AmbientLight(new Color(38, 38, 38)));
+    }
+}
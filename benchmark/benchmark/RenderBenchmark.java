@@ -0,0 +1,255 @@
+package benchmark;
+
+import renderer.Camera;
+import renderer.RayTracerType;
+import renderer.RenderStatistics;
+import renderer.RenderStatistics.RayType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RenderBenchmark measures end-to-end renders of the reference scenes (see {@link ReferenceScenes}),
+ * headless - the images are rendered but not written.
+ * Every combination of scene, resolution, ray tracer type and threads count is rendered in warm-up renders
+ * and then in measured renders, and its wall time, rays per second and rays per pixel by their type are reported
+ * as a table, and optionally as CSV and JSON files for tracking the throughput over time.
+ * The wall time includes preparing the ray tracer, e.g., building the acceleration structure.
+ * <p>
+ * Options: {@code -wi <warm-up renders> -i <measured renders> -f <scenes filter>
+ * -r <resolutions, e.g., 200,500> -tracers <types, e.g., SIMPLE,BVH> -threads <counts, e.g., 0,4,-1>
+ * -csv <file> -json <file> -stats}, where {@code -stats} prints the full statistics of every configuration
+ * (see {@link RenderStatistics}).
+ * The rays are counted by another render with the statistics collected, so collecting them doesn't affect
+ * the measured time.
+ * The renders are long enough to be measured in this JVM, so unlike {@link IntersectionBenchmark}
+ * nothing is forked.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+public final class RenderBenchmark {
+    /** Don't let anyone instantiate this class. */
+    private RenderBenchmark() {}
+
+    /**
+     * The result of rendering a scene with a configuration.
+     * @param scene the name of the scene
+     * @param resolution the number of pixels in the width and height of the image
+     * @param tracer the type of the ray tracer
+     * @param threads the number of rendering threads (0 is the calling thread only)
+     * @param millis the mean wall time of a render in milliseconds
+     * @param minMillis the shortest wall time of a render in milliseconds
+     * @param error the error of the mean wall time (99.9% confidence)
+     * @param rays the number of rays of a render, by the ordinal of their type
+     */
+    public record Result(String scene, int resolution, RayTracerType tracer, int threads,
+                         double millis, double minMillis, double error, long[] rays) {
+        /**
+         * The header of the results table
+         */
+        public static final String HEADER = String.format(Locale.ROOT,
+                "%-28s %6s %-7s %7s %10s %10s %8s %12s %8s %8s %8s %8s",
+                "Scene", "res", "tracer", "threads", "ms", "min ms", "error", "rays/s",
+                "primary", "shadow", "reflect", "refract");
+
+        /**
+         * The CSV header of the results
+         */
+        public static final String CSV_HEADER = "scene,resolution,tracer,threads,ms,min_ms,error_ms,rays_per_second,"
+                + "primary_per_pixel,shadow_per_pixel,reflection_per_pixel,refraction_per_pixel";
+
+        /**
+         * Gets the number of rays of a render, of all the types.
+         * @return the number of rays
+         */
+        public long totalRays() {
+            long total = 0;
+            for (long count : rays)
+                total += count;
+            return total;
+        }
+
+        /**
+         * Gets the throughput of the renders.
+         * @return the mean number of rays per second
+         */
+        public double raysPerSecond() {
+            return totalRays() * 1000 / millis;
+        }
+
+        /**
+         * Gets the mean number of rays of a type per pixel of the image.
+         * @param type the type of the rays
+         * @return the number of rays per pixel
+         */
+        public double perPixel(RayType type) {
+            return (double) rays[type.ordinal()] / ((long) resolution * resolution);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-28s %6d %-7s %7d %10.1f %10.1f %8.1f %12.0f %8.3f %8.3f %8.3f %8.3f",
+                    scene, resolution, tracer, threads, millis, minMillis, error, raysPerSecond(),
+                    perPixel(RayType.PRIMARY), perPixel(RayType.SHADOW),
+                    perPixel(RayType.REFLECTION), perPixel(RayType.REFRACTION));
+        }
+
+        /**
+         * Formats the result as a CSV line.
+         * @return the CSV line
+         */
+        public String toCsv() {
+            return String.format(Locale.ROOT, "%s,%d,%s,%d,%.3f,%.3f,%.3f,%.1f,%.6f,%.6f,%.6f,%.6f",
+                    scene, resolution, tracer, threads, millis, minMillis, error, raysPerSecond(),
+                    perPixel(RayType.PRIMARY), perPixel(RayType.SHADOW),
+                    perPixel(RayType.REFLECTION), perPixel(RayType.REFRACTION));
+        }
+
+        /**
+         * Formats the result as a JSON object.
+         * @return the JSON object
+         */
+        public String toJson() {
+            return String.format(Locale.ROOT, "{\"scene\": \"%s\", \"resolution\": %d, \"tracer\": \"%s\", "
+                            + "\"threads\": %d, \"ms\": %.3f, \"minMs\": %.3f, \"errorMs\": %.3f, "
+                            + "\"raysPerSecond\": %.1f, \"rays\": {\"primary\": %d, \"shadow\": %d, "
+                            + "\"reflection\": %d, \"refraction\": %d}}",
+                    scene, resolution, tracer, threads, millis, minMillis, error, raysPerSecond(),
+                    rays[RayType.PRIMARY.ordinal()], rays[RayType.SHADOW.ordinal()],
+                    rays[RayType.REFLECTION.ordinal()], rays[RayType.REFRACTION.ordinal()]);
+        }
+    }
+
+    /**
+     * Renders a scene with a configuration in warm-up renders and then in measured renders.
+     * @param scene the scene
+     * @param resolution the number of pixels in the width and height of the image
+     * @param tracer the type of the ray tracer
+     * @param threads the number of rendering threads (0 is the calling thread only, -1 is all the processors)
+     * @param options the options of the run
+     * @param printStatistics whether the full statistics of the render are printed
+     * @return the result
+     */
+    public static Result run(ReferenceScenes.ReferenceScene scene, int resolution, RayTracerType tracer, int threads,
+                             Benchmark.Options options, boolean printStatistics) {
+        for (int i = 0; i < options.warmupIterations(); ++i)
+            scene.camera(tracer, resolution).setMultithreading(threads).build().renderImage();
+
+        double[] millis = new double[options.iterations()];
+        for (int i = 0; i < millis.length; ++i) {
+            // a new scene for every render, so the acceleration structure is built by every render
+            Camera camera = scene.camera(tracer, resolution).setMultithreading(threads).build();
+            long start = System.nanoTime();
+            camera.renderImage();
+            millis[i] = (System.nanoTime() - start) / 1e6;
+        }
+        // the rays are counted by another render, since collecting the statistics slows the render down
+        RenderStatistics statistics = scene.camera(tracer, resolution).setMultithreading(threads).setStatistics(true)
+                .build().renderImage().getStatistics();
+        if (printStatistics)
+            System.out.println(statistics);
+
+        double mean = 0, min = Double.POSITIVE_INFINITY;
+        for (double time : millis) {
+            mean += time / millis.length;
+            min = Math.min(min, time);
+        }
+        double variance = 0;
+        for (double time : millis)
+            variance += (time - mean) * (time - mean) / Math.max(1, millis.length - 1);
+        // 3.29 standard errors - the 99.9% confidence interval of the normal distribution
+        double error = 3.29 * Math.sqrt(variance / millis.length);
+
+        long[] rays = new long[RayType.values().length];
+        for (RayType type : RayType.values())
+            rays[type.ordinal()] = statistics.getRays(type);
+        return new Result(scene.name(), resolution, tracer,
+                threads == -1 ? Runtime.getRuntime().availableProcessors() : threads, mean, min, error, rays);
+    }
+
+    /**
+     * Parses a comma separated list of numbers.
+     * @param list the list
+     * @return the numbers
+     */
+    private static int[] parseInts(String list) {
+        String[] items = list.split(",");
+        int[] values = new int[items.length];
+        for (int i = 0; i < items.length; ++i)
+            values[i] = Integer.parseInt(items[i].trim());
+        return values;
+    }
+
+    /**
+     * Writes the results to a file.
+     * @param file the path of the file
+     * @param content the content of the file
+     * @throws IllegalStateException if the file can't be written
+     */
+    private static void write(String file, String content) {
+        try {
+            Files.writeString(Path.of(file), content);
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't write the results to " + file, e);
+        }
+    }
+
+    /**
+     * Runs the render benchmarks.
+     * @param args the options, see the class documentation
+     */
+    public static void main(String[] args) {
+        Benchmark.Options options = Benchmark.Options.parse(args);
+        int[] resolutions = { 200 };
+        List<RayTracerType> tracers = List.of(RayTracerType.values());
+        int[] threadCounts = { 0, -1 };
+        String csv = null, json = null;
+        boolean printStatistics = false;
+        for (int i = 0; i < args.length; ++i) {
+            switch (args[i]) {
+                case "-r" -> resolutions = parseInts(Benchmark.Options.value(args, ++i));
+                case "-tracers" -> {
+                    List<RayTracerType> types = new ArrayList<>();
+                    for (String type : Benchmark.Options.value(args, ++i).split(","))
+                        types.add(RayTracerType.valueOf(type.trim().toUpperCase(Locale.ROOT)));
+                    tracers = types;
+                }
+                case "-threads" -> threadCounts = parseInts(Benchmark.Options.value(args, ++i));
+                case "-csv" -> csv = Benchmark.Options.value(args, ++i);
+                case "-json" -> json = Benchmark.Options.value(args, ++i);
+                case "-stats" -> printStatistics = true;
+                default -> { }
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        System.out.println(Result.HEADER);
+        for (ReferenceScenes.ReferenceScene scene : ReferenceScenes.ALL) {
+            if (!options.selects(scene.name()))
+                continue;
+            for (int resolution : resolutions)
+                for (RayTracerType tracer : tracers)
+                    for (int threads : threadCounts) {
+                        Result result = run(scene, resolution, tracer, threads, options, printStatistics);
+                        System.out.println(result);
+                        results.add(result);
+                    }
+        }
+
+        if (csv != null) {
+            StringBuilder content = new StringBuilder(Result.CSV_HEADER).append('\n');
+            for (Result result : results)
+                content.append(result.toCsv()).append('\n');
+            write(csv, content.toString());
+        }
+        if (json != null) {
+            StringBuilder content = new StringBuilder("[\n");
+            for (int i = 0; i < results.size(); ++i)
+                content.append("  ").append(results.get(i).toJson()).append(i + 1 < results.size() ? ",\n" : "\n");
+            write(json, content.append("]\n").toString());
+        }
+    }
+}
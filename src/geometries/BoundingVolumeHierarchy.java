@@ -0,0 +1,509 @@
+package geometries;
+
+import primitives.BoundingBox;
+import primitives.Ray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * The BoundingVolumeHierarchy class is an acceleration structure over the geometries of a collection.
+ * The bounded geometries are organized in a binary tree of boxes, built by the surface area heuristic (SAH),
+ * so a ray is tested only against the geometries whose boxes it passes through.
+ * The nodes are visited front-to-back: the child box nearer to the ray's head is visited first.
+ * Unbounded geometries (e.g., planes) can't be placed in the tree, so they are always tested.
+ * The hierarchy is a snapshot of the geometries at the time it is constructed.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+public class BoundingVolumeHierarchy extends Intersectable {
+    /**
+     * The number of bins the centroids are sorted into along an axis, when looking for the best split
+     */
+    private static final int BINS = 16;
+    /**
+     * The maximal number of geometries in a leaf, a bigger leaf is split even if the SAH doesn't favor it
+     */
+    private static final int MAX_LEAF_SIZE = 8;
+    /**
+     * The estimated cost of visiting a node, relative to the cost of intersecting a geometry
+     */
+    private static final double TRAVERSAL_COST = 0.5;
+    /**
+     * The margin added to the nodes' boxes, relative to the size of the whole hierarchy,
+     * so that rounding errors won't miss geometries on the border of a box
+     */
+    private static final double MARGIN = 1e-7;
+
+    /**
+     * The bounded geometries, ordered such that the geometries of each leaf are consecutive
+     */
+    private final Intersectable[] geometries;
+    /**
+     * The unbounded geometries, which are tested for every ray
+     */
+    private final List<Intersectable> unbounded = new LinkedList<>();
+    /**
+     * The box of the bounded geometries, null if there are none
+     */
+    private final BoundingBox boundingBox;
+
+    /**
+     * The boxes of the nodes - min X, Y, Z and max X, Y, Z of each node one after the other.
+     * The nodes are in depth-first order, so the left child of an inner node is the node right after it.
+     */
+    private double[] bounds;
+    /**
+     * For a leaf - the index of its first geometry, for an inner node - the index of its right child
+     */
+    private int[] offsets;
+    /**
+     * For a leaf - the number of its geometries, for an inner node - 0
+     */
+    private int[] counts;
+    /**
+     * The number of nodes in the tree
+     */
+    private int nodesCount = 0;
+    /**
+     * The margin added to the nodes' boxes
+     */
+    private final double margin;
+
+    /**
+     * The boxes of the bounded geometries (min X, Y, Z and max X, Y, Z), used during the build
+     */
+    private double[] boxes;
+    /**
+     * The indexes of the bounded geometries, reordered during the build
+     */
+    private int[] order;
+
+    /**
+     * The traversal stack of each thread, so the queries don't allocate a stack per ray
+     */
+    private final ThreadLocal<Traversal> traversals = ThreadLocal.withInitial(Traversal::new);
+
+    /**
+     * The stack of a traversal - the nodes to visit, and for the closest-hit queries the distances where
+     * the ray enters them, so a node can be skipped when a closer hit was found since it was pushed.
+     */
+    private static class Traversal {
+        /**
+         * The nodes to visit
+         */
+        int[] nodes = new int[64];
+        /**
+         * The entry distances of the nodes
+         */
+        double[] distances = new double[64];
+
+        /**
+         * Grows the stack if it doesn't have room for two more nodes.
+         * @param top the number of nodes in the stack
+         */
+        void ensureRoom(int top) {
+            if (top + 2 > nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+                distances = Arrays.copyOf(distances, distances.length * 2);
+            }
+        }
+    }
+
+    /**
+     * Constructs a hierarchy over all the geometries of a collection (including the nested collections).
+     * It is built by {@link Geometries#buildBvh()}, which keeps it for the collection's later rays.
+     * @param collection the geometries collection
+     */
+    BoundingVolumeHierarchy(Geometries collection) {
+        List<Intersectable> leaves = new ArrayList<>();
+        collection.flatten(leaves);
+
+        List<Intersectable> bounded = new ArrayList<>();
+        List<BoundingBox> boundedBoxes = new ArrayList<>();
+        BoundingBox box = null;
+        for (Intersectable leaf : leaves) {
+            BoundingBox leafBox = leaf.getBoundingBox();
+            if (leafBox == null)
+                unbounded.add(leaf);
+            else {
+                bounded.add(leaf);
+                boundedBoxes.add(leafBox);
+                box = box == null ? leafBox : box.union(leafBox);
+            }
+        }
+        boundingBox = box;
+        double extent = box == null ? 0
+                : Math.max(box.maxX() - box.minX(), Math.max(box.maxY() - box.minY(), box.maxZ() - box.minZ()));
+        margin = (extent == 0 ? 1 : extent) * MARGIN;
+
+        int size = bounded.size();
+        boxes = new double[6 * size];
+        order = new int[size];
+        for (int i = 0; i < size; ++i) {
+            BoundingBox leafBox = boundedBoxes.get(i);
+            boxes[6 * i] = leafBox.minX();
+            boxes[6 * i + 1] = leafBox.minY();
+            boxes[6 * i + 2] = leafBox.minZ();
+            boxes[6 * i + 3] = leafBox.maxX();
+            boxes[6 * i + 4] = leafBox.maxY();
+            boxes[6 * i + 5] = leafBox.maxZ();
+            order[i] = i;
+        }
+
+        int maxNodes = Math.max(1, 2 * size - 1);
+        bounds = new double[6 * maxNodes];
+        offsets = new int[maxNodes];
+        counts = new int[maxNodes];
+        if (size > 0)
+            build(0, size);
+
+        geometries = new Intersectable[size];
+        for (int i = 0; i < size; ++i)
+            geometries[i] = bounded.get(order[i]);
+
+        // the build data is not needed anymore, and the nodes arrays are trimmed to the actual tree size
+        boxes = null;
+        order = null;
+        bounds = Arrays.copyOf(bounds, 6 * nodesCount);
+        offsets = Arrays.copyOf(offsets, nodesCount);
+        counts = Arrays.copyOf(counts, nodesCount);
+    }
+
+    /**
+     * Calculates the surface area of a box.
+     * @param box the box's min X, Y, Z and max X, Y, Z
+     * @return the surface area
+     */
+    private static double area(double[] box) {
+        double x = box[3] - box[0], y = box[4] - box[1], z = box[5] - box[2];
+        return 2 * (x * y + y * z + z * x);
+    }
+
+    /**
+     * Creates an empty box, which becomes the box of the first box grown into it.
+     * @return an empty box (min X, Y, Z and max X, Y, Z)
+     */
+    private static double[] emptyBox() {
+        double inf = Double.POSITIVE_INFINITY;
+        return new double[]{inf, inf, inf, -inf, -inf, -inf};
+    }
+
+    /**
+     * Grows a box to contain a box of the array of boxes.
+     * @param box the box to grow
+     * @param boxes array of boxes
+     * @param index the index of the box in the array
+     */
+    private static void grow(double[] box, double[] boxes, int index) {
+        for (int axis = 0; axis < 3; ++axis) {
+            box[axis] = Math.min(box[axis], boxes[6 * index + axis]);
+            box[axis + 3] = Math.max(box[axis + 3], boxes[6 * index + axis + 3]);
+        }
+    }
+
+    /**
+     * Calculates the centroid of a geometry's box along an axis.
+     * @param index the index of the geometry
+     * @param axis the axis (0 - X, 1 - Y, 2 - Z)
+     * @return the coordinate of the box's center along the axis
+     */
+    private double centroid(int index, int axis) {
+        return (boxes[6 * index + axis] + boxes[6 * index + axis + 3]) / 2;
+    }
+
+    /**
+     * Calculates the bin of a centroid coordinate.
+     * @param centroid the coordinate of the centroid along an axis
+     * @param min the minimal centroid coordinate along the axis
+     * @param extent the extent of the centroids along the axis
+     * @return the bin's index
+     */
+    private static int bin(double centroid, double min, double extent) {
+        return Math.min(BINS - 1, (int) (BINS * (centroid - min) / extent));
+    }
+
+    /**
+     * Builds the subtree of a range of geometries recursively.
+     * The range is split where the SAH cost, estimated over bins of the centroids, is the lowest.
+     * @param start the first index in {@link #order} of the range (inclusive)
+     * @param end the last index in {@link #order} of the range (exclusive)
+     */
+    private void build(int start, int end) {
+        final int node = nodesCount++;
+        final int size = end - start;
+
+        double[] box = emptyBox();
+        double[] centroids = emptyBox();
+        for (int i = start; i < end; ++i) {
+            grow(box, boxes, order[i]);
+            for (int axis = 0; axis < 3; ++axis) {
+                double c = centroid(order[i], axis);
+                centroids[axis] = Math.min(centroids[axis], c);
+                centroids[axis + 3] = Math.max(centroids[axis + 3], c);
+            }
+        }
+        for (int axis = 0; axis < 3; ++axis) {
+            bounds[6 * node + axis] = box[axis] - margin;
+            bounds[6 * node + axis + 3] = box[axis + 3] + margin;
+        }
+
+        if (size == 1) {
+            makeLeaf(node, start, size);
+            return;
+        }
+
+        // Find the split with the lowest cost over all axes
+        int bestAxis = -1;
+        int bestBin = 0;
+        double bestCost = Double.POSITIVE_INFINITY;
+        for (int axis = 0; axis < 3; ++axis) {
+            double min = centroids[axis], extent = centroids[axis + 3] - min;
+            if (extent <= 0)
+                continue;
+
+            int[] binCounts = new int[BINS];
+            double[] binBoxes = new double[6 * BINS];
+            for (int b = 0; b < BINS; ++b)
+                System.arraycopy(emptyBox(), 0, binBoxes, 6 * b, 6);
+            for (int i = start; i < end; ++i) {
+                int b = bin(centroid(order[i], axis), min, extent);
+                ++binCounts[b];
+                for (int k = 0; k < 3; ++k) {
+                    binBoxes[6 * b + k] = Math.min(binBoxes[6 * b + k], boxes[6 * order[i] + k]);
+                    binBoxes[6 * b + k + 3] = Math.max(binBoxes[6 * b + k + 3], boxes[6 * order[i] + k + 3]);
+                }
+            }
+
+            // sweep from the right to get the area and count of each right side, then from the left
+            double[] rightAreas = new double[BINS];
+            int[] rightCounts = new int[BINS];
+            double[] side = emptyBox();
+            int count = 0;
+            for (int b = BINS - 1; b > 0; --b) {
+                if (binCounts[b] > 0)
+                    grow(side, binBoxes, b);
+                count += binCounts[b];
+                rightCounts[b] = count;
+                rightAreas[b] = count == 0 ? 0 : area(side);
+            }
+            side = emptyBox();
+            count = 0;
+            for (int b = 0; b < BINS - 1; ++b) {
+                if (binCounts[b] > 0)
+                    grow(side, binBoxes, b);
+                count += binCounts[b];
+                if (count == 0 || rightCounts[b + 1] == 0)
+                    continue;
+                double cost = area(side) * count + rightAreas[b + 1] * rightCounts[b + 1];
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestAxis = axis;
+                    bestBin = b + 1;
+                }
+            }
+        }
+
+        // The SAH cost of the split relative to intersecting all the geometries of the node
+        double area = area(box);
+        double splitCost = area > 0 ? TRAVERSAL_COST + bestCost / area : TRAVERSAL_COST + size;
+        if (size <= MAX_LEAF_SIZE && (bestAxis < 0 || splitCost >= size)) {
+            makeLeaf(node, start, size);
+            return;
+        }
+
+        // Partition the range by the best split, or in the middle if the centroids can't be separated
+        int middle = start;
+        if (bestAxis >= 0) {
+            double min = centroids[bestAxis], extent = centroids[bestAxis + 3] - min;
+            for (int i = start; i < end; ++i)
+                if (bin(centroid(order[i], bestAxis), min, extent) < bestBin) {
+                    int temp = order[i];
+                    order[i] = order[middle];
+                    order[middle++] = temp;
+                }
+        }
+        if (middle == start || middle == end)
+            middle = (start + end) >>> 1;
+
+        build(start, middle);
+        offsets[node] = nodesCount;
+        counts[node] = 0;
+        build(middle, end);
+    }
+
+    /**
+     * Makes a node a leaf of a range of geometries.
+     * @param node the node's index
+     * @param start the index of the leaf's first geometry
+     * @param size the number of the leaf's geometries
+     */
+    private void makeLeaf(int node, int start, int size) {
+        offsets[node] = start;
+        counts[node] = size;
+    }
+
+    /**
+     * Calculates the distance along a ray where it enters a node's box.
+     * @param node the node's index
+     * @param ray the ray
+     * @param maxDistance the maximum distance along the ray
+     * @return the entry distance (0 if the head is inside the box), or infinity if the ray misses the box
+     */
+    private double enter(int node, Ray ray, double maxDistance) {
+        final int i = 6 * node;
+        return BoundingBox.entryDistance(ray, bounds[i], bounds[i + 1], bounds[i + 2],
+                bounds[i + 3], bounds[i + 4], bounds[i + 5], maxDistance);
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        return unbounded.isEmpty() ? boundingBox : null;
+    }
+
+    /**
+     * Adds the intersections of a geometry with a ray to a list of intersections.
+     * @param geometry the geometry to intersect
+     * @param ray the ray
+     * @param maxDistance the maximum distance of the intersections from the head of the ray
+     * @param intersections the list of intersections found so far, may be null
+     * @return the list of intersections including the geometry's intersections, may be null
+     */
+    private static List<Intersection> addIntersections(Intersectable geometry, Ray ray, double maxDistance,
+                                                       List<Intersection> intersections) {
+        var geometryIntersections = geometry.calculateIntersections(ray, maxDistance);
+        if (geometryIntersections != null)
+            if (intersections == null)
+                intersections = new LinkedList<>(geometryIntersections);
+            else
+                intersections.addAll(geometryIntersections);
+        return intersections;
+    }
+
+    @Override
+    protected List<Intersection> calculateIntersectionsHelper(Ray ray, double maxDistance) {
+        List<Intersection> intersections = null;
+        for (Intersectable geometry : unbounded)
+            intersections = addIntersections(geometry, ray, maxDistance, intersections);
+        if (nodesCount == 0)
+            return intersections;
+
+        if (enter(0, ray, maxDistance) == Double.POSITIVE_INFINITY)
+            return intersections;
+
+        final Traversal stack = traversals.get();
+        int top = 0;
+        stack.nodes[top++] = 0;
+        while (top > 0) {
+            int node = stack.nodes[--top];
+            if (counts[node] > 0) {
+                for (int i = offsets[node]; i < offsets[node] + counts[node]; ++i)
+                    intersections = addIntersections(geometries[i], ray, maxDistance, intersections);
+                continue;
+            }
+
+            // push the farther child first, so the nearer child is visited first
+            int left = node + 1, right = offsets[node];
+            double tLeft = enter(left, ray, maxDistance);
+            double tRight = enter(right, ray, maxDistance);
+            stack.ensureRoom(top);
+            if (tLeft <= tRight) {
+                if (tRight != Double.POSITIVE_INFINITY) stack.nodes[top++] = right;
+                if (tLeft != Double.POSITIVE_INFINITY) stack.nodes[top++] = left;
+            } else {
+                if (tLeft != Double.POSITIVE_INFINITY) stack.nodes[top++] = left;
+                stack.nodes[top++] = right;
+            }
+        }
+        return intersections;
+    }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, double maxDistance, Hit hit) {
+        boolean found = false;
+        for (Intersectable geometry : unbounded)
+            found |= geometry.findClosestHit(ray, maxDistance, hit);
+        double tRoot = nodesCount == 0 ? Double.POSITIVE_INFINITY : enter(0, ray, Math.min(maxDistance, hit.t));
+        if (tRoot == Double.POSITIVE_INFINITY)
+            return found;
+
+        // The nodes are visited front-to-back, and the max distance shrinks to the closest hit found so far,
+        // so the nodes entered beyond it are skipped - also the nodes pushed before it was found
+        final Traversal stack = traversals.get();
+        int top = 0;
+        stack.nodes[top] = 0;
+        stack.distances[top++] = tRoot;
+        while (top > 0) {
+            int node = stack.nodes[--top];
+            if (stack.distances[top] >= hit.t)
+                continue;
+            if (counts[node] > 0) {
+                for (int i = offsets[node]; i < offsets[node] + counts[node]; ++i)
+                    found |= geometries[i].findClosestHit(ray, maxDistance, hit);
+                continue;
+            }
+
+            // push the farther child first, so the nearer child is visited first
+            final double limit = Math.min(maxDistance, hit.t);
+            int left = node + 1, right = offsets[node];
+            double tLeft = enter(left, ray, limit);
+            double tRight = enter(right, ray, limit);
+            stack.ensureRoom(top);
+            if (tLeft <= tRight) {
+                if (tRight != Double.POSITIVE_INFINITY) {
+                    stack.nodes[top] = right;
+                    stack.distances[top++] = tRight;
+                }
+                if (tLeft != Double.POSITIVE_INFINITY) {
+                    stack.nodes[top] = left;
+                    stack.distances[top++] = tLeft;
+                }
+            } else {
+                if (tLeft != Double.POSITIVE_INFINITY) {
+                    stack.nodes[top] = left;
+                    stack.distances[top++] = tLeft;
+                }
+                stack.nodes[top] = right;
+                stack.distances[top++] = tRight;
+            }
+        }
+        return found;
+    }
+
+    @Override
+    protected boolean occludedHelper(Ray ray, double maxDistance, OcclusionAccumulator accumulator) {
+        for (Intersectable geometry : unbounded)
+            if (geometry.occluded(ray, maxDistance, accumulator))
+                return true;
+        if (nodesCount == 0 || enter(0, ray, maxDistance) == Double.POSITIVE_INFINITY)
+            return false;
+
+        // The same traversal as in calculateIntersectionsHelper, until the accumulator stops it
+        final Traversal stack = traversals.get();
+        int top = 0;
+        stack.nodes[top++] = 0;
+        while (top > 0) {
+            int node = stack.nodes[--top];
+            if (counts[node] > 0) {
+                for (int i = offsets[node]; i < offsets[node] + counts[node]; ++i)
+                    if (geometries[i].occluded(ray, maxDistance, accumulator))
+                        return true;
+                continue;
+            }
+
+            int left = node + 1, right = offsets[node];
+            double tLeft = enter(left, ray, maxDistance);
+            double tRight = enter(right, ray, maxDistance);
+            stack.ensureRoom(top);
+            if (tLeft <= tRight) {
+                if (tRight != Double.POSITIVE_INFINITY) stack.nodes[top++] = right;
+                if (tLeft != Double.POSITIVE_INFINITY) stack.nodes[top++] = left;
+            } else {
+                if (tLeft != Double.POSITIVE_INFINITY) stack.nodes[top++] = left;
+                stack.nodes[top++] = right;
+            }
+        }
+        return false;
+    }
+}
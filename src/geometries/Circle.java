@@ -1,5 +1,6 @@
 package geometries;
 
+import primitives.BoundingBox;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Util;
@@ -7,6 +8,8 @@ import primitives.Vector;
 
 import java.util.List;
 
+import static primitives.Util.alignZero;
+
 
 /**
  * Class representing a circle in 3D space.
@@ -23,6 +26,11 @@ public class Circle extends RadialGeometry {
      */
     protected final Plane plane;
 
+    /**
+     * The box bounding the circle.
+     */
+    private final BoundingBox boundingBox;
+
 
     /**
      * Constructor to create a circle.
@@ -34,14 +42,24 @@ public class Circle extends RadialGeometry {
         super(radius);
         this.center = center;
         this.plane = new Plane(center, normal);
+
+        // The circle's extent along an axis is the radius scaled by the sine of the angle between the axis and the normal
+        Vector n = plane.getNormal(center);
+        this.boundingBox = BoundingBox.around(center,
+                radius * Math.sqrt(Math.max(0, 1 - n.getX() * n.getX())),
+                radius * Math.sqrt(Math.max(0, 1 - n.getY() * n.getY())),
+                radius * Math.sqrt(Math.max(0, 1 - n.getZ() * n.getZ())));
     }
 
+    @Override
+    public BoundingBox getBoundingBox() { return boundingBox; }
+
     @Override
     public Vector getNormal(Point point) { return plane.getNormal(point); }
 
     @Override
     public List<Intersection> calculateIntersectionsHelper(Ray ray, double maxDistance) {
-        List<Intersection> intersections = plane.calculateIntersections(ray, maxDistance);
+        List<Intersection> intersections = plane.calculateIntersectionsHelper(ray, maxDistance);
 
         // If there is no intersection with the plane - of course that in the circle there are no intersection.
         // But if there is an intersection - check if the intersection is on the circle.
@@ -49,4 +67,36 @@ public class Circle extends RadialGeometry {
             return List.of(new Intersection(this, intersections.getFirst().point));
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Calculates the distance along a ray to its intersection with the circle, up to the max distance.
+     * It is the same calculation as in calculateIntersectionsHelper, with coordinates instead of vectors,
+     * so it doesn't allocate anything.
+     * @param ray the ray that makes the intersection
+     * @param maxDistance the maximum distance of the intersection from the head of the ray
+     * @return the distance of the intersection, or positive infinity if there is no intersection
+     */
+    double intersectionDistance(Ray ray, double maxDistance) {
+        final double t = plane.intersectionDistance(ray, maxDistance);
+        if (t == Double.POSITIVE_INFINITY)
+            return t;
+
+        // the distance between the center and the intersection point
+        final Point rayPoint = ray.getPoint(0);
+        final Vector rayVector = ray.getVector();
+        final double x = center.getX() - (rayPoint.getX() + rayVector.getX() * t);
+        final double y = center.getY() - (rayPoint.getY() + rayVector.getY() * t);
+        final double z = center.getZ() - (rayPoint.getZ() + rayVector.getZ() * t);
+        return alignZero(Math.sqrt(x * x + y * y + z * z) - radius) < 0 ? t : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, double maxDistance, Hit hit) {
+        return hit.update(intersectionDistance(ray, maxDistance), this, 0);
+    }
+
+    @Override
+    protected boolean occludedHelper(Ray ray, double maxDistance, OcclusionAccumulator accumulator) {
+        return intersectionDistance(ray, maxDistance) != Double.POSITIVE_INFINITY && !accumulator.accept(this);
+    }
+}
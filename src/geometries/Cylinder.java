@@ -1,5 +1,6 @@
 package geometries;
 
+import primitives.BoundingBox;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Util;
@@ -29,6 +30,11 @@ public class Cylinder extends Tube {
      */
     private final Circle topBase;
 
+    /**
+     * The box bounding the cylinder.
+     */
+    private final BoundingBox boundingBox;
+
     /**
      * Constructs a Cylinder object with the specified radius, ray, and height.
      * @param radius the radius of the cylinder.
@@ -46,6 +52,14 @@ public class Cylinder extends Tube {
         // Calculates the top circle of the cylinder
         Point topCenter = bottomCenter.add(ray.getVector().scale(height));
         topBase = new Circle(topCenter, radius, getNormal(topCenter));
+
+        // The cylinder is bounded by the box of its two bases
+        boundingBox = bottomBase.getBoundingBox().union(topBase.getBoundingBox());
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        return boundingBox;
     }
 
     @Override
@@ -106,7 +120,7 @@ public class Cylinder extends Tube {
      */
     private List<Intersection> getIntersections(Ray ray, Circle circle, List<Intersection> intersections, double maxDistance) {
         // Find intersections with the circles
-        var list = circle.calculateIntersections(ray, maxDistance);
+        var list = circle.calculateIntersectionsHelper(ray, maxDistance);
 
         if (list != null) {
             if (intersections == null)
@@ -115,4 +129,42 @@ public class Cylinder extends Tube {
         }
         return intersections;
     }
+
+    /**
+     * An intersection with the cylinder's side is on its surface only between the two bases.
+     * @param ray the ray that makes the intersection
+     * @param t the distance along the ray of the intersection
+     * @return true if the intersection is between the bases, false otherwise
+     */
+    @Override
+    protected boolean isOnSurface(Ray ray, double t) {
+        final Point rayPoint = ray.getPoint(0);
+        final Point baseCenter = this.ray.getPoint(0);
+        final Vector rayVector = ray.getVector();
+        final Vector axis = this.ray.getVector();
+        final double distance = Util.alignZero(
+                (rayPoint.getX() + rayVector.getX() * t - baseCenter.getX()) * axis.getX()
+                        + (rayPoint.getY() + rayVector.getY() * t - baseCenter.getY()) * axis.getY()
+                        + (rayPoint.getZ() + rayVector.getZ() * t - baseCenter.getZ()) * axis.getZ());
+        return distance > 0 && Util.alignZero(distance - height) < 0;
+    }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, double maxDistance, Hit hit) {
+        // the side, then the bottom base, then the top base - in the order of calculateIntersectionsHelper
+        boolean found = hit.update(surfaceDistance(ray, maxDistance), this, 0);
+        found |= hit.update(bottomBase.intersectionDistance(ray, maxDistance), this, 1);
+        found |= hit.update(topBase.intersectionDistance(ray, maxDistance), this, 2);
+        return found;
+    }
+
+    @Override
+    protected boolean occludedHelper(Ray ray, double maxDistance, OcclusionAccumulator accumulator) {
+        // the side, then the bottom base, then the top base - in the order of calculateIntersectionsHelper
+        if (super.occludedHelper(ray, maxDistance, accumulator))
+            return true;
+        if (bottomBase.intersectionDistance(ray, maxDistance) != Double.POSITIVE_INFINITY && !accumulator.accept(this))
+            return true;
+        return topBase.intersectionDistance(ray, maxDistance) != Double.POSITIVE_INFINITY && !accumulator.accept(this);
+    }
 }
@@ -1,5 +1,6 @@
 package geometries;
 
+import primitives.BoundingBox;
 import primitives.Ray;
 
 import java.util.Collections;
@@ -16,6 +17,18 @@ public class Geometries extends Intersectable{
      */
     private final List<Intersectable> geometries = new LinkedList<>();
 
+    /**
+     * Bounding volume hierarchy over the geometries, null until it is built
+     * (or after adding geometries since it was built).
+     * It is volatile, since the ray tracers of a scene may build it while other ones trace rays through it.
+     */
+    private volatile BoundingVolumeHierarchy bvh = null;
+
+    /**
+     * Whether the geometries test a ray against their bounding boxes before calculating the exact intersections
+     */
+    private boolean boundingBoxCulling = false;
+
     /**
      * An empty constructor
      */
@@ -36,10 +49,83 @@ public class Geometries extends Intersectable{
      */
     public void add(Intersectable... geometries){
         Collections.addAll(this.geometries, geometries);
+        if (boundingBoxCulling)
+            for (Intersectable geometry : geometries)
+                geometry.setBoundingBoxCulling(true);
+        // the hierarchy doesn't contain the new geometries
+        bvh = null;
+    }
+
+    /**
+     * Turns on or off the bounding box culling of all the geometries, including geometries added later.
+     * The collection itself is not culled, since its box is calculated over all the geometries.
+     * @param boundingBoxCulling true for testing the bounding boxes first, false otherwise
+     */
+    @Override
+    public void setBoundingBoxCulling(boolean boundingBoxCulling) {
+        this.boundingBoxCulling = boundingBoxCulling;
+        for (Intersectable geometry : geometries)
+            geometry.setBoundingBoxCulling(boundingBoxCulling);
+    }
+
+    /**
+     * Builds a bounding volume hierarchy (BVH) over the geometries, by the surface area heuristic,
+     * unless it is already built over the current geometries.
+     * Afterward, rays are tested only against the geometries whose boxes they pass through,
+     * instead of against all the geometries. The BVH ray tracer calls it when it is prepared for rendering,
+     * so the scene is complete by then. Adding geometries afterward discards the hierarchy.
+     * @return the geometries
+     */
+    public Geometries buildBvh() {
+        if (bvh == null)
+            bvh = new BoundingVolumeHierarchy(this);
+        return this;
+    }
+
+    /**
+     * Counts the leaves of the geometries tree (all the geometries that are not collections).
+     * @return the number of geometries, including the geometries of nested collections
+     */
+    public int countLeaves() {
+        int count = 0;
+        for (Intersectable geometry : geometries)
+            count += geometry instanceof Geometries collection ? collection.countLeaves() : 1;
+        return count;
+    }
+
+    /**
+     * Adds the leaves of the geometries tree (all the geometries that are not collections) to a list.
+     * @param leaves the list to add the leaves to
+     */
+    void flatten(List<Intersectable> leaves) {
+        for (Intersectable geometry : geometries)
+            if (geometry instanceof Geometries collection)
+                collection.flatten(leaves);
+            else
+                leaves.add(geometry);
+    }
+
+    /**
+     * The box of geometries is the union of the boxes of all the geometries in it.
+     * @return the box bounding all the geometries, or null if it is empty or one of the geometries is unbounded
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        BoundingBox boundingBox = null;
+        for (Intersectable geometry : geometries) {
+            BoundingBox box = geometry.getBoundingBox();
+            if (box == null)
+                return null;
+            boundingBox = boundingBox == null ? box : boundingBox.union(box);
+        }
+        return boundingBox;
     }
 
     @Override
     protected List<Intersection>  calculateIntersectionsHelper(Ray ray, double maxDistance) {
+        if (bvh != null)
+            return bvh.calculateIntersections(ray, maxDistance);
+
         // List that contains all the intersections
         List<Intersection> intersections = null;
 
@@ -54,4 +140,27 @@ public class Geometries extends Intersectable{
         }
         return intersections;
     }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, double maxDistance, Hit hit) {
+        if (bvh != null)
+            return bvh.findClosestHit(ray, maxDistance, hit);
+
+        // every geometry gets the max distance shortened to the closest hit found so far (in findClosestHit)
+        boolean found = false;
+        for (Intersectable geometry : geometries)
+            found |= geometry.findClosestHit(ray, maxDistance, hit);
+        return found;
+    }
+
+    @Override
+    protected boolean occludedHelper(Ray ray, double maxDistance, OcclusionAccumulator accumulator) {
+        if (bvh != null)
+            return bvh.occluded(ray, maxDistance, accumulator);
+
+        for (Intersectable geometry : geometries)
+            if (geometry.occluded(ray, maxDistance, accumulator))
+                return true;
+        return false;
+    }
 }
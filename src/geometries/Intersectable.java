@@ -13,6 +13,56 @@ public abstract class Intersectable {
     /** Default constructor to satisfy JavaDoc generator */
     Intersectable() { /* to satisfy JavaDoc generator */ }
 
+    /**
+     * Whether a ray is tested against the bounding box before calculating the exact intersections
+     */
+    private boolean boundingBoxCulling = false;
+
+    /**
+     * The probing state of each thread that has a probe
+     */
+    private static final ThreadLocal<Probing> probings = new ThreadLocal<>();
+
+    /**
+     * Whether a probe was ever set. Until then, the tests don't look up their thread's probe,
+     * so probing costs nothing when it isn't used. It is a plain field: a probe is set for the current thread,
+     * which always sees its own write, and the other threads only need the flag for skipping the look-up.
+     */
+    private static boolean probesSet = false;
+
+    /**
+     * Probing holds the probe of a thread. It is also the accumulator an occlusion query of a geometry is run with
+     * while probed: it passes the intersections on to the query's accumulator and remembers that there were any.
+     */
+    private static final class Probing implements OcclusionAccumulator {
+        /**
+         * The probe of the thread
+         */
+        private final IntersectionProbe probe;
+        /**
+         * The accumulator of the probed occlusion query
+         */
+        private OcclusionAccumulator accumulator;
+        /**
+         * Whether the probed occlusion query found any intersection
+         */
+        private boolean found;
+
+        /**
+         * Constructs the probing state of a thread.
+         * @param probe the probe of the thread
+         */
+        private Probing(IntersectionProbe probe) {
+            this.probe = probe;
+        }
+
+        @Override
+        public boolean accept(Geometry geometry) {
+            found = true;
+            return accumulator.accept(geometry);
+        }
+    }
+
     /**
      * The Intersection class is to associate intersection points with intersecting geometries.
      */
@@ -80,6 +130,112 @@ public abstract class Intersectable {
         }
     }
 
+    /**
+     * The Hit class is a reusable record of the closest intersection found along a ray.
+     * Unlike {@link Intersection}, it holds only the distance along the ray (the ray parameter t),
+     * so finding the closest intersection doesn't allocate anything.
+     * The intersection point is calculated only when needed, by {@link Ray#getPoint(double)}.
+     */
+    public static class Hit {
+        /**
+         * The distance along the ray of the closest intersection found, infinity if none was found
+         */
+        public double t = Double.POSITIVE_INFINITY;
+        /**
+         * The geometry of the closest intersection, null if none was found
+         */
+        public Geometry geometry = null;
+        /**
+         * The index of the part of the geometry that was hit - for a cylinder: 0 for the side,
+         * 1 for the bottom base and 2 for the top base, 0 for geometries with a single surface
+         */
+        public int primitive = 0;
+
+        /**
+         * Constructs an empty hit record
+         */
+        public Hit() {
+        }
+
+        /**
+         * Clears the record, so it can be reused for another ray.
+         * @return the hit record
+         */
+        public Hit reset() {
+            t = Double.POSITIVE_INFINITY;
+            geometry = null;
+            primitive = 0;
+            return this;
+        }
+
+        /**
+         * Records an intersection if it is closer than the intersection found so far.
+         * @param t the distance along the ray of the intersection, infinity if there is no intersection
+         * @param geometry the geometry of the intersection
+         * @param primitive the index of the part of the geometry that was hit
+         * @return true if the intersection was recorded, false otherwise
+         */
+        boolean update(double t, Geometry geometry, int primitive) {
+            if (t >= this.t)
+                return false;
+            this.t = t;
+            this.geometry = geometry;
+            this.primitive = primitive;
+            return true;
+        }
+    }
+
+    /**
+     * The OcclusionAccumulator interface receives the intersections found by an occlusion query,
+     * one after the other, and decides whether the query goes on.
+     */
+    @FunctionalInterface
+    public interface OcclusionAccumulator {
+        /**
+         * Accepts an intersection of the query's ray with a geometry.
+         * @param geometry the intersected geometry
+         * @return true for going on to the next intersections, false for stopping the query (the ray is blocked)
+         */
+        boolean accept(Geometry geometry);
+    }
+
+    /**
+     * Sets the probe notified of the intersection tests the current thread makes.
+     * @param probe the probe, or null for not probing the thread's tests anymore
+     */
+    public static void setProbe(IntersectionProbe probe) {
+        if (probe == null)
+            probings.remove();
+        else {
+            probesSet = true;
+            probings.set(new Probing(probe));
+        }
+    }
+
+    /**
+     * Gets the probe of the current thread, if the intersectable's tests are probed.
+     * @return the probing state of the thread, or null if the test isn't probed
+     */
+    private Probing probing() {
+        return probesSet && this instanceof Geometry ? probings.get() : null;
+    }
+
+    /**
+     * Gets the axis-aligned box bounding the intersectable.
+     * @return the bounding box, or null if the intersectable is unbounded
+     */
+    public abstract BoundingBox getBoundingBox();
+
+    /**
+     * Turns on or off testing a ray against the bounding box (by a slab test) before calculating
+     * the exact intersections, which saves the exact calculation for rays that miss the box.
+     * It has no effect for unbounded intersectables.
+     * @param boundingBoxCulling true for testing the bounding box first, false otherwise
+     */
+    public void setBoundingBoxCulling(boolean boundingBoxCulling) {
+        this.boundingBoxCulling = boundingBoxCulling;
+    }
+
     /**
      * Function that called from a geometry shape and calculates the intersections with a given ray.
      * This method cannot be overridden
@@ -110,7 +266,16 @@ public abstract class Intersectable {
      * @return a list of the intersection and the geometry that intersected
      */
     public final List<Intersection> calculateIntersections(Ray ray, double maxDistance) {
-        return calculateIntersectionsHelper(ray, maxDistance);
+        if (boundingBoxCulling) {
+            BoundingBox box = getBoundingBox();
+            if (box != null && !box.intersects(ray, maxDistance))
+                return null;
+        }
+        var intersections = calculateIntersectionsHelper(ray, maxDistance);
+        Probing probing = probing();
+        if (probing != null)
+            probing.probe.tested((Geometry) this, intersections != null);
+        return intersections;
     }
 
     /**
@@ -121,4 +286,94 @@ public abstract class Intersectable {
     public final List<Intersection> calculateIntersections(Ray ray) {
         return calculateIntersections(ray, Double.POSITIVE_INFINITY);
     }
+
+    /**
+     * Finds the closest intersection between a ray and a geometry, up to the max distance,
+     * and records it in the hit record if it is closer than the intersection recorded there.
+     * Every geometry class implements it (NVI pattern, as in {@link #calculateIntersectionsHelper}).
+     * @param ray the ray that makes the intersection
+     * @param maxDistance the maximum distance of the intersection from the head of the ray
+     * @param hit the record of the closest intersection found so far
+     * @return true if a closer intersection was recorded, false otherwise
+     */
+    protected abstract boolean findClosestHitHelper(Ray ray, double maxDistance, Hit hit);
+
+    /**
+     * Finds the closest intersection between a ray and a geometry, up to the max distance,
+     * and records it in the hit record if it is closer than the intersection recorded there.
+     * The same record can be passed to several geometries, and reused for many rays.
+     * Only intersections closer than the recorded one can be recorded, so the max distance
+     * is shortened to the recorded distance, and the geometries beyond it are rejected early.
+     * @param ray the ray that makes the intersection
+     * @param maxDistance the maximum distance of the intersection from the head of the ray
+     * @param hit the record of the closest intersection found so far
+     * @return true if a closer intersection was recorded, false otherwise
+     */
+    public final boolean findClosestHit(Ray ray, double maxDistance, Hit hit) {
+        maxDistance = Math.min(maxDistance, hit.t);
+        if (boundingBoxCulling) {
+            BoundingBox box = getBoundingBox();
+            if (box != null && !box.intersects(ray, maxDistance))
+                return false;
+        }
+        boolean found = findClosestHitHelper(ray, maxDistance, hit);
+        Probing probing = probing();
+        if (probing != null)
+            probing.probe.tested((Geometry) this, found);
+        return found;
+    }
+
+    /**
+     * Passes the intersections between a ray and a geometry, up to the max distance, to an accumulator,
+     * until the accumulator stops the query.
+     * The default implementation goes over the list of intersections; geometry classes override it
+     * with a calculation that doesn't build the list, and stops as soon as the accumulator stops.
+     * @param ray the ray that makes the intersection
+     * @param maxDistance the maximum distance of the intersections from the head of the ray
+     * @param accumulator the accumulator of the intersections
+     * @return true if the accumulator stopped the query, false otherwise
+     */
+    protected boolean occludedHelper(Ray ray, double maxDistance, OcclusionAccumulator accumulator) {
+        var intersections = calculateIntersectionsHelper(ray, maxDistance);
+        if (intersections != null)
+            for (Intersection intersection : intersections)
+                if (!accumulator.accept(intersection.geometry))
+                    return true;
+        return false;
+    }
+
+    /**
+     * Occlusion query (e.g., for shadow rays): passes the intersections between a ray and a geometry,
+     * up to the max distance, to an accumulator, until the accumulator stops the query
+     * (e.g., at the first opaque geometry). The intersections are passed in the same order
+     * as in the list of {@link #calculateIntersections(Ray, double)}, but no list is built.
+     * @param ray the ray that makes the intersection
+     * @param maxDistance the maximum distance of the intersections from the head of the ray
+     * @param accumulator the accumulator of the intersections
+     * @return true if the accumulator stopped the query, false otherwise
+     */
+    public final boolean occluded(Ray ray, double maxDistance, OcclusionAccumulator accumulator) {
+        if (boundingBoxCulling) {
+            BoundingBox box = getBoundingBox();
+            if (box != null && !box.intersects(ray, maxDistance))
+                return false;
+        }
+        Probing probing = probing();
+        if (probing == null)
+            return occludedHelper(ray, maxDistance, accumulator);
+
+        // the probing state is saved and restored, in case the geometry's query is made of other geometries' queries
+        OcclusionAccumulator outerAccumulator = probing.accumulator;
+        boolean outerFound = probing.found;
+        probing.accumulator = accumulator;
+        probing.found = false;
+        try {
+            boolean stopped = occludedHelper(ray, maxDistance, probing);
+            probing.probe.tested((Geometry) this, probing.found);
+            return stopped;
+        } finally {
+            probing.accumulator = outerAccumulator;
+            probing.found = outerFound;
+        }
+    }
 }
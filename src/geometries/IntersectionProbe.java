@@ -0,0 +1,20 @@
+package geometries;
+
+/**
+ * The IntersectionProbe interface is notified of the intersection tests between rays and geometries,
+ * e.g., for counting them. A probe is set for a thread (see {@link Intersectable#setProbe(IntersectionProbe)})
+ * and is notified only of the tests made by that thread, so it doesn't have to be thread safe.
+ * Only the tests of geometries are probed, not the tests of the collections and acceleration structures
+ * holding them.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+@FunctionalInterface
+public interface IntersectionProbe {
+    /**
+     * Notifies of an intersection test between a ray and a geometry.
+     * @param geometry the tested geometry
+     * @param hit true if the test found an intersection (for a closest-hit query, a closer intersection
+     *            than the one found so far), false otherwise
+     */
+    void tested(Geometry geometry, boolean hit);
+}
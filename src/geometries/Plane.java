@@ -1,5 +1,6 @@
 package geometries;
 
+import primitives.BoundingBox;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -59,6 +60,15 @@ public class Plane extends Geometry {
         return normal;
     }
 
+    /**
+     * A plane is infinite, so it is unbounded.
+     * @return null
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        return null;
+    }
+
     @Override
     protected List<Intersection> calculateIntersectionsHelper(Ray ray, double maxDistance) {
         // Point that represents the ray's head
@@ -84,4 +94,46 @@ public class Plane extends Geometry {
         return (alignZero(t) > 0 && alignZero(t - maxDistance) <= 0) ?
                 List.of(new Intersection(this, ray.getPoint(t))) : null;
     }
+
+    /**
+     * Calculates the distance along a ray to its intersection with the plane, up to the max distance.
+     * It is the same calculation as in calculateIntersectionsHelper, with coordinates instead of vectors,
+     * so it doesn't allocate anything.
+     * @param ray the ray that makes the intersection
+     * @param maxDistance the maximum distance of the intersection from the head of the ray
+     * @return the distance of the intersection, or positive infinity if there is no intersection
+     */
+    double intersectionDistance(Ray ray, double maxDistance) {
+        final Point rayPoint = ray.getPoint(0);
+        final Vector rayVector = ray.getVector();
+
+        // head - rayPoint
+        final double hx = head.getX() - rayPoint.getX();
+        final double hy = head.getY() - rayPoint.getY();
+        final double hz = head.getZ() - rayPoint.getZ();
+
+        // in case the ray's head is the reference point in the plane, there are no intersections
+        if (isZero(hx) && isZero(hy) && isZero(hz))
+            return Double.POSITIVE_INFINITY;
+
+        final double numerator = normal.getX() * hx + normal.getY() * hy + normal.getZ() * hz;
+        final double denominator = normal.getX() * rayVector.getX() + normal.getY() * rayVector.getY()
+                + normal.getZ() * rayVector.getZ();
+        // in case ray is parallel to the plane
+        if (isZero(denominator))
+            return Double.POSITIVE_INFINITY;
+
+        final double t = numerator / denominator;
+        return alignZero(t) > 0 && alignZero(t - maxDistance) <= 0 ? t : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, double maxDistance, Hit hit) {
+        return hit.update(intersectionDistance(ray, maxDistance), this, 0);
+    }
+
+    @Override
+    protected boolean occludedHelper(Ray ray, double maxDistance, OcclusionAccumulator accumulator) {
+        return intersectionDistance(ray, maxDistance) != Double.POSITIVE_INFINITY && !accumulator.accept(this);
+    }
 }
@@ -26,6 +26,10 @@ public class Polygon extends Geometry {
      * The size of the polygon - the number of the vertices in the polygon
      */
     private final int size;
+    /**
+     * The box bounding the polygon's vertices
+     */
+    private final BoundingBox boundingBox;
 
     /**
      * Polygon constructor based on a vertices list. The list must be ordered by edge
@@ -54,6 +58,7 @@ public class Polygon extends Geometry {
             throw new IllegalArgumentException("A polygon can't have less than 3 vertices");
         this.vertices = List.of(vertices);
         size = vertices.length;
+        boundingBox = BoundingBox.of(this.vertices);
 
         // Generate the plane according to the first three vertices and associate the
         // polygon with this plane.
@@ -92,11 +97,16 @@ public class Polygon extends Geometry {
         return plane.getNormal(point);
     }
 
+    @Override
+    public BoundingBox getBoundingBox() {
+        return boundingBox;
+    }
+
     @Override
     protected List<Intersection> calculateIntersectionsHelper(Ray ray, double maxDistance) {
         // test the intersections with polygon's plane
         // we prefer to use the helper method so that we already check the distance
-        final var intersections = plane.calculateIntersections(ray, maxDistance);
+        final var intersections = plane.calculateIntersectionsHelper(ray, maxDistance);
         if (intersections == null)
             return null;
 
@@ -144,4 +154,49 @@ public class Polygon extends Geometry {
         Intersection intersection = intersections.getFirst();
         return List.of(new Intersection(this, intersection.point));
     }
+
+    /**
+     * Calculates the distance along a ray to its intersection with the polygon, up to the max distance.
+     * It is the same calculation as in calculateIntersectionsHelper, with coordinates instead of vectors,
+     * so it doesn't allocate anything.
+     * @param ray the ray that makes the intersection
+     * @param maxDistance the maximum distance of the intersection from the head of the ray
+     * @return the distance of the intersection, or positive infinity if there is no intersection
+     */
+    double intersectionDistance(Ray ray, double maxDistance) {
+        final double t = plane.intersectionDistance(ray, maxDistance);
+        if (t == Double.POSITIVE_INFINITY)
+            return t;
+
+        final Point rayPoint = ray.getPoint(0);
+        final Vector rayVector = ray.getVector();
+        final double px = rayPoint.getX(), py = rayPoint.getY(), pz = rayPoint.getZ();
+
+        double previous = 0;
+        for (int i = 0; i < size; ++i) {
+            // vector1 is from the ray's head to the next vertex (the first after the last), vector2 to the vertex
+            final Point vertex1 = vertices.get(i == size - 1 ? 0 : i + 1);
+            final Point vertex2 = vertices.get(i);
+            final double x1 = vertex1.getX() - px, y1 = vertex1.getY() - py, z1 = vertex1.getZ() - pz;
+            final double x2 = vertex2.getX() - px, y2 = vertex2.getY() - py, z2 = vertex2.getZ() - pz;
+
+            final double s = alignZero(rayVector.getX() * (y1 * z2 - z1 * y2)
+                    + rayVector.getY() * (z1 * x2 - x1 * z2)
+                    + rayVector.getZ() * (x1 * y2 - y1 * x2));
+            if (i != 0 && s * previous <= 0)
+                return Double.POSITIVE_INFINITY;
+            previous = s;
+        }
+        return t;
+    }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, double maxDistance, Hit hit) {
+        return hit.update(intersectionDistance(ray, maxDistance), this, 0);
+    }
+
+    @Override
+    protected boolean occludedHelper(Ray ray, double maxDistance, OcclusionAccumulator accumulator) {
+        return intersectionDistance(ray, maxDistance) != Double.POSITIVE_INFINITY && !accumulator.accept(this);
+    }
 }
@@ -0,0 +1,428 @@
+package geometries;
+
+import primitives.BoundingBox;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * The RegularGrid class is an acceleration structure that divides the space of the bounded geometries
+ * into a uniform 3D grid of cells (voxels). A ray walks through the cells it crosses (3D-DDA),
+ * so it is tested only against the geometries in those cells.
+ * Unbounded geometries (e.g., planes) can't be placed in cells, so they are always tested.
+ * The grid is a snapshot of the geometries at the time it is constructed.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+public class RegularGrid extends Intersectable {
+    /**
+     * The average number of cells per bounded geometry
+     */
+    private static final double DENSITY = 3;
+    /**
+     * The maximal number of cells along an axis
+     */
+    private static final int MAX_RESOLUTION = 128;
+    /**
+     * The margin added to the grid and to the geometries' boxes, relative to the size of the grid or a cell,
+     * so that geometries on the border of a cell are placed in both neighbor cells
+     */
+    private static final double MARGIN = 1e-6;
+
+    /**
+     * The bounded geometries, each cell refers to them by their index
+     */
+    private final Intersectable[] geometries;
+    /**
+     * The unbounded geometries, which are tested for every ray
+     */
+    private final List<Intersectable> unbounded = new LinkedList<>();
+    /**
+     * The box of the grid, null if there are no bounded geometries
+     */
+    private final BoundingBox boundingBox;
+
+    /**
+     * The number of cells along the X axis
+     */
+    private final int nX;
+    /**
+     * The number of cells along the Y axis
+     */
+    private final int nY;
+    /**
+     * The number of cells along the Z axis
+     */
+    private final int nZ;
+    /**
+     * The size of a cell along the X axis
+     */
+    private final double cellX;
+    /**
+     * The size of a cell along the Y axis
+     */
+    private final double cellY;
+    /**
+     * The size of a cell along the Z axis
+     */
+    private final double cellZ;
+
+    /**
+     * The start index of each cell's geometries in {@link #cellGeometries}, with an extra entry for the end
+     */
+    private final int[] cellStart;
+    /**
+     * The indexes of the geometries of all the cells, cell after cell
+     */
+    private final int[] cellGeometries;
+
+    /**
+     * Per thread record of the geometries that were already tested with the current ray.
+     * A geometry spreading over several cells is tested once per ray.
+     */
+    private final ThreadLocal<Mailbox> mailboxes;
+
+    /**
+     * Mailbox stamps each tested geometry with the number of the ray it was tested with.
+     */
+    private static class Mailbox {
+        /**
+         * The number of the last ray each geometry was tested with
+         */
+        private final int[] stamps;
+        /**
+         * The number of the current ray
+         */
+        private int ray = 0;
+
+        /**
+         * Constructs a mailbox for a given number of geometries
+         * @param size the number of geometries
+         */
+        Mailbox(int size) {
+            stamps = new int[size];
+        }
+
+        /**
+         * Starts a new ray, clearing the stamps when the ray numbers are used up.
+         */
+        void nextRay() {
+            if (++ray == Integer.MAX_VALUE) {
+                Arrays.fill(stamps, 0);
+                ray = 1;
+            }
+        }
+
+        /**
+         * Checks whether a geometry wasn't tested with the current ray yet, and marks it as tested.
+         * @param index the index of the geometry
+         * @return true if the geometry should be tested, false if it was already tested
+         */
+        boolean check(int index) {
+            if (stamps[index] == ray)
+                return false;
+            stamps[index] = ray;
+            return true;
+        }
+    }
+
+    /**
+     * Per thread walk along the cells a ray crosses.
+     */
+    private final ThreadLocal<Walk> walks = ThreadLocal.withInitial(Walk::new);
+
+    /**
+     * Walk is the state of a 3D-DDA walk through the cells a ray crosses: in each step it moves
+     * to the neighbor cell whose border is the closest along the ray.
+     */
+    private class Walk {
+        /**
+         * The index of the current cell
+         */
+        int cell;
+        /**
+         * The indexes of the current cell along the X, Y, Z axes
+         */
+        private int x, y, z;
+        /**
+         * The direction of the steps along the X, Y, Z axes (1 or -1)
+         */
+        private int stepX, stepY, stepZ;
+        /**
+         * The distance along the ray between two borders of cells along the X, Y, Z axes
+         */
+        private double deltaX, deltaY, deltaZ;
+        /**
+         * The distance along the ray to the next border of a cell along the X, Y, Z axes
+         */
+        private double nextX, nextY, nextZ;
+
+        /**
+         * Starts the walk at the cell where a ray enters the grid.
+         * @param ray the ray
+         * @param maxDistance the maximum distance along the ray
+         * @return true if the ray enters the grid within the max distance, false otherwise
+         */
+        boolean start(Ray ray, double maxDistance) {
+            final double tEnter = boundingBox.entryDistance(ray, maxDistance);
+            if (tEnter == Double.POSITIVE_INFINITY)
+                return false;
+
+            final Point head = ray.getPoint(0);
+            final Vector direction = ray.getVector();
+            final double oX = head.getX(), oY = head.getY(), oZ = head.getZ();
+            final double dX = direction.getX(), dY = direction.getY(), dZ = direction.getZ();
+            x = cellIndex(oX + dX * tEnter, boundingBox.minX(), cellX, nX);
+            y = cellIndex(oY + dY * tEnter, boundingBox.minY(), cellY, nY);
+            z = cellIndex(oZ + dZ * tEnter, boundingBox.minZ(), cellZ, nZ);
+            cell = (z * nY + y) * nX + x;
+            stepX = dX > 0 ? 1 : -1;
+            stepY = dY > 0 ? 1 : -1;
+            stepZ = dZ > 0 ? 1 : -1;
+            deltaX = dX == 0 ? Double.POSITIVE_INFINITY : cellX / Math.abs(dX);
+            deltaY = dY == 0 ? Double.POSITIVE_INFINITY : cellY / Math.abs(dY);
+            deltaZ = dZ == 0 ? Double.POSITIVE_INFINITY : cellZ / Math.abs(dZ);
+            nextX = dX == 0 ? Double.POSITIVE_INFINITY
+                    : (boundingBox.minX() + (x + (dX > 0 ? 1 : 0)) * cellX - oX) / dX;
+            nextY = dY == 0 ? Double.POSITIVE_INFINITY
+                    : (boundingBox.minY() + (y + (dY > 0 ? 1 : 0)) * cellY - oY) / dY;
+            nextZ = dZ == 0 ? Double.POSITIVE_INFINITY
+                    : (boundingBox.minZ() + (z + (dZ > 0 ? 1 : 0)) * cellZ - oZ) / dZ;
+            return true;
+        }
+
+        /**
+         * Moves to the next cell along the ray.
+         * @param limit the distance along the ray where the walk ends
+         * @return true if moved to the next cell, false if the walk left the grid or passed the limit
+         */
+        boolean next(double limit) {
+            if (nextX <= nextY && nextX <= nextZ) {
+                if (nextX > limit || (x += stepX) < 0 || x >= nX)
+                    return false;
+                nextX += deltaX;
+            } else if (nextY <= nextZ) {
+                if (nextY > limit || (y += stepY) < 0 || y >= nY)
+                    return false;
+                nextY += deltaY;
+            } else {
+                if (nextZ > limit || (z += stepZ) < 0 || z >= nZ)
+                    return false;
+                nextZ += deltaZ;
+            }
+            cell = (z * nY + y) * nX + x;
+            return true;
+        }
+    }
+
+    /**
+     * Constructs a grid over all the geometries of a collection (including the nested collections).
+     * @param geometries the geometries collection
+     */
+    public RegularGrid(Geometries geometries) {
+        List<Intersectable> leaves = new ArrayList<>();
+        geometries.flatten(leaves);
+
+        List<Intersectable> bounded = new ArrayList<>();
+        BoundingBox box = null;
+        for (Intersectable leaf : leaves) {
+            BoundingBox leafBox = leaf.getBoundingBox();
+            if (leafBox == null)
+                unbounded.add(leaf);
+            else {
+                bounded.add(leaf);
+                box = box == null ? leafBox : box.union(leafBox);
+            }
+        }
+        this.geometries = bounded.toArray(new Intersectable[0]);
+        this.mailboxes = ThreadLocal.withInitial(() -> new Mailbox(this.geometries.length));
+
+        if (box == null) {
+            boundingBox = null;
+            nX = nY = nZ = 0;
+            cellX = cellY = cellZ = 0;
+            cellStart = new int[1];
+            cellGeometries = new int[0];
+            return;
+        }
+
+        // Pad the grid, so that flat scenes get a positive volume, and geometries on its border are inside
+        double size = Math.max(box.maxX() - box.minX(), Math.max(box.maxY() - box.minY(), box.maxZ() - box.minZ()));
+        double margin = (size == 0 ? 1 : size) * MARGIN;
+        boundingBox = new BoundingBox(box.minX() - margin, box.minY() - margin, box.minZ() - margin,
+                box.maxX() + margin, box.maxY() + margin, box.maxZ() + margin);
+
+        // Choose cubic cells, such that there are about DENSITY cells per geometry.
+        // A flat axis is considered as 1% of the largest one, so it won't shrink the cells to nothing
+        double extentX = boundingBox.maxX() - boundingBox.minX();
+        double extentY = boundingBox.maxY() - boundingBox.minY();
+        double extentZ = boundingBox.maxZ() - boundingBox.minZ();
+        double largest = Math.max(extentX, Math.max(extentY, extentZ));
+        double volume = Math.max(extentX, largest / 100) * Math.max(extentY, largest / 100)
+                * Math.max(extentZ, largest / 100);
+        double cellSize = Math.cbrt(volume / (DENSITY * this.geometries.length));
+        nX = resolution(extentX, cellSize);
+        nY = resolution(extentY, cellSize);
+        nZ = resolution(extentZ, cellSize);
+        cellX = extentX / nX;
+        cellY = extentY / nY;
+        cellZ = extentZ / nZ;
+
+        // Place the geometries in the cells in two passes: count the geometries of each cell, then fill them
+        int[][] ranges = new int[this.geometries.length][];
+        cellStart = new int[nX * nY * nZ + 1];
+        for (int g = 0; g < this.geometries.length; ++g) {
+            ranges[g] = cellsRange(this.geometries[g].getBoundingBox());
+            forEachCell(ranges[g], cell -> ++cellStart[cell + 1]);
+        }
+        for (int cell = 0; cell < nX * nY * nZ; ++cell)
+            cellStart[cell + 1] += cellStart[cell];
+
+        cellGeometries = new int[cellStart[nX * nY * nZ]];
+        int[] filled = new int[nX * nY * nZ];
+        for (int g = 0; g < this.geometries.length; ++g) {
+            final int geometry = g;
+            forEachCell(ranges[g], cell -> cellGeometries[cellStart[cell] + filled[cell]++] = geometry);
+        }
+    }
+
+    /**
+     * Calculates the number of cells along an axis.
+     * @param extent the size of the grid along the axis
+     * @param cellSize the preferred size of a cell
+     * @return the number of cells along the axis
+     */
+    private static int resolution(double extent, double cellSize) {
+        return (int) Math.max(1, Math.min(MAX_RESOLUTION, Math.round(extent / cellSize)));
+    }
+
+    /**
+     * Calculates the index of the cell containing a coordinate along an axis,
+     * coordinates outside the grid are clamped to the border cells.
+     * @param coordinate the coordinate along the axis
+     * @param min the minimal coordinate of the grid along the axis
+     * @param cell the size of a cell along the axis
+     * @param n the number of cells along the axis
+     * @return the index of the cell along the axis
+     */
+    private static int cellIndex(double coordinate, double min, double cell, int n) {
+        return Math.max(0, Math.min(n - 1, (int) Math.floor((coordinate - min) / cell)));
+    }
+
+    /**
+     * Calculates the range of cells overlapping a box.
+     * @param box the box
+     * @return the minimal and maximal cell indexes along the X, Y, Z axes
+     */
+    private int[] cellsRange(BoundingBox box) {
+        return new int[]{
+                cellIndex(box.minX() - cellX * MARGIN, boundingBox.minX(), cellX, nX),
+                cellIndex(box.maxX() + cellX * MARGIN, boundingBox.minX(), cellX, nX),
+                cellIndex(box.minY() - cellY * MARGIN, boundingBox.minY(), cellY, nY),
+                cellIndex(box.maxY() + cellY * MARGIN, boundingBox.minY(), cellY, nY),
+                cellIndex(box.minZ() - cellZ * MARGIN, boundingBox.minZ(), cellZ, nZ),
+                cellIndex(box.maxZ() + cellZ * MARGIN, boundingBox.minZ(), cellZ, nZ)};
+    }
+
+    /**
+     * Performs an action for every cell in a range of cells.
+     * @param range the minimal and maximal cell indexes along the X, Y, Z axes
+     * @param action the action to perform with the cell's index
+     */
+    private void forEachCell(int[] range, IntConsumer action) {
+        for (int z = range[4]; z <= range[5]; ++z)
+            for (int y = range[2]; y <= range[3]; ++y)
+                for (int x = range[0]; x <= range[1]; ++x)
+                    action.accept((z * nY + y) * nX + x);
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        return unbounded.isEmpty() ? boundingBox : null;
+    }
+
+    /**
+     * Adds the intersections of a geometry with a ray to a list of intersections.
+     * @param geometry the geometry to intersect
+     * @param ray the ray
+     * @param maxDistance the maximum distance of the intersections from the head of the ray
+     * @param intersections the list of intersections found so far, may be null
+     * @return the list of intersections including the geometry's intersections, may be null
+     */
+    private static List<Intersection> addIntersections(Intersectable geometry, Ray ray, double maxDistance,
+                                                       List<Intersection> intersections) {
+        var geometryIntersections = geometry.calculateIntersections(ray, maxDistance);
+        if (geometryIntersections != null)
+            if (intersections == null)
+                intersections = new LinkedList<>(geometryIntersections);
+            else
+                intersections.addAll(geometryIntersections);
+        return intersections;
+    }
+
+    @Override
+    protected List<Intersection> calculateIntersectionsHelper(Ray ray, double maxDistance) {
+        List<Intersection> intersections = null;
+        for (Intersectable geometry : unbounded)
+            intersections = addIntersections(geometry, ray, maxDistance, intersections);
+
+        // Walk the cells along the ray, until leaving the grid or passing the maximum distance
+        final Walk walk = walks.get();
+        if (boundingBox == null || !walk.start(ray, maxDistance))
+            return intersections;
+        final Mailbox mailbox = mailboxes.get();
+        mailbox.nextRay();
+        do {
+            for (int i = cellStart[walk.cell]; i < cellStart[walk.cell + 1]; ++i)
+                if (mailbox.check(cellGeometries[i]))
+                    intersections = addIntersections(geometries[cellGeometries[i]], ray, maxDistance, intersections);
+        } while (walk.next(maxDistance));
+        return intersections;
+    }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, double maxDistance, Hit hit) {
+        boolean found = false;
+        for (Intersectable geometry : unbounded)
+            found |= geometry.findClosestHit(ray, maxDistance, hit);
+
+        // The walk stops at the closest hit found so far:
+        // once a hit is found inside the current cell, the cells after it can't contain a closer hit
+        final Walk walk = walks.get();
+        if (boundingBox == null || !walk.start(ray, Math.min(maxDistance, hit.t)))
+            return found;
+        final Mailbox mailbox = mailboxes.get();
+        mailbox.nextRay();
+        do {
+            for (int i = cellStart[walk.cell]; i < cellStart[walk.cell + 1]; ++i)
+                if (mailbox.check(cellGeometries[i]))
+                    found |= geometries[cellGeometries[i]].findClosestHit(ray, maxDistance, hit);
+        } while (walk.next(Math.min(maxDistance, hit.t)));
+        return found;
+    }
+
+    @Override
+    protected boolean occludedHelper(Ray ray, double maxDistance, OcclusionAccumulator accumulator) {
+        for (Intersectable geometry : unbounded)
+            if (geometry.occluded(ray, maxDistance, accumulator))
+                return true;
+
+        final Walk walk = walks.get();
+        if (boundingBox == null || !walk.start(ray, maxDistance))
+            return false;
+        final Mailbox mailbox = mailboxes.get();
+        mailbox.nextRay();
+        do {
+            for (int i = cellStart[walk.cell]; i < cellStart[walk.cell + 1]; ++i)
+                if (mailbox.check(cellGeometries[i])
+                        && geometries[cellGeometries[i]].occluded(ray, maxDistance, accumulator))
+                    return true;
+        } while (walk.next(maxDistance));
+        return false;
+    }
+}
@@ -1,5 +1,6 @@
 package geometries;
 
+import primitives.BoundingBox;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -19,6 +20,11 @@ public class Sphere extends RadialGeometry {
      */
     private final Point center;
 
+    /**
+     * The box bounding the sphere.
+     */
+    private final BoundingBox boundingBox;
+
     /**
      * Constructs a new Sphere object with the specified radius and center point.
      * @param center the center point of the sphere in 3D space.
@@ -27,6 +33,12 @@ public class Sphere extends RadialGeometry {
     public Sphere(Point center, double radius) {
         super(radius);
         this.center = center;
+        this.boundingBox = BoundingBox.around(center, radius, radius, radius);
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        return boundingBox;
     }
 
     @Override
@@ -73,4 +85,69 @@ public class Sphere extends RadialGeometry {
         else
             return null;
     }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, double maxDistance, Hit hit) {
+        // The same calculation as in calculateIntersectionsHelper, with coordinates instead of vectors
+        final Point rayPoint = ray.getPoint(0);
+        final Vector v = ray.getVector();
+
+        // u = center - rayPoint
+        final double ux = center.getX() - rayPoint.getX();
+        final double uy = center.getY() - rayPoint.getY();
+        final double uz = center.getZ() - rayPoint.getZ();
+
+        // in case the ray's head is the sphere's center, the one intersection is at the radius
+        if (isZero(ux) && isZero(uy) && isZero(uz))
+            return hit.update(radius, this, 0);
+
+        final double tm = v.getX() * ux + v.getY() * uy + v.getZ() * uz;
+        final double d = Math.sqrt(ux * ux + uy * uy + uz * uz - tm * tm);
+        // if (d ≥ r) there are no intersections
+        if (alignZero(d - radius) > 0)
+            return false;
+
+        final double th = Math.sqrt(radius * radius - d * d);
+        // in case the ray is tangent to the sphere, there are no intersections
+        if (isZero(th))
+            return false;
+
+        // t1 < t2, so t1 is the closest if it is in range
+        final double t1 = alignZero(tm - th);
+        if (t1 > 0 && alignZero(t1 - maxDistance) <= 0)
+            return hit.update(t1, this, 0);
+        final double t2 = alignZero(tm + th);
+        if (t2 > 0 && alignZero(t2 - maxDistance) <= 0)
+            return hit.update(t2, this, 0);
+        return false;
+    }
+
+    @Override
+    protected boolean occludedHelper(Ray ray, double maxDistance, OcclusionAccumulator accumulator) {
+        // The same calculation as in calculateIntersectionsHelper, with coordinates instead of vectors
+        final Point rayPoint = ray.getPoint(0);
+        final Vector v = ray.getVector();
+        final double ux = center.getX() - rayPoint.getX();
+        final double uy = center.getY() - rayPoint.getY();
+        final double uz = center.getZ() - rayPoint.getZ();
+
+        // in case the ray's head is the sphere's center, there is one intersection at the radius
+        if (isZero(ux) && isZero(uy) && isZero(uz))
+            return !accumulator.accept(this);
+
+        final double tm = v.getX() * ux + v.getY() * uy + v.getZ() * uz;
+        final double d = Math.sqrt(ux * ux + uy * uy + uz * uz - tm * tm);
+        if (alignZero(d - radius) > 0)
+            return false;
+        final double th = Math.sqrt(radius * radius - d * d);
+        if (isZero(th))
+            return false;
+
+        // every intersection in range is passed to the accumulator, the closer first
+        final double t1 = alignZero(tm - th);
+        if (t1 > 0 && alignZero(t1 - maxDistance) <= 0 && !accumulator.accept(this))
+            return true;
+        final double t2 = alignZero(tm + th);
+        return t2 > 0 && alignZero(t2 - maxDistance) <= 0 && !accumulator.accept(this);
+    }
 }
@@ -27,7 +27,7 @@ public class Triangle extends Polygon {
     protected List<Intersection> calculateIntersectionsHelper(Ray ray, double maxDistance) {
         // test the intersections with triangle’s plane
         // we prefer to use the helper method so that we already check the distance
-        final var intersections = plane.calculateIntersections(ray, maxDistance);
+        final var intersections = plane.calculateIntersectionsHelper(ray, maxDistance);
         if (intersections == null)
             return null;
 
@@ -65,4 +65,54 @@ public class Triangle extends Polygon {
 
         return null;
     }
+
+    /**
+     * Calculates the sign of a side of the pyramid from the ray's head to the triangle, relative to the ray.
+     * It is the dot product of the ray's direction with the normalized cross-product of the vectors
+     * from the ray's head to the side's vertices.
+     * @param ax x coordinate of the vector to the side's first vertex
+     * @param ay y coordinate of the vector to the side's first vertex
+     * @param az z coordinate of the vector to the side's first vertex
+     * @param bx x coordinate of the vector to the side's second vertex
+     * @param by y coordinate of the vector to the side's second vertex
+     * @param bz z coordinate of the vector to the side's second vertex
+     * @param v the ray's direction
+     * @return the dot product, aligned to zero
+     */
+    private static double sideSign(double ax, double ay, double az, double bx, double by, double bz, Vector v) {
+        final double nx = ay * bz - az * by;
+        final double ny = az * bx - ax * bz;
+        final double nz = ax * by - ay * bx;
+        final double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        return alignZero(v.getX() * (nx / length) + v.getY() * (ny / length) + v.getZ() * (nz / length));
+    }
+
+    /**
+     * Calculates the distance along a ray to its intersection with the triangle, up to the max distance.
+     * It is the same calculation as in calculateIntersectionsHelper, with coordinates instead of vectors,
+     * so it doesn't allocate anything.
+     * @param ray the ray that makes the intersection
+     * @param maxDistance the maximum distance of the intersection from the head of the ray
+     * @return the distance of the intersection, or positive infinity if there is no intersection
+     */
+    @Override
+    double intersectionDistance(Ray ray, double maxDistance) {
+        final double t = plane.intersectionDistance(ray, maxDistance);
+        if (t == Double.POSITIVE_INFINITY)
+            return t;
+
+        final Point rayPoint = ray.getPoint(0);
+        final Vector rayVector = ray.getVector();
+        final Point p1 = vertices.get(0), p2 = vertices.get(1), p3 = vertices.get(2);
+        final double x1 = p1.getX() - rayPoint.getX(), y1 = p1.getY() - rayPoint.getY(), z1 = p1.getZ() - rayPoint.getZ();
+        final double x2 = p2.getX() - rayPoint.getX(), y2 = p2.getY() - rayPoint.getY(), z2 = p2.getZ() - rayPoint.getZ();
+        final double x3 = p3.getX() - rayPoint.getX(), y3 = p3.getY() - rayPoint.getY(), z3 = p3.getZ() - rayPoint.getZ();
+
+        final double s1 = sideSign(x1, y1, z1, x2, y2, z2, rayVector);
+        final double s2 = sideSign(x2, y2, z2, x3, y3, z3, rayVector);
+        final double s3 = sideSign(x3, y3, z3, x1, y1, z1, rayVector);
+
+        // the point is inside the triangle only if s1, s2 and s3 have the same sign and none of them is 0
+        return (s1 > 0 && s2 > 0 && s3 > 0) || (s1 < 0 && s2 < 0 && s3 < 0) ? t : Double.POSITIVE_INFINITY;
+    }
 }
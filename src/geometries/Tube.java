@@ -1,5 +1,6 @@
 package geometries;
 
+import primitives.BoundingBox;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -53,6 +54,15 @@ public class Tube extends RadialGeometry {
             return p.subtract(ray.getPoint(t)).normalize();
     }
 
+    /**
+     * A tube is infinite, so it is unbounded.
+     * @return null
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        return null;
+    }
+
     @Override
     protected List<Intersection> calculateIntersectionsHelper(Ray ray, double maxDistance) {
         // The head of the intersecting ray.
@@ -136,4 +146,132 @@ public class Tube extends RadialGeometry {
 
         return intersections;
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks whether an intersection of a ray with the infinite tube is on the geometry's surface.
+     * Every point of the tube is on its surface, but a finite geometry based on a tube (e.g., a cylinder)
+     * can reject the points out of its range.
+     * @param ray the ray that makes the intersection
+     * @param t the distance along the ray of the intersection
+     * @return true if the intersection is on the surface, false otherwise
+     */
+    protected boolean isOnSurface(Ray ray, double t) {
+        return true;
+    }
+
+    /**
+     * Calculates the distance along a ray to its closest intersection with the tube, up to the max distance,
+     * among the intersections accepted by {@link #isOnSurface(Ray, double)}.
+     * @param ray the ray that makes the intersection
+     * @param maxDistance the maximum distance of the intersection from the head of the ray
+     * @return the distance of the intersection, or positive infinity if there is no intersection
+     */
+    protected double surfaceDistance(Ray ray, double maxDistance) {
+        return surfaceDistance(ray, Double.NEGATIVE_INFINITY, maxDistance);
+    }
+
+    /**
+     * Calculates the distance along a ray to its closest intersection with the tube beyond the min distance,
+     * up to the max distance, among the intersections accepted by {@link #isOnSurface(Ray, double)}.
+     * It is the same calculation as in calculateIntersectionsHelper, with coordinates instead of vectors,
+     * so it doesn't allocate anything, and the intersections can be gone over one after the other.
+     * @param ray the ray that makes the intersection
+     * @param minDistance the distance the intersection must be beyond (e.g., of the previous intersection)
+     * @param maxDistance the maximum distance of the intersection from the head of the ray
+     * @return the distance of the intersection, or positive infinity if there is no intersection
+     */
+    protected double surfaceDistance(Ray ray, double minDistance, double maxDistance) {
+        final Point rayHead = ray.getPoint(0);
+        final Point tubeHead = this.ray.getPoint(0);
+        final Vector rayDirection = ray.getVector();
+        final Vector axisDirection = this.ray.getVector();
+        final double rx = rayDirection.getX(), ry = rayDirection.getY(), rz = rayDirection.getZ();
+        final double ax = axisDirection.getX(), ay = axisDirection.getY(), az = axisDirection.getZ();
+        final double none = Double.POSITIVE_INFINITY;
+
+        final double productDirections = rx * ax + ry * ay + rz * az;
+
+        // deltaP is the vector from the head of the tube's axis to the head of the intersecting ray
+        final double px = rayHead.getX() - tubeHead.getX();
+        final double py = rayHead.getY() - tubeHead.getY();
+        final double pz = rayHead.getZ() - tubeHead.getZ();
+
+        // In case the head of the ray is the same as the head of the tube's axis:
+        if (Util.isZero(px) && Util.isZero(py) && Util.isZero(pz)) {
+            // the direction of the ray orthogonal to the direction of the tube's axis
+            if (Util.isZero(productDirections))
+                return radius > minDistance && Util.alignZero(radius - maxDistance) < 0
+                        && isOnSurface(ray, radius) ? radius : none;
+
+            // the direction of the ray parallel to the direction of the tube's axis
+            final double wx = rx - ax * productDirections;
+            final double wy = ry - ay * productDirections;
+            final double wz = rz - az * productDirections;
+            if (Util.isZero(wx) && Util.isZero(wy) && Util.isZero(wz))
+                return none;
+
+            final double t = radius / Math.sqrt(wx * wx + wy * wy + wz * wz);
+            return t > minDistance && Util.alignZero(t - maxDistance) < 0 && isOnSurface(ray, t) ? t : none;
+        }
+
+        final double dpV = px * ax + py * ay + pz * az;
+
+        // Calculating the coefficients of the quadratic equation.
+        final double a = 1 - productDirections * productDirections;
+        final double b = 2 * ((rx * px + ry * py + rz * pz) - productDirections * dpV);
+        final double c = (px * px + py * py + pz * pz) - dpV * dpV - radius * radius;
+
+        if (Util.isZero(a)) {
+            if (Util.isZero(b))
+                return none;
+            final double t = -c / b;
+            return t > minDistance && Util.alignZero(t - maxDistance) < 0 && isOnSurface(ray, t) ? t : none;
+        }
+
+        final double discriminant = Util.alignZero(b * b - 4 * a * c);
+        if (discriminant <= 0)
+            return none;
+
+        // t1 < t2, so t1 is the closest if it is accepted
+        final double t1 = Util.alignZero(-(b + Math.sqrt(discriminant)) / (2 * a));
+        if (isOnSide(ray, t1, minDistance, maxDistance))
+            return t1;
+        final double t2 = Util.alignZero(-(b - Math.sqrt(discriminant)) / (2 * a));
+        return isOnSide(ray, t2, minDistance, maxDistance) ? t2 : none;
+    }
+
+    /**
+     * Checks whether a root of the side's quadratic equation is an intersection in range:
+     * ahead of the ray's head (but not at it), beyond the min distance, before the max distance,
+     * and accepted by {@link #isOnSurface(Ray, double)}.
+     * @param ray the ray that makes the intersection
+     * @param t the distance along the ray of the root
+     * @param minDistance the distance the intersection must be beyond
+     * @param maxDistance the maximum distance of the intersection from the head of the ray
+     * @return true if the root is an intersection in range, false otherwise
+     */
+    private boolean isOnSide(Ray ray, double t, double minDistance, double maxDistance) {
+        if (t <= 0 || t <= minDistance || Util.alignZero(t - maxDistance) >= 0)
+            return false;
+        // the intersection point is the ray's head if the step along the ray is (almost) zero
+        final Vector v = ray.getVector();
+        if (Util.isZero(v.getX() * t) && Util.isZero(v.getY() * t) && Util.isZero(v.getZ() * t))
+            return false;
+        return isOnSurface(ray, t);
+    }
+
+    @Override
+    protected boolean findClosestHitHelper(Ray ray, double maxDistance, Hit hit) {
+        return hit.update(surfaceDistance(ray, maxDistance), this, 0);
+    }
+
+    @Override
+    protected boolean occludedHelper(Ray ray, double maxDistance, OcclusionAccumulator accumulator) {
+        // the intersections are passed one after the other, the closer first
+        for (double t = surfaceDistance(ray, maxDistance); t != Double.POSITIVE_INFINITY;
+             t = surfaceDistance(ray, t, maxDistance))
+            if (!accumulator.accept(this))
+                return true;
+        return false;
+    }
+}
@@ -0,0 +1,141 @@
+package primitives;
+
+import java.util.List;
+
+/**
+ * Record BoundingBox represents an axis-aligned box (AABB) in a Cartesian
+ * 3-Dimensional coordinate system, used for bounding the extent of geometries.
+ * @param minX the minimal x coordinate of the box
+ * @param minY the minimal y coordinate of the box
+ * @param minZ the minimal z coordinate of the box
+ * @param maxX the maximal x coordinate of the box
+ * @param maxY the maximal y coordinate of the box
+ * @param maxZ the maximal z coordinate of the box
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+public record BoundingBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+    /**
+     * Constructs a bounding box, ensuring that the minimal coordinates are not bigger than the maximal ones.
+     * @param minX the minimal x coordinate of the box
+     * @param minY the minimal y coordinate of the box
+     * @param minZ the minimal z coordinate of the box
+     * @param maxX the maximal x coordinate of the box
+     * @param maxY the maximal y coordinate of the box
+     * @param maxZ the maximal z coordinate of the box
+     * @throws IllegalArgumentException if a minimal coordinate is bigger than the maximal one
+     */
+    public BoundingBox {
+        if (minX > maxX || minY > maxY || minZ > maxZ)
+            throw new IllegalArgumentException("Minimal coordinates of a box can't be bigger than the maximal");
+    }
+
+    /**
+     * Creates the smallest box containing all the given points.
+     * @param points the points to bound, at least one
+     * @return the box bounding the points
+     */
+    public static BoundingBox of(List<Point> points) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+        for (Point p : points) {
+            minX = Math.min(minX, p.coords.d1());
+            minY = Math.min(minY, p.coords.d2());
+            minZ = Math.min(minZ, p.coords.d3());
+            maxX = Math.max(maxX, p.coords.d1());
+            maxY = Math.max(maxY, p.coords.d2());
+            maxZ = Math.max(maxZ, p.coords.d3());
+        }
+        return new BoundingBox(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Creates the box centered at a point with the given half sizes along the axes.
+     * @param center the center of the box
+     * @param dx half of the box size along the X axis
+     * @param dy half of the box size along the Y axis
+     * @param dz half of the box size along the Z axis
+     * @return the box around the center
+     */
+    public static BoundingBox around(Point center, double dx, double dy, double dz) {
+        return new BoundingBox(center.coords.d1() - dx, center.coords.d2() - dy, center.coords.d3() - dz,
+                center.coords.d1() + dx, center.coords.d2() + dy, center.coords.d3() + dz);
+    }
+
+    /**
+     * Calculates the distance along a ray where it enters a box, by the slab test:
+     * the ray is clipped by the pair of parallel planes (slab) of each axis, and the box is
+     * missed if the clipped ranges don't overlap. The test uses the ray's cached inverse direction,
+     * and gets the box by its coordinates, so that acceleration structures can keep their boxes in arrays.
+     * @param ray the ray
+     * @param minX the minimal x coordinate of the box
+     * @param minY the minimal y coordinate of the box
+     * @param minZ the minimal z coordinate of the box
+     * @param maxX the maximal x coordinate of the box
+     * @param maxY the maximal y coordinate of the box
+     * @param maxZ the maximal z coordinate of the box
+     * @param maxDistance the maximum distance along the ray
+     * @return the entry distance (0 if the ray's head is inside the box),
+     * or positive infinity if the ray misses the box within the maximum distance
+     */
+    public static double entryDistance(Ray ray, double minX, double minY, double minZ,
+                                       double maxX, double maxY, double maxZ, double maxDistance) {
+        final Double3 head = ray.getPoint(0).coords;
+
+        // A NaN distance (the head on a slab's plane, with the ray parallel to it) fails all the comparisons,
+        // so it is ignored, and the test stays conservative
+        double tEnter = ((ray.negX ? maxX : minX) - head.d1()) * ray.invX;
+        double tExit = ((ray.negX ? minX : maxX) - head.d1()) * ray.invX;
+        double tEnterY = ((ray.negY ? maxY : minY) - head.d2()) * ray.invY;
+        double tExitY = ((ray.negY ? minY : maxY) - head.d2()) * ray.invY;
+        if (tEnter > tExitY || tEnterY > tExit)
+            return Double.POSITIVE_INFINITY;
+        if (tEnterY > tEnter || Double.isNaN(tEnter))
+            tEnter = tEnterY;
+        if (tExitY < tExit || Double.isNaN(tExit))
+            tExit = tExitY;
+
+        double tEnterZ = ((ray.negZ ? maxZ : minZ) - head.d3()) * ray.invZ;
+        double tExitZ = ((ray.negZ ? minZ : maxZ) - head.d3()) * ray.invZ;
+        if (tEnter > tExitZ || tEnterZ > tExit)
+            return Double.POSITIVE_INFINITY;
+        if (tEnterZ > tEnter || Double.isNaN(tEnter))
+            tEnter = tEnterZ;
+        if (tExitZ < tExit || Double.isNaN(tExit))
+            tExit = tExitZ;
+
+        if (tExit < 0 || tEnter > maxDistance)
+            return Double.POSITIVE_INFINITY;
+        return tEnter > 0 ? tEnter : 0;
+    }
+
+    /**
+     * Calculates the distance along a ray where it enters the box.
+     * @param ray the ray
+     * @param maxDistance the maximum distance along the ray
+     * @return the entry distance (0 if the ray's head is inside the box),
+     * or positive infinity if the ray misses the box within the maximum distance
+     */
+    public double entryDistance(Ray ray, double maxDistance) {
+        return entryDistance(ray, minX, minY, minZ, maxX, maxY, maxZ, maxDistance);
+    }
+
+    /**
+     * Checks whether a ray passes through the box.
+     * @param ray the ray
+     * @param maxDistance the maximum distance along the ray
+     * @return true if the ray enters the box within the maximum distance, false otherwise
+     */
+    public boolean intersects(Ray ray, double maxDistance) {
+        return entryDistance(ray, maxDistance) != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Creates the smallest box containing both this box and another box.
+     * @param other the other box
+     * @return the union box
+     */
+    public BoundingBox union(BoundingBox other) {
+        return new BoundingBox(Math.min(minX, other.minX), Math.min(minY, other.minY), Math.min(minZ, other.minZ),
+                Math.max(maxX, other.maxX), Math.max(maxY, other.maxY), Math.max(maxZ, other.maxZ));
+    }
+}
@@ -51,6 +51,12 @@ public class Color {
     */
    public Color(java.awt.Color other) { rgb = new Double3(other.getRed(), other.getGreen(), other.getBlue()); }
 
+   /**
+    * RGB components getter - the components aren't limited to 255
+    * @return the triad of Red/Green/Blue components
+    */
+   public Double3 getRgb() { return rgb; }
+
    /**
     * Color getter - returns the color after converting it into java.awt.Color
     * object During the conversion any component bigger than 255 is set to 255
@@ -63,6 +69,19 @@ public class Color {
       return new java.awt.Color(ir > 255 ? 255 : ir, ig > 255 ? 255 : ig, ib > 255 ? 255 : ib);
    }
 
+   /**
+    * Packs the color into an int, 8 bits per component (0xRRGGBB), as java.awt.Color's RGB value
+    * but without creating a java.awt.Color object. As in {@link #getColor()}, any component bigger
+    * than 255 is set to 255
+    * @return the packed RGB components
+    */
+   public int getRGB() {
+      int ir = (int) rgb.d1();
+      int ig = (int) rgb.d2();
+      int ib = (int) rgb.d3();
+      return (ir > 255 ? 255 : ir) << 16 | (ig > 255 ? 255 : ig) << 8 | (ib > 255 ? 255 : ib);
+   }
+
    /**
     * Operation of adding this and one or more other colors (by component)
     * @param  colors one or more other colors to add
@@ -77,6 +77,18 @@ public record Double3(double d1, double d2, double d3) {
         return new Double3(d1 * rhs, d2 * rhs, d3 * rhs);
     }
 
+    /**
+     * Scales this triad and another triad, each by its own number, and sums them into a new triad
+     * (this * k + rhs * rhsK), without creating the two scaled triads
+     * @param  k the number scaling this triad
+     * @param  rhs right-hand-side operand
+     * @param  rhsK the number scaling the right-hand-side operand
+     * @return result of scaling and adding
+     */
+    public Double3 scaleAndAdd(double k, Double3 rhs, double rhsK) {
+        return new Double3(d1 * k + rhs.d1 * rhsK, d2 * k + rhs.d2 * rhsK, d3 * k + rhs.d3 * rhsK);
+    }
+
     /**
      * Reduce (divide) floating point triad by a number into a new triad where the
      * number divides each number
@@ -107,6 +119,17 @@ public record Double3(double d1, double d2, double d3) {
         return d1 < k && d2 < k && d3 < k;
     }
 
+    /**
+     * Checks whether all the numbers of the product of this triad and another triad are lower than a test number,
+     * without creating the product
+     * @param  rhs right-hand-side operand for product
+     * @param  k the test number
+     * @return true if all the numbers of the product are less than k, false otherwise
+     */
+    public boolean productLowerThan(Double3 rhs, double k) {
+        return d1 * rhs.d1 < k && d2 * rhs.d2 < k && d3 * rhs.d3 < k;
+    }
+
     /**
      * Checks whether all the numbers are lower than three numbers in another triad
      * @param  other another triad
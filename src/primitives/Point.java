@@ -34,6 +34,30 @@ public class Point {
         this.coords = d3;
     }
 
+    /**
+     * Getter for the x coordinate of the point.
+     * @return the x coordinate
+     */
+    public double getX() {
+        return coords.d1();
+    }
+
+    /**
+     * Getter for the y coordinate of the point.
+     * @return the y coordinate
+     */
+    public double getY() {
+        return coords.d2();
+    }
+
+    /**
+     * Getter for the z coordinate of the point.
+     * @return the z coordinate
+     */
+    public double getZ() {
+        return coords.d3();
+    }
+
     /**
      * Subtract between a point to this point.
      * @param p the point to subtract from this point.
@@ -52,6 +76,19 @@ public class Point {
         return new Point(this.coords.add(v.coords));
     }
 
+    /**
+     * Adds the specified vector scaled by a number to this point and returns a new point (this + v * t),
+     * without creating the scaled vector.
+     * @param v the vector to scale and add to this point.
+     * @param t the number to scale the vector by.
+     * @return a new point resulting from the addition of the scaled vector to this point.
+     */
+    public Point add(Vector v, double t) {
+        return new Point(coords.d1() + v.coords.d1() * t,
+                coords.d2() + v.coords.d2() * t,
+                coords.d3() + v.coords.d3() * t);
+    }
+
     /**
      * Calculates the squared distance between this point and another specified point.
      * @param p the other point to calculate the squared distance to.
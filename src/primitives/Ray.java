@@ -27,6 +27,18 @@ public class Ray {
      */
     private final Vector v;
 
+    /**
+     * The inverse of the direction's coordinates (1/x, 1/y, 1/z), cached for slab tests against boxes.
+     * A zero coordinate has an infinite inverse.
+     */
+    final double invX, invY, invZ;
+
+    /**
+     * Whether the direction's coordinates are negative, cached for slab tests against boxes.
+     * A negative coordinate means the ray meets the maximal side of a box before the minimal one.
+     */
+    final boolean negX, negY, negZ;
+
     /**
      * Constructs a Ray object with a specified origin point and direction vector.
      * The direction vector is automatically normalized to ensure unit length.
@@ -36,6 +48,13 @@ public class Ray {
     public Ray(Point p, Vector v) {
         this.p = p;
         this.v = v.normalize();
+
+        invX = 1 / this.v.coords.d1();
+        invY = 1 / this.v.coords.d2();
+        invZ = 1 / this.v.coords.d3();
+        negX = invX < 0;
+        negY = invY < 0;
+        negZ = invZ < 0;
     }
 
     /**
@@ -47,30 +66,37 @@ public class Ray {
      * @param normal the surface normal at the point of origin
      */
     public Ray(Point p, Vector v, Vector normal) {
-        this.v = v.normalize();
+        this(moveHead(p, v, normal), v);
+    }
+
+    /**
+     * Moves the starting point of a ray a bit along the surface normal, to the side the ray goes to,
+     * so the ray won't intersect the geometry it starts on.
+     * @param p the starting point of the ray
+     * @param v the direction vector of the ray
+     * @param normal the surface normal at the point of origin
+     * @return the moved starting point, or the same point if the ray is tangent to the surface
+     */
+    private static Point moveHead(Point p, Vector v, Vector normal) {
         double vNormal = v.dotProduct(normal);
-        if (Util.isZero(vNormal))
-            this.p = p;
-        else
-            this.p = p.add(normal.scale(vNormal > 0 ? DELTA : -DELTA));
+        return Util.isZero(vNormal) ? p : p.add(normal, vNormal > 0 ? DELTA : -DELTA);
     }
 
     /**
      * Get function for the point that represents the ray.
      * Note: when {@param t} and the vector (v) is very small (but not zero), and they are scaled together
      * the result is the zero vector.
-     * Therefore, we are catching the exception in that case.
+     * Therefore, the components of the scaled vector are checked for zero, and the head is returned in that case.
      * @param t for getting a point on the Ray (not just the head point)
      * @return p the starting point of the ray or p scaled.
      */
     public Point getPoint(double t) {
         if (Util.isZero(t))
             return p;
-        try {
-            return p.add(v.scale(t));
-        } catch (IllegalArgumentException e) {
+        final double x = v.coords.d1() * t, y = v.coords.d2() * t, z = v.coords.d3() * t;
+        if (Util.isZero(x) && Util.isZero(y) && Util.isZero(z))
             return p;
-        }
+        return new Point(p.coords.d1() + x, p.coords.d2() + y, p.coords.d3() + z);
     }
 
     /**
@@ -86,13 +112,17 @@ public class Ray {
 
         // initialized to null - if the list is empty will stay null.
         Intersection closestIntersection = null;
+        // the distance of the closest intersection for now, so it isn't calculated again for every comparison
+        double closestDistance = Double.POSITIVE_INFINITY;
 
         for(Intersection intersection : intersections) {
             // if this is the first intersection - change the intersection,
             // or it's closer than the closest intersection for now, so this is the new closest intersection.
-            if (closestIntersection == null ||
-                    p.distanceSquared(intersection.point) < p.distanceSquared(closestIntersection.point))
+            double distance = p.distanceSquared(intersection.point);
+            if (closestIntersection == null || distance < closestDistance) {
                 closestIntersection = intersection;
+                closestDistance = distance;
+            }
         }
 
         return closestIntersection;
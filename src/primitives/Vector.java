@@ -38,6 +38,16 @@ public class Vector extends Point {
             throw new IllegalArgumentException("Can't initialize vector 0.");
     }
 
+    /**
+     * Constructs the unit vector in the direction of a non-zero vector's coordinates.
+     * The result is never the zero vector, so it isn't checked.
+     * @param d3 the Double3 object representing the components of a non-zero vector.
+     * @param length the length of the vector of the given components.
+     */
+    private Vector(Double3 d3, double length) {
+        super(d3.reduce(length));
+    }
+
     /**
      * Sum two Vectors into a new Vector.
      * @param v vector for addition.
@@ -47,6 +57,21 @@ public class Vector extends Point {
         return new Vector(this.coords.add(v.coords));
     }
 
+    /**
+     * Adds another vector scaled by a number to this vector, into a new Vector (this + v * t),
+     * without creating the scaled vector.
+     * @param v the vector to scale and add.
+     * @param t the number to scale the vector by.
+     * @return result of adding.
+     * @throws IllegalArgumentException if the result is the zero vector.
+     */
+    @Override
+    public Vector add(Vector v, double t) {
+        return new Vector(coords.d1() + v.coords.d1() * t,
+                coords.d2() + v.coords.d2() * t,
+                coords.d3() + v.coords.d3() * t);
+    }
+
     /**
      * Scale (multiply) triad by a number into a new triad where
      * the number multiplies each number.
@@ -68,6 +93,21 @@ public class Vector extends Point {
                 + this.coords.d3() * v.coords.d3();
     }
 
+    /**
+     * Calculates the dot product of two vectors given by their components, for calculations in the hot loops
+     * of intersecting and shading, which work on the components without creating vectors.
+     * @param x1 the x-component of the first vector.
+     * @param y1 the y-component of the first vector.
+     * @param z1 the z-component of the first vector.
+     * @param x2 the x-component of the second vector.
+     * @param y2 the y-component of the second vector.
+     * @param z2 the z-component of the second vector.
+     * @return the dot product of the two vectors (double).
+     */
+    public static double dotProduct(double x1, double y1, double z1, double x2, double y2, double z2) {
+        return x1 * x2 + y1 * y2 + z1 * z2;
+    }
+
     /**
      * Calculates the cross-product of this vector with another vector.
      * @param v the vector to calculate the cross-product with.
@@ -101,7 +141,11 @@ public class Vector extends Point {
      * Same vector but with a length of 1.
      * @return a new Vector object representing the normalized (unit) vector.
      */
-    public Vector normalize() { return new Vector(coords.reduce(this.length())); }
+    public Vector normalize() {
+        final double length = this.length();
+        // a vector of unit length is already normalized, and a normalized vector is never the zero vector
+        return length == 1 ? this : new Vector(coords, length);
+    }
 
     @Override
     public boolean equals(Object obj) {
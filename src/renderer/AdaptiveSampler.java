@@ -0,0 +1,72 @@
+package renderer;
+
+import primitives.Color;
+
+/**
+ * AdaptiveSampler is the adaptive sampling of a tile's pixels in a pass over the band: a pixel without samples gets
+ * the initial samples, and a pixel that hasn't converged gets as many samples as it has,
+ * continuing its sequence of the sampling pattern (see {@link PixelSampler}).
+ * The color of a pixel is the mean of all its samples so far (see {@link AdaptiveSampling}).
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+final class AdaptiveSampler implements PixelTracer {
+    /**
+     * The generator of the samples' positions
+     */
+    private final PixelSampler sampler;
+    /**
+     * The number of pixels in a row of the image
+     */
+    private final int nX;
+    /**
+     * The statistics of the samples of the band's pixels
+     */
+    private final AdaptiveSampling sampling;
+    /**
+     * The time (of {@link System#nanoTime()}) the sampling of the band stops refining
+     */
+    private final long deadline;
+    /**
+     * The tracing of the samples' rays
+     */
+    private final RayCaster caster;
+    /**
+     * The position of the current sample
+     */
+    private final double[] offset = new double[2];
+
+    /**
+     * Constructs the adaptive sampler of a tile.
+     * @param pattern the sampling pattern
+     * @param initialSamples the number of samples every pixel gets in the first pass
+     * @param seed the seed of the pattern's randomness
+     * @param nX the number of pixels in a row of the image
+     * @param sampling the statistics of the samples of the band's pixels
+     * @param deadline the time (of {@link System#nanoTime()}) the sampling of the band stops refining
+     * @param caster the tracing of the samples' rays
+     */
+    AdaptiveSampler(SamplingPattern pattern, int initialSamples, long seed, int nX, AdaptiveSampling sampling,
+                    long deadline, RayCaster caster) {
+        this.sampler = new PixelSampler(pattern, initialSamples, seed);
+        this.nX = nX;
+        this.sampling = sampling;
+        this.deadline = deadline;
+        this.caster = caster;
+    }
+
+    @Override
+    public Color pixel(int i, int j) {
+        int pixel = sampling.index(i, j);
+        int count = sampling.count(pixel);
+        // a pass that runs past the deadline stops refining, so it doesn't overrun the budget
+        int batch = count > 0 && System.nanoTime() >= deadline ? 0 : sampling.batch(pixel);
+        if (batch > 0) {
+            sampler.startPixel((long) i * nX + j);
+            for (int k = count; k < count + batch; ++k) {
+                sampler.sample(k, offset);
+                sampling.add(pixel, caster.cast(j + offset[0], i + offset[1]));
+            }
+        }
+        return sampling.end(pixel);
+    }
+}
@@ -0,0 +1,181 @@
+package renderer;
+
+import primitives.Color;
+import primitives.Double3;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AdaptiveSampling keeps the running statistics of the samples of every pixel of a band of rows:
+ * their sum, for the pixel's mean color, and the sum of their squared luminances, for the variance.
+ * A pixel needs more samples while the confidence interval (95%) of its mean luminance is wider than the target,
+ * so flat and converged pixels get no more samples than the initial ones.
+ * Every pixel is sampled by a single rendering thread at a time, so the statistics aren't locked.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+final class AdaptiveSampling {
+    /**
+     * The z-score of the 95% confidence interval of the normal distribution
+     */
+    private static final double Z_95 = 1.96;
+
+    /**
+     * The number of pixels in a row of the image
+     */
+    private final int nX;
+    /**
+     * The first row of the band
+     */
+    private final int bandY;
+    /**
+     * The number of samples every pixel gets in the first pass
+     */
+    private final int initialSamples;
+    /**
+     * The largest number of samples of a pixel
+     */
+    private final int maxSamples;
+    /**
+     * The largest half-width of a converged pixel's confidence interval, in color units (0 - 255)
+     */
+    private final double maxError;
+
+    /**
+     * The sums of the RGB components of the samples of every pixel, row by row
+     */
+    private final float[] sums;
+    /**
+     * The sums of the squared luminances of the samples of every pixel
+     */
+    private final float[] squares;
+    /**
+     * The numbers of samples of every pixel
+     */
+    private final int[] counts;
+    /**
+     * The number of pixels that needed more samples by the end of the current pass
+     */
+    private final LongAdder pending = new LongAdder();
+
+    /**
+     * Constructs the statistics of a band of pixels, without samples.
+     * @param nX             the number of pixels in a row of the image
+     * @param bandY          the first row of the band
+     * @param rows           the number of rows in the band
+     * @param initialSamples the number of samples every pixel gets in the first pass, at least 2
+     * @param maxSamples     the largest number of samples of a pixel
+     * @param maxError       the largest half-width of a converged pixel's confidence interval
+     */
+    AdaptiveSampling(int nX, int bandY, int rows, int initialSamples, int maxSamples, double maxError) {
+        this.nX = nX;
+        this.bandY = bandY;
+        this.initialSamples = initialSamples;
+        this.maxSamples = maxSamples;
+        this.maxError = maxError;
+        sums = new float[3 * nX * rows];
+        squares = new float[nX * rows];
+        counts = new int[nX * rows];
+    }
+
+    /**
+     * Gets the index of a pixel in the band.
+     * @param  i the pixel's row number
+     * @param  j the pixel's column number
+     * @return   the index of the pixel
+     */
+    int index(int i, int j) {
+        return (i - bandY) * nX + j;
+    }
+
+    /**
+     * Gets the number of samples a pixel gets in the current pass: the initial samples for a pixel without
+     * samples, as many as it has for a pixel that hasn't converged (so its samples are doubled),
+     * and none for a converged pixel.
+     * @param  pixel the index of the pixel
+     * @return       the number of samples
+     */
+    int batch(int pixel) {
+        int count = counts[pixel];
+        return count == 0 ? initialSamples : needsMore(pixel) ? Math.min(count, maxSamples - count) : 0;
+    }
+
+    /**
+     * Adds a sample to a pixel.
+     * @param pixel the index of the pixel
+     * @param color the color of the sample
+     */
+    void add(int pixel, Color color) {
+        Double3 rgb = color.getRgb();
+        sums[3 * pixel] += (float) rgb.d1();
+        sums[3 * pixel + 1] += (float) rgb.d2();
+        sums[3 * pixel + 2] += (float) rgb.d3();
+        double luminance = luminance(rgb.d1(), rgb.d2(), rgb.d3());
+        squares[pixel] += (float) (luminance * luminance);
+        ++counts[pixel];
+    }
+
+    /**
+     * Ends the sampling of a pixel in the current pass.
+     * @param  pixel the index of the pixel
+     * @return       the mean color of the pixel's samples
+     */
+    Color end(int pixel) {
+        if (needsMore(pixel))
+            pending.increment();
+        int count = counts[pixel];
+        return new Color(sums[3 * pixel] / count, sums[3 * pixel + 1] / count, sums[3 * pixel + 2] / count);
+    }
+
+    /**
+     * Starts a new pass after a pass is done.
+     * @return true if any pixel needs more samples, false if all the pixels converged
+     */
+    boolean nextPass() {
+        return pending.sumThenReset() > 0;
+    }
+
+    /**
+     * Checks whether a pixel needs more samples.
+     * @param  pixel the index of the pixel
+     * @return       true if the pixel has fewer samples than the largest number and the half-width
+     *               of its confidence interval is above the target, false otherwise
+     */
+    boolean needsMore(int pixel) {
+        int count = counts[pixel];
+        return count < maxSamples && error(pixel) > maxError;
+    }
+
+    /**
+     * Estimates the half-width of the confidence interval (95%) of a pixel's mean luminance.
+     * @param  pixel the index of the pixel
+     * @return       the half-width in color units (0 - 255), infinite for fewer than 2 samples
+     */
+    double error(int pixel) {
+        int count = counts[pixel];
+        if (count < 2)
+            return Double.POSITIVE_INFINITY;
+        double mean = luminance(sums[3 * pixel], sums[3 * pixel + 1], sums[3 * pixel + 2]) / count;
+        double variance = Math.max(0, (squares[pixel] - count * mean * mean) / (count - 1));
+        return Z_95 * Math.sqrt(variance / count);
+    }
+
+    /**
+     * Gets the number of samples of a pixel.
+     * @param  pixel the index of the pixel
+     * @return       the number of samples
+     */
+    int count(int pixel) {
+        return counts[pixel];
+    }
+
+    /**
+     * Calculates the luminance of a color (Rec. 709).
+     * @param  r the red component
+     * @param  g the green component
+     * @param  b the blue component
+     * @return   the luminance
+     */
+    private static double luminance(double r, double g, double b) {
+        return 0.2126 * r + 0.7152 * g + 0.0722 * b;
+    }
+}
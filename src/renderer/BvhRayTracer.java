@@ -0,0 +1,27 @@
+package renderer;
+
+import sceneTest.Scene;
+
+/**
+ * BvhRayTracer class is a ray tracer that traces the rays through a bounding volume hierarchy
+ * built over the scene's geometries, so each ray is tested only against the geometries on its way.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+public class BvhRayTracer extends SimpleRayTracer {
+    /**
+     * Constructs a new BvhRayTracer with the given scene.
+     * @param scene the scene that will be rendered using this ray tracer
+     */
+    public BvhRayTracer(Scene scene) {
+        super(scene);
+    }
+
+    /**
+     * Builds the hierarchy over the scene's geometries as they are now (see {@link geometries.Geometries#buildBvh()}),
+     * or reuses the hierarchy already built over them, e.g., for another camera of the scene.
+     */
+    @Override
+    public synchronized void prepare() {
+        geometries = scene.geometries.buildBvh();
+    }
+}
@@ -1,9 +1,19 @@
 package renderer;
 
+import geometries.Geometry;
+import geometries.Intersectable;
+import geometries.IntersectionProbe;
 import primitives.*;
 import sceneTest.Scene;
 
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.MissingResourceException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
@@ -13,6 +23,16 @@ import static primitives.Util.isZero;
  * @author Yair Ziv and Amitay Yosh'i.
  */
 public class Camera implements Cloneable {
+    /**
+     * Default width and height, in pixels, of the tiles the image is split into for parallel rendering
+     */
+    private static final int DEFAULT_TILE_SIZE = 16;
+    /**
+     * The number of pixels along the longer side of the image for every pixel of the first pass
+     * of a deadline-bounded render (rounded down to a power of 2)
+     */
+    private static final int DEADLINE_FIRST_PASS_SPACING = 32;
+
     /**
      * Point that represents the location of the camera
      */
@@ -60,6 +80,124 @@ public class Camera implements Cloneable {
      */
     private int nY = 1;
 
+    /**
+     * The number of threads used for rendering, 0 means rendering on the calling thread only
+     */
+    private int threadsCount = 0;
+    /**
+     * The width and height, in pixels, of the tiles the image is split into for parallel rendering
+     */
+    private int tileSize = DEFAULT_TILE_SIZE;
+    /**
+     * The statistics of the last render, null if they aren't collected
+     */
+    private RenderStatistics statistics = null;
+    /**
+     * The tone mapping of the image, null for the 8-bit image (without high dynamic range)
+     */
+    private ToneMapper toneMapper = null;
+    /**
+     * The gamma of the image with high dynamic range
+     */
+    private double gamma = 1;
+    /**
+     * The maximal depth of the adaptive supersampling's subdivision of a pixel, 0 if it is off
+     * (a single ray through the pixel's center)
+     */
+    private int supersamplingDepth = 0;
+    /**
+     * The color difference (of a single RGB component) between the corners of a cell of a pixel
+     * beyond which the adaptive supersampling subdivides the cell
+     */
+    private double supersamplingThreshold = 0;
+    /**
+     * The pattern of the samples within a pixel, null for a single ray through the pixel's center
+     */
+    private SamplingPattern samplingPattern = null;
+    /**
+     * The number of samples (rays) in a pixel of the sampling pattern
+     */
+    private int samplesPerPixel = 1;
+    /**
+     * The seed of the sampling pattern's randomness
+     */
+    private long samplingSeed = 0;
+    /**
+     * The largest number of samples of a pixel of the adaptive sampling, 0 if it is off
+     */
+    private int adaptiveMaxSamples = 0;
+    /**
+     * The number of samples every pixel gets in the first pass of the adaptive sampling
+     */
+    private int adaptiveInitialSamples = 0;
+    /**
+     * The largest half-width of the confidence interval of a converged pixel of the adaptive sampling
+     */
+    private double adaptiveMaxError = 0;
+    /**
+     * The wall-clock budget of a render with adaptive sampling, null if the pixels are sampled until they converge
+     */
+    private Duration adaptiveBudget = null;
+    /**
+     * The distance in pixels between the pixels traced by the first pass of a progressive render,
+     * 1 if the render isn't progressive
+     */
+    private int progressiveStride = 1;
+    /**
+     * The listener notified after every pass of the render, null if none
+     */
+    private ProgressListener progressListener = null;
+    /**
+     * The render in progress, null if the camera is idle (see {@link Render})
+     */
+    private volatile Render rendering = null;
+    /**
+     * The format the image is streamed in band by band when it is written, null if the whole image is kept
+     */
+    private ImageFormat streamingFormat = null;
+    /**
+     * The name of the checkpoint of the renders, null if the renders aren't checkpointed
+     */
+    private String checkpoint = null;
+    /**
+     * The cost of the pixels the heatmap shows, null if no heatmap is produced
+     */
+    private HeatmapType heatmapType = null;
+    /**
+     * The cost of every pixel of the last render, row by row, null if no heatmap is produced
+     */
+    private long[] costs = null;
+
+    /**
+     * A probe counting the intersection tests of a thread for the heatmap,
+     * which passes the tests on to the statistics' probe, if they are collected
+     */
+    private static class TestsCounter implements IntersectionProbe {
+        /**
+         * The number of intersection tests so far
+         */
+        private long tests = 0;
+        /**
+         * The probe of the statistics, null if they aren't collected
+         */
+        private final IntersectionProbe next;
+
+        /**
+         * Constructs a counter of intersection tests.
+         * @param next the probe of the statistics, null if they aren't collected
+         */
+        TestsCounter(IntersectionProbe next) {
+            this.next = next;
+        }
+
+        @Override
+        public void tested(Geometry geometry, boolean hit) {
+            ++tests;
+            if (next != null)
+                next.tested(geometry, hit);
+        }
+    }
+
     /**
      * Camera empty constructor
      */
@@ -108,25 +246,535 @@ public class Camera implements Cloneable {
         return new Ray(p0, pIJ.subtract(p0));
     }
 
+    /**
+     * Calculates the ray from camera through a point of the view plane.
+     * @param u the point's horizontal distance from the view plane's left edge, in pixels
+     * @param v the point's vertical distance from the view plane's top edge, in pixels
+     * @return the ray from the camera through the point
+     */
+    private Ray constructRay(double u, double v) {
+        double yI = -(v - nY / 2d) * (height / nY);
+        double xJ = (u - nX / 2d) * (width / nX);
+
+        Point pIJ = p0.add(vTo.scale(distance));
+        if (!isZero(xJ))
+            pIJ = pIJ.add(vRight.scale(xJ));
+        if (!isZero(yI))
+            pIJ = pIJ.add(vUp.scale(yI));
+        return new Ray(p0, pIJ.subtract(p0));
+    }
+
     /**
      * The method will go through all the pixels according to the resolution,
      * and perform ray tracing to color all the pixels of the image.
+     * If multithreading is set, the image is split into tiles which are rendered
+     * by a work-stealing pool, and the result is identical to the single thread rendering.
+     * A streamed image (see {@link Builder#setStreaming(ImageFormat)}) isn't kept, so it is rendered
+     * by {@link #writeToImage(String)} instead, band by band.
      * @return A camera
+     * @throws IllegalStateException if the image is streamed, as it is rendered by writing it,
+     *                               or if the camera is already rendering, e.g., a job in the background
      */
     public Camera renderImage() {
-        for(int i=0; i < nX; i++)
-            for(int j=0; j < nY; j++)
-                castRay(i,j);
+        if (streamingFormat != null)
+            throw new IllegalStateException("A streamed image is rendered by writing it");
+        render(null);
+        return this;
+    }
+
+    /**
+     * Renders the image within a wall-clock deadline, so the best image the time allows exists when it runs out:
+     * the render is progressive (see {@link Builder#setProgressive(int, ProgressListener)}), and its first pass
+     * traces a coarse grid of pixels - by the progressive stride if it is set, otherwise about 32 pixels along
+     * the image's longer side - which always completes, so the image has no holes. The finer passes (and the
+     * adaptive sampling's refinement, if it is set) stop at the deadline, leaving the squares of the coarser
+     * passes where they didn't get to, and the render ends early once every pixel is traced (and converged).
+     * The time of preparing the scene (e.g., building its acceleration structure) is included.
+     * @param deadline the wall-clock time the render may take
+     * @return A camera
+     * @throws IllegalArgumentException if the deadline is missing or negative
+     * @throws IllegalStateException    if the image is streamed or checkpointed, which needs the final pixels
+     *                                  of every tile, or if the camera is already rendering
+     */
+    public Camera renderImage(Duration deadline) {
+        if (deadline == null || deadline.isNegative())
+            throw new IllegalArgumentException("deadline must not be negative");
+        if (streamingFormat != null || checkpoint != null)
+            throw new IllegalStateException("A streamed or checkpointed image can't be rendered by a deadline");
+        long end = System.nanoTime() + deadline.toNanos();
+        int stride = progressiveStride;
+        if (stride == 1)
+            stride = Math.max(1, Integer.highestOneBit(Math.max(nX, nY) / DEADLINE_FIRST_PASS_SPACING));
+        render(null, stride, end);
         return this;
     }
 
+    /**
+     * Starts rendering the image in the background, like {@link #renderImage()}, on a thread of its own.
+     * The returned job reports the progress of the render and can cancel it; the camera must not be used
+     * until the job is done (see {@link RenderJob#join()}).
+     * @return the job of the render
+     * @throws IllegalStateException if the image is streamed, as it is rendered by writing it,
+     *                               or if the camera is already rendering
+     */
+    public RenderJob startRender() {
+        if (streamingFormat != null)
+            throw new IllegalStateException("A streamed image is rendered by writing it");
+        RenderJob renderJob = new RenderJob((long) nX * nY);
+        // the camera is claimed before the thread starts, so a render started meanwhile is rejected
+        Render render = claim(renderJob);
+        Thread thread = new Thread(() -> {
+            Throwable error = null;
+            try {
+                render.run(null, progressiveStride, Long.MAX_VALUE);
+            } catch (Throwable e) {
+                error = e;
+            } finally {
+                rendering = null;
+            }
+            renderJob.finish(this, error);
+        }, "render");
+        thread.start();
+        return renderJob;
+    }
+
+    /**
+     * Renders the image, and streams it band by band to a file if it is streamed.
+     * @param stream the file of the streamed image, null if the whole image is kept
+     */
+    private void render(StreamingImageWriter stream) {
+        render(stream, progressiveStride, Long.MAX_VALUE);
+    }
+
+    /**
+     * Renders the image progressively within a deadline, and streams it band by band to a file if it is streamed.
+     * @param stream the file of the streamed image, null if the whole image is kept
+     * @param firstStride the distance in pixels between the pixels of the first pass, 1 for tracing them all at once
+     * @param deadline the time (of {@link System#nanoTime()}) the passes after the first pass stop,
+     *                 {@link Long#MAX_VALUE} for none
+     */
+    private void render(StreamingImageWriter stream, int firstStride, long deadline) {
+        Render render = claim(null);
+        try {
+            render.run(stream, firstStride, deadline);
+        } finally {
+            rendering = null;
+        }
+    }
+
+    /**
+     * Claims the camera for a new render, which holds it until the render ends and {@link #rendering}
+     * is cleared: the camera renders a single image at a time.
+     * @param job the job of a render in the background, null for a render on the calling thread
+     * @return the new render
+     * @throws IllegalStateException if the camera is already rendering
+     */
+    private synchronized Render claim(RenderJob job) {
+        if (rendering != null)
+            throw new IllegalStateException("The camera is already rendering");
+        rendering = new Render(job);
+        return rendering;
+    }
+
+    /**
+     * Render is a single render of the image - its passes over the bands of rows, its tiles and its pixels -
+     * with the state that lives only as long as the render. Every render creates its own,
+     * so no state of a render is left over for the next one.
+     */
+    private final class Render {
+        /**
+         * The job of the render running in the background, null for a render on the calling thread
+         */
+        private final RenderJob job;
+        /**
+         * The statistics the ray tracer counts in: the camera's statistics, or statistics of the render's own
+         * for the rays of the tiles' flight recorder events, null if neither is needed
+         */
+        private final RenderStatistics tracerStatistics = statistics == null
+                && new RenderEvents.RenderTile().isEnabled() ? new RenderStatistics() : statistics;
+        /**
+         * The cost of every pixel, row by row, null if no heatmap is produced
+         */
+        private final long[] costs = heatmapType == null ? null : new long[nX * nY];
+        /**
+         * The checkpoint of the render, null if the render isn't checkpointed
+         */
+        private TileStore tileStore = null;
+        /**
+         * The statistics of the samples of the band of rows being rendered, null if the sampling isn't adaptive
+         */
+        private AdaptiveSampling adaptiveSampling = null;
+        /**
+         * The time (of {@link System#nanoTime()}) the adaptive sampling of the band being rendered stops refining
+         */
+        private long adaptiveDeadline = Long.MAX_VALUE;
+        /**
+         * The distance in pixels between the pixels traced by the current pass; every traced pixel colors
+         * the square of this size below and right of it, until the next passes trace its pixels
+         */
+        private int passStride = 1;
+        /**
+         * The distance in pixels between the pixels traced by the previous passes, 0 in the first pass
+         */
+        private int tracedStride = 0;
+        /**
+         * Whether the current pass refines pixels that were traced by the previous passes (by the adaptive sampling)
+         */
+        private boolean refining = false;
+        /**
+         * The time (of {@link System#nanoTime()}) the rendering threads stop before their next row of pixels,
+         * the deadline of a deadline-bounded render once its first pass is done
+         */
+        private long stopTime = Long.MAX_VALUE;
+
+        /**
+         * Constructs the state of a new render.
+         * @param job the job of the render running in the background, null for a render on the calling thread
+         */
+        private Render(RenderJob job) {
+            this.job = job;
+        }
+
+        /**
+         * Renders the image progressively within a deadline, and streams it band by band to a file
+         * if it is streamed.
+         * @param stream the file of the streamed image, null if the whole image is kept
+         * @param firstStride the distance in pixels between the pixels of the first pass,
+         *                    1 for tracing them all at once
+         * @param deadline the time (of {@link System#nanoTime()}) the passes after the first pass stop,
+         *                 {@link Long#MAX_VALUE} for none
+         */
+        private void run(StreamingImageWriter stream, int firstStride, long deadline) {
+            long start = System.nanoTime();
+            RenderEvents.Render event = new RenderEvents.Render();
+            event.begin();
+            if (statistics != null)
+                statistics.reset();
+            Camera.this.costs = costs;
+            prepare();
+
+            int tilesCount = 0;
+            int bandHeight = imageWriter.bandHeight();
+            if (checkpoint != null)
+                tileStore = new TileStore(checkpointPath(), nX, nY, tileSize);
+            ForkJoinPool pool = threadsCount == 0 ? null : new ForkJoinPool(threadsCount);
+            boolean stopped = false;
+            try {
+                for (int y = 0; y < nY && !stopped; y += bandHeight) {
+                    int rows = Math.min(bandHeight, nY - y);
+                    if (stream != null)
+                        imageWriter.startBand(y);
+                    // a checkpointed render is split into tiles even on a single thread, to resume by tiles
+                    List<Tile> tiles = pool == null && tileStore == null ? List.of(new Tile(0, y, nX, rows))
+                            : Tile.split(nX, y, y + rows, tileSize);
+                    tilesCount += tiles.size();
+                    if (adaptiveMaxSamples > 0)
+                        adaptiveSampling = new AdaptiveSampling(nX, y, rows, adaptiveInitialSamples, adaptiveMaxSamples,
+                                adaptiveMaxError);
+                    // the adaptive sampling passes over the band until its pixels converge or its share of
+                    // the budget (by its rows, including the time the previous bands left) is spent;
+                    // the first pass always completes
+                    adaptiveDeadline = Math.min(deadline, adaptiveBudget == null ? Long.MAX_VALUE
+                            : start + (long) (adaptiveBudget.toNanos() * ((double) (y + rows) / nY)));
+                    // a progressive render traces every stride-th pixel first, then halves the stride pass after pass;
+                    // the pixels the adaptive sampling hasn't converged are counted over all these passes
+                    passStride = firstStride;
+                    tracedStride = 0;
+                    refining = false;
+                    stopTime = Long.MAX_VALUE;
+                    boolean more;
+                    int pass = 0;
+                    do {
+                        if (pool == null)
+                            tiles.forEach(this::renderTile);
+                        else
+                            // idle threads steal the tiles that weren't rendered yet
+                            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(
+                                    tiles.stream().map(tile -> ForkJoinTask.adapt(() -> renderTile(tile))).toList())));
+                        int stride = passStride;
+                        // once all the pixels are traced, the adaptive sampling's passes visit them all
+                        tracedStride = stride > 1 ? stride : 0;
+                        refining = stride == 1;
+                        if (stride > 1) {
+                            passStride = stride / 2;
+                            more = true;
+                        } else
+                            more = adaptiveSampling != null && adaptiveSampling.nextPass()
+                                    && System.nanoTime() < adaptiveDeadline;
+                        boolean stop = job != null && job.isCancelled();
+                        if (!stop && progressListener != null
+                                && !progressListener.passDone(Camera.this, ++pass, stride))
+                            stop = true;
+                        // the first pass always completes, so a deadline-bounded render leaves no holes
+                        stopTime = deadline;
+                        if (stop || System.nanoTime() >= deadline) {
+                            stopped = true;
+                            more = false;
+                        }
+                    } while (more);
+                    if (stream != null)
+                        imageWriter.writeBand(stream);
+                }
+            } finally {
+                if (pool != null)
+                    pool.shutdown();
+                if (tileStore != null)
+                    tileStore.close();
+            }
+
+            if (event.shouldCommit()) {
+                event.width = nX;
+                event.height = nY;
+                event.threads = threadsCount;
+                event.tiles = tilesCount;
+                event.commit();
+            }
+        }
+
+        /**
+         * Colors all the pixels of a tile, row by row.
+         * If the intersection tests are counted (for the statistics, the heatmap or a flight recording),
+         * the thread's probe is set for the tile, and so are the statistics the ray tracer counts the thread's
+         * work in.
+         * If the render is checkpointed, a tile finished by an interrupted render is restored instead,
+         * and a rendered tile is saved in the checkpoint.
+         * @param tile the tile to render
+         */
+        private void renderTile(Tile tile) {
+            if (isStopped())
+                return;
+            if (tileStore != null && tileStore.isFinished(tile)) {
+                tileStore.load(tile, imageWriter);
+                if (job != null) {
+                    job.pixelsDone(tile.width() * tile.height());
+                    job.tileDone();
+                }
+                return;
+            }
+
+            RenderEvents.RenderTile event = new RenderEvents.RenderTile();
+            event.begin();
+            IntersectionProbe probe = statistics == null ? null : statistics.probe();
+            TestsCounter counter = null;
+            if (heatmapType == HeatmapType.INTERSECTION_TESTS || event.isEnabled())
+                probe = counter = new TestsCounter(probe);
+            if (probe != null)
+                Intersectable.setProbe(probe);
+            // the ray tracer may be shared by several cameras, so its threads count in the statistics of their render
+            if (tracerStatistics != null)
+                rayTracer.setStatistics(tracerStatistics);
+            final long raysBefore = event.isEnabled() && tracerStatistics != null
+                    ? tracerStatistics.getThreadRays() : 0;
+            PixelTracer sampler = newSampler();
+            boolean stopped = false;
+            try {
+                for (int i = tile.y(); i < tile.y() + tile.height(); i++) {
+                    // a cancelled job or a passed deadline stops before the next row,
+                    // and the unfinished tile isn't saved
+                    if (isStopped()) {
+                        stopped = true;
+                        break;
+                    }
+                    int traced = 0;
+                    if (i % passStride == 0)
+                        for (int j = tile.x(); j < tile.x() + tile.width(); j++)
+                            if (j % passStride == 0 && !isTraced(i, j)) {
+                                if (heatmapType == null)
+                                    castRay(i, j, sampler);
+                                else
+                                    castRay(i, j, sampler, counter);
+                                ++traced;
+                            }
+                    if (sampler != null)
+                        sampler.endRow(i);
+                    if (job != null && !refining)
+                        job.pixelsDone(traced);
+                }
+            } finally {
+                if (probe != null)
+                    Intersectable.setProbe(null);
+                if (tracerStatistics != null)
+                    rayTracer.setStatistics(null);
+            }
+            if (stopped)
+                return;
+            if (tileStore != null)
+                tileStore.save(tile, imageWriter);
+            if (job != null)
+                job.tileDone();
+
+            if (event.shouldCommit()) {
+                event.x = tile.x();
+                event.y = tile.y();
+                event.width = tile.width();
+                event.height = tile.height();
+                event.rays = tracerStatistics == null ? 0 : tracerStatistics.getThreadRays() - raysBefore;
+                event.intersectionTests = counter.tests;
+                event.commit();
+            }
+        }
+
+        /**
+         * Creates the sampling of a tile's pixels by several rays.
+         * @return the sampling, null for a single ray through the center of every pixel
+         */
+        private PixelTracer newSampler() {
+            if (adaptiveSampling != null)
+                return new AdaptiveSampler(samplingPattern == null ? SamplingPattern.SOBOL : samplingPattern,
+                        adaptiveInitialSamples, samplingSeed, nX, adaptiveSampling, adaptiveDeadline, this::traceRay);
+            if (supersamplingDepth > 0)
+                return new Supersampler(supersamplingDepth, supersamplingThreshold, this::traceRay);
+            if (samplingPattern != null)
+                return new PatternSampler(samplingPattern, samplesPerPixel, samplingSeed, nX, this::traceRay);
+            return null;
+        }
+
+        /**
+         * Checks whether the rendering threads should stop: the job of the render was cancelled,
+         * or the deadline of a deadline-bounded render passed.
+         * @return true if the rendering threads should stop, false otherwise
+         */
+        private boolean isStopped() {
+            return job != null && job.isCancelled() || stopTime != Long.MAX_VALUE && System.nanoTime() >= stopTime;
+        }
+
+        /**
+         * This method colors a pixel.
+         * @param i the pixel's row number
+         * @param j the pixel's column number
+         * @param sampler the sampling of the tile's pixels, null for a single ray through the pixel's center
+         */
+        private void castRay(int i, int j, PixelTracer sampler) {
+            writePixel(i, j, tracePixel(i, j, sampler));
+        }
+
+        /**
+         * This method colors a pixel and measures its cost for the heatmap.
+         * @param i the pixel's row number
+         * @param j the pixel's column number
+         * @param sampler the sampling of the tile's pixels, null for a single ray through the pixel's center
+         * @param counter the counter of the thread's intersection tests, null if they aren't counted
+         */
+        private void castRay(int i, int j, PixelTracer sampler, TestsCounter counter) {
+            final boolean tests = heatmapType == HeatmapType.INTERSECTION_TESTS;
+            long before = tests ? counter.tests : System.nanoTime();
+            Color color = tracePixel(i, j, sampler);
+            // the passes of the adaptive sampling add up
+            costs[i * nX + j] += (tests ? counter.tests : System.nanoTime()) - before;
+            writePixel(i, j, color);
+        }
+
+        /**
+         * Checks whether a pixel was traced by the previous passes of a progressive render.
+         * @param i the pixel's row number
+         * @param j the pixel's column number
+         * @return true if the pixel was traced, false otherwise
+         */
+        private boolean isTraced(int i, int j) {
+            return tracedStride > 0 && i % tracedStride == 0 && j % tracedStride == 0;
+        }
+
+        /**
+         * Writes the color of a traced pixel, and of the pixels it stands for until they are traced
+         * by the next passes of a progressive render (the square of the pass's stride below and right of it).
+         * The squares of the pixels of a pass don't overlap, so the threads write different pixels.
+         * @param i the pixel's row number
+         * @param j the pixel's column number
+         * @param color the color of the pixel
+         */
+        private void writePixel(int i, int j, Color color) {
+            for (int y = i; y < Math.min(i + passStride, nY); y++)
+                for (int x = j; x < Math.min(j + passStride, nX); x++)
+                    imageWriter.writePixel(x, y, color);
+        }
+
+        /**
+         * Calculates the color of a pixel.
+         * @param i the pixel's row number
+         * @param j the pixel's column number
+         * @param sampler the sampling of the tile's pixels, null for a single ray through the pixel's center
+         * @return the color of the pixel
+         */
+        private Color tracePixel(int i, int j, PixelTracer sampler) {
+            return sampler == null ? traceRay(constructRay(nX, nY, j, i)) : sampler.pixel(i, j);
+        }
+
+        /**
+         * Traces a ray from the camera, counting it for the job of the render, if any.
+         * @param ray the ray
+         * @return the color of the ray
+         */
+        private Color traceRay(Ray ray) {
+            if (job != null)
+                job.rayTraced();
+            return rayTracer.traceRay(ray);
+        }
+
+        /**
+         * Traces a ray from the camera through a point of the view plane, counting it for the job of the render,
+         * if any.
+         * @param u the point's horizontal distance from the view plane's left edge, in pixels
+         * @param v the point's vertical distance from the view plane's top edge, in pixels
+         * @return the color of the ray
+         */
+        private Color traceRay(double u, double v) {
+            return traceRay(constructRay(u, v));
+        }
+    }
+
+    /**
+     * Gets the path of the checkpoint's file.
+     * @return the path of the file
+     */
+    private Path checkpointPath() {
+        return Path.of(ImageWriter.FOLDER_PATH, checkpoint + ".tiles");
+    }
+
+    /**
+     * Prepares the ray tracer for rendering, e.g., builds the acceleration structure over the scene.
+     */
+    private void prepare() {
+        RenderEvents.Prepare event = new RenderEvents.Prepare();
+        event.begin();
+        rayTracer.prepare();
+        if (event.shouldCommit()) {
+            event.rayTracer = rayTracer.getClass().getSimpleName();
+            event.primitives = rayTracer.scene == null ? 0 : rayTracer.scene.geometries.countLeaves();
+            event.commit();
+        }
+    }
+
+    /**
+     * Gets the statistics of the last render.
+     * @return the statistics, or null if they aren't collected
+     */
+    public RenderStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Gets the cost of a pixel in the last render, as the heatmap shows it.
+     * @param j the pixel's column number
+     * @param i the pixel's row number
+     * @return the number of intersection tests or the nanoseconds of the pixel, according to the heatmap type
+     * @throws IllegalStateException if the camera doesn't produce a heatmap
+     */
+    public long getPixelCost(int j, int i) {
+        if (costs == null)
+            throw new IllegalStateException("The camera doesn't produce a heatmap");
+        return costs[i * nX + j];
+    }
+
     /**
      * This method prints a grid on an image.
      * @param interval the number of pixels in the width/height of the grid square
      * @param color the color of the grid
      * @return A camera
+     * @throws IllegalStateException if the image is streamed
      */
     public Camera printGrid(int interval, Color color) {
+        if (streamingFormat != null)
+            throw new IllegalStateException("A grid can't be printed on a streamed image");
         for(int i=0; i < nX; i+=interval)
             for(int j=0; j < nY; j++)
                 imageWriter.writePixel(j, i, color);
@@ -139,23 +787,97 @@ public class Camera implements Cloneable {
     /**
      * Function writeToImage produces an unoptimized png file of the image according
      * to pixel color matrix in the directory of the project, using delegation.
+     * If the image is streamed, it is rendered here band by band, and every band is encoded into the file
+     * as soon as it is rendered.
+     * The checkpoint of the render, if any, is deleted once the image is written.
      * @param imageName the name of png file
      * @return A camera
+     * @throws IllegalStateException if the image is streamed and the camera is already rendering
      */
     public Camera writeToImage(String imageName) {
-        imageWriter.writeToImage(imageName);
+        if (streamingFormat == null)
+            imageWriter.writeToImage(imageName);
+        else
+            try (StreamingImageWriter stream = new StreamingImageWriter(imageName, nX, nY, streamingFormat)) {
+                render(stream);
+            }
+        if (checkpoint != null)
+            TileStore.delete(checkpointPath());
         return this;
     }
 
     /**
-     * This method colors a pixel.
-     * @param i the pixel's row number
-     * @param j the pixel's column number
+     * Copies the image as it is now, tone mapped if it has a high dynamic range,
+     * e.g., for comparing renders without writing them.
+     * @return the copy of the image
+     * @throws IllegalStateException if the image is streamed
+     */
+    BufferedImage toImage() {
+        return imageWriter.toImage();
+    }
+
+    /**
+     * Produces a png file of the image in the background, so the next image can be rendered meanwhile.
+     * A copy of the image is handed to a bounded queue of image writes (see {@link ImageWriteQueue}), which blocks
+     * the call while it is full, and the camera keeps its image, e.g., for writing it in another format.
+     * A copy written during a render (e.g., by a progress listener) is a snapshot of the incomplete image.
+     * A streamed image is rendered by writing it, so it is written before the call returns.
+     * The checkpoint of the render, if any, is deleted once the image is written.
+     * @param imageName the name of png file
+     * @return the completion of the write, which completes exceptionally if the write fails
+     * @throws IllegalStateException if the image is streamed and the camera is already rendering
      */
-    private void castRay(int i,  int j) {
-        Ray ray = constructRay(nX, nY, j, i);
-        Color color = rayTracer.traceRay(ray);
-        this.imageWriter.writePixel(j, i, color);
+    public CompletableFuture<Void> writeToImageAsync(String imageName) {
+        if (streamingFormat != null) {
+            writeToImage(imageName);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        ImageWriter image = imageWriter.copy();
+        Path checkpointPath = checkpoint == null ? null : checkpointPath();
+        return ImageWriteQueue.SHARED.submit(() -> {
+            image.writeToImage(imageName);
+            if (checkpointPath != null)
+                TileStore.delete(checkpointPath);
+        });
+    }
+
+    /**
+     * Creates a blank image for the camera's resolution, streaming and tone mapping.
+     * @return the image
+     */
+    private ImageWriter newImageWriter() {
+        ImageWriter image = new ImageWriter(nX, nY, streamingFormat == null ? nY : Math.min(tileSize, nY));
+        if (toneMapper != null)
+            image.setToneMapping(toneMapper, gamma);
+        return image;
+    }
+
+    /**
+     * Produces a PFM (portable float map) file of the linear colors of the image, without tone mapping,
+     * for post-processing. Requires the high dynamic range (see {@link Builder#setToneMapping(ToneMapper, double)}).
+     * @param imageName the name of pfm file
+     * @return A camera
+     * @throws IllegalStateException if the image doesn't have a high dynamic range, or if it is streamed
+     */
+    public Camera writePfm(String imageName) {
+        imageWriter.writePfm(imageName);
+        return this;
+    }
+
+    /**
+     * Produces a png file of the heatmap of the last render, which shows the cost of every pixel
+     * by a false-color ramp from black (the cheapest) through blue, cyan, green, yellow and red to white
+     * (the costliest).
+     * @param imageName the name of png file
+     * @return A camera
+     * @throws IllegalStateException if the camera doesn't produce a heatmap
+     */
+    public Camera writeHeatmap(String imageName) {
+        if (costs == null)
+            throw new IllegalStateException("The camera doesn't produce a heatmap");
+        Heatmap.write(costs, nX, nY, imageName);
+        return this;
     }
 
     /**
@@ -170,6 +892,11 @@ public class Camera implements Cloneable {
          */
         private final Camera camera = new Camera();
 
+        /**
+         * Whether the built cameras collect the statistics of their renders
+         */
+        private boolean collectStatistics = false;
+
         /**
          * Set the location of the camera
          * @param p0 the location of the camera
@@ -263,6 +990,202 @@ public class Camera implements Cloneable {
             return this;
         }
 
+        /**
+         * Set the number of threads used for rendering the image.
+         * @param threads the number of threads: 0 for rendering on the calling thread only,
+         *                -1 for using all the available processors, or a positive number of threads
+         * @return A camera
+         */
+        public Builder setMultithreading(int threads) {
+            if (threads < -1)
+                throw new IllegalArgumentException("threads must be -1, 0 or positive");
+
+            camera.threadsCount = threads == -1 ? Runtime.getRuntime().availableProcessors() : threads;
+            return this;
+        }
+
+        /**
+         * Set the size of the tiles the image is split into for parallel rendering.
+         * @param tileSize the width and height of a tile in pixels
+         * @return A camera
+         */
+        public Builder setTileSize(int tileSize) {
+            if (tileSize <= 0)
+                throw new IllegalArgumentException("tile size must be positive");
+
+            camera.tileSize = tileSize;
+            return this;
+        }
+
+        /**
+         * Set whether the statistics of the renders are collected.
+         * Collecting them costs a little rendering time, so they aren't collected by default.
+         * @param collect true for collecting the statistics, false otherwise
+         * @return A camera
+         */
+        public Builder setStatistics(boolean collect) {
+            collectStatistics = collect;
+            return this;
+        }
+
+        /**
+         * Set a high dynamic range for the image: the colors are kept as linear floats without any limit,
+         * and they are tone mapped and gamma corrected only when the image is written.
+         * Without it, every color is clamped to 8 bits when it is written to the image.
+         * @param toneMapper the tone mapping, e.g., {@link ToneMapper#ACES}, or null for the 8-bit image
+         * @param gamma the gamma, e.g., 2.2 for sRGB displays, or 1 for no gamma correction
+         * @return A camera
+         * @throws IllegalArgumentException if the gamma isn't positive
+         */
+        public Builder setToneMapping(ToneMapper toneMapper, double gamma) {
+            if (!(gamma > 0))
+                throw new IllegalArgumentException("gamma must be positive");
+
+            camera.toneMapper = toneMapper;
+            camera.gamma = gamma;
+            return this;
+        }
+
+        /**
+         * Set the adaptive supersampling (anti-aliasing) of the pixels: a pixel is sampled at its corners,
+         * and a part of it whose corners' colors differ beyond the threshold is divided into 4 recursively,
+         * so only the edges pay for the extra rays. The corners are shared by the neighboring pixels and parts.
+         * A depth of 2 matches the quality of 16 rays per pixel, and a depth of 3 matches 64.
+         * It can't be combined with a sampling pattern.
+         * @param depth the maximal depth of a pixel's division, 0 for a single ray through the pixel's center
+         * @param threshold the difference of an RGB component (0 - 255) between corners that divides a part
+         * @return A camera
+         * @throws IllegalArgumentException if the depth isn't between 0 and 8, or if the threshold is negative
+         */
+        public Builder setAdaptiveSupersampling(int depth, double threshold) {
+            if (depth < 0 || depth > 8)
+                throw new IllegalArgumentException("depth must be between 0 and 8");
+            if (threshold < 0)
+                throw new IllegalArgumentException("threshold must not be negative");
+
+            camera.supersamplingDepth = depth;
+            camera.supersamplingThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Set the sampling of every pixel by several rays, whose positions within the pixel follow a pattern;
+         * the color of the pixel is the mean of its rays. The quasi-Monte Carlo patterns (Halton and Sobol)
+         * converge with fewer rays than random positions. The randomness of every pixel is derived from the seed,
+         * so the renders are reproducible regardless of the threads.
+         * It can't be combined with the adaptive supersampling.
+         * @param pattern the sampling pattern, or null for a single ray through the pixel's center
+         * @param samplesPerPixel the number of rays in a pixel
+         * @param seed the seed of the randomness
+         * @return A camera
+         * @throws IllegalArgumentException if the number of rays isn't positive
+         */
+        public Builder setSampling(SamplingPattern pattern, int samplesPerPixel, long seed) {
+            if (samplesPerPixel <= 0)
+                throw new IllegalArgumentException("samples per pixel must be positive");
+
+            camera.samplingPattern = pattern;
+            camera.samplesPerPixel = samplesPerPixel;
+            camera.samplingSeed = seed;
+            return this;
+        }
+
+        /**
+         * Set the adaptive sampling of the pixels, which spends the rays where the image is noisy:
+         * every pixel first gets the initial samples, and the variance of their luminance estimates
+         * the confidence interval (95%) of the pixel's color. The pixels whose interval is wider than the target
+         * get more samples, doubling them pass after pass, until every pixel converges or gets the largest number
+         * of samples, or the budget is spent - flat and diffuse regions keep their initial samples.
+         * The budget is shared by the bands of rows of the image by their rows (see {@link #setStreaming}),
+         * and the first pass over every band always completes, so the render may exceed a budget that is too short.
+         * The samples follow the pattern and the seed of {@link #setSampling} (Sobol if no pattern is set),
+         * whose number of samples is ignored.
+         * It can't be combined with the adaptive supersampling or with a checkpoint.
+         * @param initialSamples the number of samples every pixel gets, at least 2 for estimating the variance
+         * @param maxSamples the largest number of samples of a pixel, or 0 for turning the adaptive sampling off
+         * @param maxError the largest half-width of a converged pixel's confidence interval,
+         *                 in color units (0 - 255 for the displayed range)
+         * @param budget the wall-clock budget of a render, or null for sampling until the pixels converge
+         * @return A camera
+         * @throws IllegalArgumentException if the initial samples are fewer than 2 or more than the largest number,
+         *                                  or if the error or the budget is negative
+         */
+        public Builder setAdaptiveSampling(int initialSamples, int maxSamples, double maxError, Duration budget) {
+            if (maxSamples != 0 && (initialSamples < 2 || initialSamples > maxSamples))
+                throw new IllegalArgumentException("initial samples must be between 2 and the largest number of samples");
+            if (maxError < 0)
+                throw new IllegalArgumentException("error must not be negative");
+            if (budget != null && budget.isNegative())
+                throw new IllegalArgumentException("budget must not be negative");
+
+            camera.adaptiveInitialSamples = initialSamples;
+            camera.adaptiveMaxSamples = maxSamples;
+            camera.adaptiveMaxError = maxError;
+            camera.adaptiveBudget = budget;
+            return this;
+        }
+
+        /**
+         * Set the progressive rendering of the image, for previewing a long render early: the first pass traces
+         * every stride-th pixel of every stride-th row, coloring the square of pixels it stands for,
+         * and every next pass halves the stride and traces the pixels between the traced ones,
+         * until all the pixels are traced. The adaptive sampling (see {@link #setAdaptiveSampling}) then
+         * refines the image by its own passes. The listener is notified after every pass and may write
+         * the image as it is, or stop the render when the image is good enough.
+         * It can't be combined with streaming or with a checkpoint, which need the final pixels of every tile.
+         * @param stride the distance in pixels between the pixels of the first pass, a power of 2,
+         *               or 1 for tracing all the pixels at once
+         * @param listener the listener notified after every pass, or null if none
+         * @return A camera
+         * @throws IllegalArgumentException if the stride isn't a positive power of 2
+         */
+        public Builder setProgressive(int stride, ProgressListener listener) {
+            if (stride <= 0 || Integer.bitCount(stride) != 1)
+                throw new IllegalArgumentException("stride must be a positive power of 2");
+
+            camera.progressiveStride = stride;
+            camera.progressListener = listener;
+            return this;
+        }
+
+        /**
+         * Set whether the image is streamed to its file band by band, for images too big for the memory.
+         * The pixels are kept only for a band of rows as high as a tile (see {@link #setTileSize(int)}),
+         * which is encoded into the file as soon as it is rendered, so the rendering is done
+         * by {@link Camera#writeToImage(String)}, and a grid can't be printed on the image.
+         * @param format the format of the file, or null for keeping the whole image and writing a png file
+         * @return A camera
+         */
+        public Builder setStreaming(ImageFormat format) {
+            camera.streamingFormat = format;
+            return this;
+        }
+
+        /**
+         * Set a checkpoint for the renders, so a render that was interrupted (e.g., a preempted process)
+         * can be resumed: every finished tile is saved in a memory-mapped file in the images directory,
+         * and a render with the same checkpoint restores the finished tiles and renders only the remaining ones.
+         * The checkpoint is deleted once the image is written. It identifies the render, so a changed scene
+         * should get another checkpoint. The pixels of the restored tiles have no cost in the heatmap.
+         * @param name the name of the checkpoint's file, or null for not checkpointing the renders
+         * @return A camera
+         */
+        public Builder setCheckpoint(String name) {
+            camera.checkpoint = name;
+            return this;
+        }
+
+        /**
+         * Set whether a heatmap of the pixels' cost is produced alongside the image, and the cost it shows.
+         * Measuring the cost costs a little rendering time, so no heatmap is produced by default.
+         * @param heatmapType the cost the heatmap shows, or null for not producing a heatmap
+         * @return A camera
+         */
+        public Builder setHeatmap(HeatmapType heatmapType) {
+            camera.heatmapType = heatmapType;
+            return this;
+        }
+
         /**
          * Checking the camera data and intelligizing vector Right
          * @return a clone of intelligized camera
@@ -290,7 +1213,20 @@ public class Camera implements Cloneable {
             if (camera.nY <= 0)
                 throw new MissingResourceException(description, className, "nY");
 
-            camera.imageWriter = new ImageWriter(camera.nX, camera.nY);
+            if (camera.supersamplingDepth > 0 && camera.samplingPattern != null)
+                throw new IllegalArgumentException("Adaptive supersampling can't be combined with a sampling pattern");
+            if (camera.adaptiveMaxSamples > 0 && camera.supersamplingDepth > 0)
+                throw new IllegalArgumentException("Adaptive supersampling can't be combined with adaptive sampling");
+            if (camera.adaptiveMaxSamples > 0 && camera.checkpoint != null)
+                throw new IllegalArgumentException("A checkpoint can't keep the samples of the adaptive sampling");
+            boolean progressive = camera.progressiveStride > 1 || camera.progressListener != null;
+            if (progressive && (camera.streamingFormat != null || camera.checkpoint != null))
+                throw new IllegalArgumentException("A progressive render can't be streamed or checkpointed");
+            if (camera.checkpoint != null && camera.toneMapper != null)
+                throw new IllegalArgumentException("A checkpoint can't keep the high dynamic range of the image");
+            // every built camera has its own image and statistics
+            camera.imageWriter = camera.newImageWriter();
+            camera.statistics = collectStatistics ? new RenderStatistics() : null;
 
             if (camera.rayTracer == null)
                 camera.rayTracer = new SimpleRayTracer(null);
@@ -323,16 +1259,17 @@ public class Camera implements Cloneable {
         }
 
         /**
-         * For now, set rayTracer if the type is simple, otherwise set rayTracer to null
+         * Set the ray tracer according to its type
          * @param scene the scene that will be rendered using this ray tracer
          * @param rayTracerType the type of the rayTracer
          * @return A camera
          */
         public Builder setRayTracer(Scene scene, RayTracerType rayTracerType) {
-            if (rayTracerType == RayTracerType.SIMPLE)
-                camera.rayTracer = new SimpleRayTracer(scene);
-            else
-                camera.rayTracer = null;
+            camera.rayTracer = switch (rayTracerType) {
+                case SIMPLE -> new SimpleRayTracer(scene);
+                case GRID -> new GridRayTracer(scene);
+                case BVH -> new BvhRayTracer(scene);
+            };
             return this;
         }
     }
@@ -0,0 +1,27 @@
+package renderer;
+
+import geometries.RegularGrid;
+import sceneTest.Scene;
+
+/**
+ * GridRayTracer class is a ray tracer that traces the rays through a regular grid
+ * built over the scene's geometries, so each ray is tested only against the geometries on its way.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+public class GridRayTracer extends SimpleRayTracer {
+    /**
+     * Constructs a new GridRayTracer with the given scene.
+     * @param scene the scene that will be rendered using this ray tracer
+     */
+    public GridRayTracer(Scene scene) {
+        super(scene);
+    }
+
+    /**
+     * Builds the grid over the scene's geometries as they are now.
+     */
+    @Override
+    public synchronized void prepare() {
+        geometries = new RegularGrid(scene.geometries);
+    }
+}
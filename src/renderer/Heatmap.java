@@ -0,0 +1,60 @@
+package renderer;
+
+import primitives.Color;
+
+import java.util.Arrays;
+
+/**
+ * Heatmap shows the cost of every pixel of a render by a false-color ramp from black (the cheapest)
+ * through blue, cyan, green, yellow and red to white (the costliest).
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+final class Heatmap {
+    /** Don't let anyone instantiate this class. */
+    private Heatmap() {}
+
+    /**
+     * The fraction of the pixels whose cost is within the color ramp;
+     * the costliest pixels above it get the color of the ramp's top, so a few outliers don't darken the heatmap
+     */
+    private static final double PERCENTILE = 0.99;
+    /**
+     * The colors of the ramp, from the cheapest pixels to the costliest
+     */
+    private static final Color[] RAMP = {
+            Color.BLACK, new Color(0, 0, 255), new Color(0, 255, 255), new Color(0, 255, 0),
+            new Color(255, 255, 0), new Color(255, 0, 0), new Color(255, 255, 255)
+    };
+
+    /**
+     * Produces a png file of the heatmap of the pixels' costs.
+     * @param costs the cost of every pixel, row by row
+     * @param nX the number of pixels in a row
+     * @param nY the number of rows
+     * @param imageName the name of png file
+     */
+    static void write(long[] costs, int nX, int nY, String imageName) {
+        long[] sorted = costs.clone();
+        Arrays.sort(sorted);
+        long min = sorted[0];
+        double range = Math.max(1, sorted[(int) ((sorted.length - 1) * PERCENTILE)] - min);
+
+        ImageWriter heatmapWriter = new ImageWriter(nX, nY);
+        for (int i = 0; i < nY; i++)
+            for (int j = 0; j < nX; j++)
+                heatmapWriter.writePixel(j, i, color(Math.min(1, (costs[i * nX + j] - min) / range)));
+        heatmapWriter.writeToImage(imageName);
+    }
+
+    /**
+     * Maps a cost to the color of the ramp.
+     * @param cost the cost, between 0 (the cheapest) and 1 (the costliest)
+     * @return the color of the cost
+     */
+    private static Color color(double cost) {
+        double position = cost * (RAMP.length - 1);
+        int index = Math.min((int) position, RAMP.length - 2);
+        double fraction = position - index;
+        return RAMP[index].scale(1 - fraction).add(RAMP[index + 1].scale(fraction));
+    }
+}
@@ -0,0 +1,11 @@
+package renderer;
+
+/**
+ * Heatmap types - the cost of a pixel a heatmap shows
+ */
+public enum HeatmapType {
+   /** The number of intersection tests between rays and geometries made for the pixel */
+   INTERSECTION_TESTS,
+   /** The time spent on tracing the pixel's ray, in nanoseconds */
+   TRACE_TIME
+}
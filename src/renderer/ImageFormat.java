@@ -0,0 +1,11 @@
+package renderer;
+
+/**
+ * Image formats - the file formats an image can be streamed in, band by band
+ */
+public enum ImageFormat {
+   /** A compressed PNG image */
+   PNG,
+   /** An uncompressed binary PPM (portable pixmap) image, which needs no encoding */
+   PPM
+}
@@ -0,0 +1,71 @@
+package renderer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ImageWriteQueue writes images in the background, one at a time and in the order they were submitted,
+ * so the rendering thread can go on to the next image while the previous one is encoded and written.
+ * The queue is bounded: submitting an image blocks while the queue holds its capacity of images
+ * (queued or being written), so the memory of the images waiting to be written doesn't grow
+ * when they are rendered faster than they are written.
+ * The writing thread ends when the queue is idle, so it doesn't keep the program alive,
+ * but the program doesn't end before the queued images are written.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+final class ImageWriteQueue {
+    /**
+     * The queue of the cameras' asynchronous image writes
+     */
+    static final ImageWriteQueue SHARED = new ImageWriteQueue(2);
+
+    /**
+     * The free places in the queue
+     */
+    private final Semaphore places;
+    /**
+     * The writing thread
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Constructs a queue of image writes.
+     * @param capacity the number of images the queue holds, queued or being written
+     */
+    ImageWriteQueue(int capacity) {
+        places = new Semaphore(capacity);
+        executor = new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                task -> new Thread(task, "image-writer"));
+    }
+
+    /**
+     * Submits an image write to the queue, waiting for a free place in the queue if it is full.
+     * @param  write the write of the image, which owns the image
+     * @return       the completion of the write, which completes exceptionally if the write fails
+     * @throws IllegalStateException if the calling thread is interrupted while waiting
+     */
+    CompletableFuture<Void> submit(Runnable write) {
+        try {
+            places.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the image writer", e);
+        }
+        try {
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    write.run();
+                } finally {
+                    places.release();
+                }
+            }, executor);
+        } catch (RuntimeException e) {
+            places.release();
+            throw e;
+        }
+    }
+}
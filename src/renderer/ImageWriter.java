@@ -1,9 +1,12 @@
 package renderer;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.*;
-
-import javax.imageio.ImageIO;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import primitives.Color;
 
@@ -24,10 +27,37 @@ final class ImageWriter {
     * Directory path for the image file generation - relative to the user
     * directory
     */
-   private static final String FOLDER_PATH = System.getProperty("user.dir") + "/images";
+   static final String         FOLDER_PATH = System.getProperty("user.dir") + "/images";
+
+   /**
+    * The number of rows the buffers hold - all the rows of the image, or a band of them when the image is
+    * streamed (see {@link #writeBand(StreamingImageWriter)})
+    */
+   private final int           bandHeight;
+   /** The row of the image the buffers begin at */
+   private int                 bandY = 0;
+
+   /**
+    * Image generation buffer (the matrix of the pixels of the band), row by row, with the RGB components
+    * of every pixel packed into an int (0xRRGGBB). Every pixel is written by a single rendering thread,
+    * so the threads write into it directly, without locking.
+    */
+   private final int[] pixels;
+
+   /**
+    * The color component of the printed white - the components of the linear buffer are normalized by it
+    */
+   private static final double WHITE = 255;
 
-   /** Image generation buffer (the matrix of the pixels) */
-   private final BufferedImage image;
+   /**
+    * The linear buffer of the high dynamic range mode: the colors of the pixels, row by row,
+    * 3 normalized RGB components per pixel. Null in the 8-bit mode
+    */
+   private float[] linear = null;
+   /** The tone mapping of the high dynamic range mode */
+   private ToneMapper toneMapper = ToneMapper.CLAMP;
+   /** The gamma of the high dynamic range mode - the tone mapped components are raised to 1 / gamma */
+   private double  gamma = 1;
 
    // ***************** Constructors ********************** //
    /**
@@ -36,10 +66,39 @@ final class ImageWriter {
     * @param nY number of pixels by height
     */
    ImageWriter(int nX, int nY) {
-      this.nX = nX;
-      this.nY = nY;
+      this(nX, nY, nY);
+   }
+
+   /**
+    * Image Writer constructor holding only a band of rows of the image at a time, for streaming it
+    * (see {@link #writeBand(StreamingImageWriter)}), so the memory is bounded by the band's height
+    * rather than by the image's.
+    * @param nX         number of pixels by Width
+    * @param nY         number of pixels by height
+    * @param bandHeight number of rows in a band
+    */
+   ImageWriter(int nX, int nY, int bandHeight) {
+      this.nX         = nX;
+      this.nY         = nY;
+      this.bandHeight = bandHeight;
+
+      pixels          = new int[nX * bandHeight];
+   }
 
-      image   = new BufferedImage(nX, nY, BufferedImage.TYPE_INT_RGB);
+   /**
+    * Turns on the high dynamic range mode: the pixels are kept as linear float RGB components without any
+    * limit, so the colors beyond the white aren't clipped, and they are tone mapped and gamma corrected to 8 bits only when the image is written.
+    * The pixels written before are discarded.
+    * @param toneMapper the tone mapping
+    * @param gamma      the gamma, e.g., 2.2 for sRGB displays, or 1 for no gamma correction
+    * @throws IllegalArgumentException if the tone mapping is missing or the gamma isn't positive
+    */
+   void setToneMapping(ToneMapper toneMapper, double gamma) {
+      if (toneMapper == null || !(gamma > 0))
+         throw new IllegalArgumentException("A tone mapping and a positive gamma are required");
+      this.toneMapper = toneMapper;
+      this.gamma      = gamma;
+      linear          = new float[3 * nX * bandHeight];
    }
 
    // ***************** Getters ********************** //
@@ -55,17 +114,152 @@ final class ImageWriter {
     */
    int nX() { return nX; }
 
+   /**
+    * The number of rows in a band of the image
+    * @return the band's height, the number of vertical pixels if the image isn't streamed
+    */
+   int bandHeight() { return bandHeight; }
+
    // ***************** Operations ******************** //
 
    /**
-    * Function writeToImage produces an unoptimized png file of the image according
-    * to pixel color matrix in the directory of the project
+    * Copies the whole image, e.g., a snapshot of an image that is still being rendered.
+    * @return the copy
+    */
+   ImageWriter copy() {
+      requireWholeImage();
+      ImageWriter copy = new ImageWriter(nX, nY);
+      System.arraycopy(pixels, 0, copy.pixels, 0, pixels.length);
+      if (linear != null) {
+         copy.setToneMapping(toneMapper, gamma);
+         System.arraycopy(linear, 0, copy.linear, 0, linear.length);
+      }
+      return copy;
+   }
+
+   /**
+    * Function writeToImage produces a png file of the image according
+    * to pixel color matrix in the directory of the project.
+    * The image is encoded from the pixel color matrix only here, once all the pixels are written,
+    * by compressing strips of it in parallel (see {@link PngEncoder})
     * @param imageName the name of png file
     */
    void writeToImage(String imageName) {
+      requireWholeImage();
+      RenderEvents.WriteImage event = new RenderEvents.WriteImage();
+      event.begin();
       try {
          File file = new File(FOLDER_PATH + '/' + imageName + ".png");
-         ImageIO.write(image, "png", file);
+         try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            PngEncoder.write(out, packedPixels(), nX, nY);
+         }
+         if (event.shouldCommit()) {
+            event.imageName = imageName;
+            event.width = nX;
+            event.height = nY;
+            event.bytes = file.length();
+            event.commit();
+         }
+      } catch (IOException e) {
+         throw new IllegalStateException("I/O error - may be missing directory " + FOLDER_PATH, e);
+      }
+   }
+
+   /**
+    * Creates an image of the pixel color matrix.
+    * @return the image
+    */
+   BufferedImage toImage() {
+      BufferedImage image = new BufferedImage(nX, nY, BufferedImage.TYPE_INT_RGB);
+      // the image's buffer has the same layout as the matrix (packed RGB, row by row)
+      int[] data = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+      System.arraycopy(packedPixels(), 0, data, 0, data.length);
+      return image;
+   }
+
+   /**
+    * Gets the packed RGB components of the image's pixels, tone mapped if the high dynamic range mode is on.
+    * @return the pixels, row by row (0xRRGGBB)
+    */
+   private int[] packedPixels() {
+      requireWholeImage();
+      if (linear == null) return pixels;
+      int[] mapped = new int[nX * nY];
+      for (int pixel = 0; pixel < mapped.length; ++pixel)
+         mapped[pixel] = toneMap(pixel);
+      return mapped;
+   }
+
+   /**
+    * Checks that the buffers hold the whole image, not only a band of it.
+    * @throws IllegalStateException if the image is streamed band by band
+    */
+   private void requireWholeImage() {
+      if (bandHeight < nY)
+         throw new IllegalStateException("The image is streamed band by band");
+   }
+
+   /**
+    * Starts a new band of rows: the pixels written from now on belong to the band, and the pixels of the
+    * previous band are discarded.
+    * @param y the first row of the band
+    */
+   void startBand(int y) {
+      bandY = y;
+      Arrays.fill(pixels, 0);
+      if (linear != null)
+         Arrays.fill(linear, 0);
+   }
+
+   /**
+    * Writes the rows of the current band to a streamed image file, tone mapped if the high dynamic range
+    * mode is on.
+    * @param out the file of the image
+    */
+   void writeBand(StreamingImageWriter out) {
+      int rows = Math.min(bandHeight, nY - bandY);
+      if (linear != null)
+         for (int pixel = 0; pixel < rows * nX; ++pixel)
+            pixels[pixel] = toneMap(pixel);
+      out.writeRows(pixels, rows);
+   }
+
+   /**
+    * Tone maps and gamma corrects a pixel of the linear buffer.
+    * @param  pixel the index of the pixel, row by row
+    * @return       the packed RGB components of the pixel (0xRRGGBB)
+    */
+   private int toneMap(int pixel) {
+      int rgb = 0;
+      for (int component = 3 * pixel; component < 3 * pixel + 3; ++component) {
+         double mapped = Math.pow(toneMapper.map(linear[component]), 1 / gamma);
+         rgb = rgb << 8 | (int) Math.min(255, Math.max(0, mapped * 255 + 0.5));
+      }
+      return rgb;
+   }
+
+   /**
+    * Function writePfm produces a PFM (portable float map) file of the linear buffer, without tone mapping,
+    * in the directory of the project. The components are normalized - 1 is the printed white
+    * @param  imageName the name of the pfm file
+    * @throws IllegalStateException if the high dynamic range mode is off, or on an I/O error
+    */
+   void writePfm(String imageName) {
+      if (linear == null)
+         throw new IllegalStateException("The high dynamic range mode is off");
+      requireWholeImage();
+      File file = new File(FOLDER_PATH + '/' + imageName + ".pfm");
+      try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+         // a negative scale means little-endian floats; the rows are written from the bottom up
+         out.write(("PF\n" + nX + " " + nY + "\n-1.0\n").getBytes(StandardCharsets.US_ASCII));
+         ByteBuffer row = ByteBuffer.allocate(12 * nX).order(ByteOrder.LITTLE_ENDIAN);
+         for (int y = nY - 1; y >= 0; --y) {
+            row.clear();
+            for (int pixel = y * nX; pixel < (y + 1) * nX; ++pixel)
+               for (int component = 3 * pixel; component < 3 * pixel + 3; ++component)
+                  row.putFloat(linear[component]);
+            out.write(row.array());
+         }
       } catch (IOException e) {
          throw new IllegalStateException("I/O error - may be missing directory " + FOLDER_PATH, e);
       }
@@ -73,11 +267,41 @@ final class ImageWriter {
 
    /**
     * The function writePixel writes a color of a specific pixel into pixel color
-    * matrix
+    * matrix. The method may be called concurrently by rendering threads, for different pixels.
+    * If the image is streamed, the pixel must be in the current band.
     * @param xIndex X-axis index of the pixel
     * @param yIndex Y-axis index of the pixel
     * @param color  final color of the pixel
     */
-   void writePixel(int xIndex, int yIndex, Color color) { image.setRGB(xIndex, yIndex, color.getColor().getRGB()); }
+   void writePixel(int xIndex, int yIndex, Color color) {
+      if (linear == null)
+         pixels[(yIndex - bandY) * nX + xIndex] = color.getRGB();
+      else {
+         int component = 3 * ((yIndex - bandY) * nX + xIndex);
+         linear[component]     = (float) (color.getRgb().d1() / WHITE);
+         linear[component + 1] = (float) (color.getRgb().d2() / WHITE);
+         linear[component + 2] = (float) (color.getRgb().d3() / WHITE);
+      }
+   }
+
+   /**
+    * Reads the packed RGB components of a pixel of the 8-bit image.
+    * @param  xIndex X-axis index of the pixel
+    * @param  yIndex Y-axis index of the pixel, in the current band if the image is streamed
+    * @return        the packed RGB components of the pixel (0xRRGGBB)
+    */
+   int readRGB(int xIndex, int yIndex) {
+      return pixels[(yIndex - bandY) * nX + xIndex];
+   }
+
+   /**
+    * Writes the packed RGB components of a pixel of the 8-bit image, e.g., a pixel restored from a checkpoint.
+    * @param xIndex X-axis index of the pixel
+    * @param yIndex Y-axis index of the pixel, in the current band if the image is streamed
+    * @param rgb    the packed RGB components of the pixel (0xRRGGBB)
+    */
+   void writeRGB(int xIndex, int yIndex, int rgb) {
+      pixels[(yIndex - bandY) * nX + xIndex] = rgb;
+   }
 
 }
@@ -0,0 +1,57 @@
+package renderer;
+
+import primitives.Color;
+
+/**
+ * PatternSampler samples a tile's pixels by a sampling pattern: the color of a pixel is the mean of its samples,
+ * whose positions are generated by the tile's own sampler (see {@link PixelSampler}).
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+final class PatternSampler implements PixelTracer {
+    /**
+     * The generator of the samples' positions
+     */
+    private final PixelSampler sampler;
+    /**
+     * The number of samples in a pixel
+     */
+    private final int samples;
+    /**
+     * The number of pixels in a row of the image
+     */
+    private final int nX;
+    /**
+     * The tracing of the samples' rays
+     */
+    private final RayCaster caster;
+    /**
+     * The position of the current sample
+     */
+    private final double[] offset = new double[2];
+
+    /**
+     * Constructs the sampler of a tile.
+     * @param pattern the sampling pattern
+     * @param samples the number of samples in a pixel
+     * @param seed the seed of the pattern's randomness
+     * @param nX the number of pixels in a row of the image
+     * @param caster the tracing of the samples' rays
+     */
+    PatternSampler(SamplingPattern pattern, int samples, long seed, int nX, RayCaster caster) {
+        this.sampler = new PixelSampler(pattern, samples, seed);
+        this.samples = samples;
+        this.nX = nX;
+        this.caster = caster;
+    }
+
+    @Override
+    public Color pixel(int i, int j) {
+        sampler.startPixel((long) i * nX + j);
+        Color sum = Color.BLACK;
+        for (int k = 0; k < samples; ++k) {
+            sampler.sample(k, offset);
+            sum = sum.add(caster.cast(j + offset[0], i + offset[1]));
+        }
+        return sum.reduce(samples);
+    }
+}
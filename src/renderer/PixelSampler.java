@@ -0,0 +1,154 @@
+package renderer;
+
+/**
+ * PixelSampler generates the positions of the samples within a pixel by a sampling pattern.
+ * Every tile gets its own sampler, so the rendering threads don't contend on a shared generator,
+ * and the randomness of every sample is derived from the seed, the pixel's index and the sample's index only,
+ * so a render is reproducible regardless of its threads and tiles, and more samples can be added to a pixel later
+ * by continuing its sequence.
+ * The quasi-Monte Carlo sequences are randomized per pixel (a random shift of the Halton sequence
+ * and a random digital scramble of the Sobol sequence), so neighboring pixels don't repeat the same pattern.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+final class PixelSampler {
+    /**
+     * The scale of a 32-bit fraction
+     */
+    private static final double FRACTION = 0x1p-32;
+    /**
+     * The increment of the keys of a pixel's samples (the golden ratio as a 64-bit fraction)
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The sampling pattern
+     */
+    private final SamplingPattern pattern;
+    /**
+     * The number of samples in a pixel
+     */
+    private final int samples;
+    /**
+     * The seed of the render
+     */
+    private final long seed;
+    /**
+     * The number of strata in a row of the jittering's grid
+     */
+    private final int strataX;
+    /**
+     * The number of strata in a column of the jittering's grid
+     */
+    private final int strataY;
+
+    /**
+     * The random key of the current pixel
+     */
+    private long key;
+    /**
+     * The random horizontal shift or scramble of the current pixel
+     */
+    private long scrambleX;
+    /**
+     * The random vertical shift or scramble of the current pixel
+     */
+    private long scrambleY;
+
+    /**
+     * Constructs a sampler.
+     * @param pattern the sampling pattern
+     * @param samples the number of samples in a pixel
+     * @param seed    the seed of the render
+     */
+    PixelSampler(SamplingPattern pattern, int samples, long seed) {
+        this.pattern = pattern;
+        this.samples = samples;
+        this.seed = seed;
+        strataX = (int) Math.ceil(Math.sqrt(samples));
+        strataY = (samples + strataX - 1) / strataX;
+    }
+
+    /**
+     * Starts the samples of a pixel.
+     * @param pixel the index of the pixel in the image, row by row
+     */
+    void startPixel(long pixel) {
+        key = mix(seed + mix(pixel));
+        long scramble = mix(key);
+        scrambleX = scramble >>> 32;
+        scrambleY = scramble & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Gets the position of a sample within the current pixel.
+     * @param k      the index of the sample; the jittering's strata are repeated every number of samples
+     * @param offset the array the position is put into: the horizontal offset from the pixel's left edge,
+     *               then the vertical offset from its top edge, both between 0 (inclusive) and 1 (exclusive)
+     */
+    void sample(int k, double[] offset) {
+        switch (pattern) {
+            case JITTERED -> {
+                int stratum = k % (strataX * strataY);
+                long jitter = mix(key + (k + 1) * GOLDEN_GAMMA);
+                offset[0] = (stratum % strataX + (jitter >>> 32) * FRACTION) / strataX;
+                offset[1] = (stratum / strataX + (jitter & 0xFFFFFFFFL) * FRACTION) / strataY;
+            }
+            case HALTON -> {
+                offset[0] = shift(radicalInverse(k, 2), scrambleX);
+                offset[1] = shift(radicalInverse(k, 3), scrambleY);
+            }
+            case SOBOL -> {
+                offset[0] = ((Integer.reverse(k) & 0xFFFFFFFFL) ^ scrambleX) * FRACTION;
+                offset[1] = ((sobol2(k) & 0xFFFFFFFFL) ^ scrambleY) * FRACTION;
+            }
+        }
+    }
+
+    /**
+     * Calculates the radical inverse of an index: its digits in a base, mirrored around the radix point.
+     * @param  k    the index
+     * @param  base the base
+     * @return      the radical inverse, between 0 (inclusive) and 1 (exclusive)
+     */
+    static double radicalInverse(int k, int base) {
+        double inverse = 0, digitValue = 1d / base;
+        for (; k > 0; k /= base, digitValue /= base)
+            inverse += k % base * digitValue;
+        return inverse;
+    }
+
+    /**
+     * Calculates the second dimension of the Sobol sequence (the first is the base 2 radical inverse).
+     * @param  k the index
+     * @return   the value as a 32-bit fraction
+     */
+    static int sobol2(int k) {
+        int value = 0;
+        for (int v = 1 << 31; k != 0; k >>>= 1, v ^= v >>> 1)
+            if ((k & 1) != 0)
+                value ^= v;
+        return value;
+    }
+
+    /**
+     * Shifts a value by a random fraction, wrapping around 1 (a Cranley-Patterson rotation).
+     * @param  value    the value, between 0 (inclusive) and 1 (exclusive)
+     * @param  fraction the shift as a 32-bit fraction
+     * @return          the shifted value, between 0 (inclusive) and 1 (exclusive)
+     */
+    private static double shift(double value, long fraction) {
+        double shifted = value + fraction * FRACTION;
+        return shifted >= 1 ? shifted - 1 : shifted;
+    }
+
+    /**
+     * Mixes the bits of a value, so near values get unrelated results (the finalizer of SplitMix64).
+     * @param  z the value
+     * @return   the mixed value
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
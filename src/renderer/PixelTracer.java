@@ -0,0 +1,38 @@
+package renderer;
+
+import primitives.Color;
+
+/**
+ * PixelTracer is the sampling of the pixels of a tile by several rays. Every tile gets its own,
+ * so a tracer may keep the state of its tile (e.g., the samples its pixels share) without locking.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+interface PixelTracer {
+    /**
+     * The tracing of a ray from the camera through a point of the view plane
+     */
+    @FunctionalInterface
+    interface RayCaster {
+        /**
+         * Traces the ray from the camera through a point of the view plane.
+         * @param u the point's horizontal distance from the view plane's left edge, in pixels
+         * @param v the point's vertical distance from the view plane's top edge, in pixels
+         * @return the color of the ray
+         */
+        Color cast(double u, double v);
+    }
+
+    /**
+     * Calculates the color of a pixel.
+     * @param i the pixel's row number
+     * @param j the pixel's column number
+     * @return the color of the pixel
+     */
+    Color pixel(int i, int j);
+
+    /**
+     * Notifies that a row of pixels of the tile is done.
+     * @param i the row's number
+     */
+    default void endRow(int i) {}
+}
@@ -0,0 +1,333 @@
+package renderer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * PngEncoder encodes RGB images as PNG files, compressing horizontal strips of the image in parallel.
+ * Every strip is filtered and deflated independently into its own IDAT chunk, as raw deflate blocks that end
+ * on a byte boundary (a sync flush), so the strips concatenate into a single zlib stream. A strip is primed with
+ * the end of the previous strip as its dictionary, so splitting barely costs any compression,
+ * and the zlib stream's checksum is combined from the strips' checksums.
+ * It also has the building blocks of the PNG format for encoding an image row by row
+ * (see {@link StreamingImageWriter}).
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+final class PngEncoder {
+    /** Don't let anyone instantiate this class. */
+    private PngEncoder() {}
+
+    /**
+     * The signature at the beginning of every PNG file
+     */
+    private static final byte[] SIGNATURE = { (byte) 137, 'P', 'N', 'G', '\r', '\n', 26, '\n' };
+    /**
+     * The header of the zlib stream: deflate with a 32K window, default compression, no preset dictionary
+     */
+    private static final byte[] ZLIB_HEADER = { 0x78, (byte) 0x9C };
+    /**
+     * The size of the deflate window, the longest dictionary of a strip
+     */
+    private static final int WINDOW_SIZE = 1 << 15;
+    /**
+     * The approximate number of uncompressed bytes in a strip
+     */
+    private static final int STRIP_SIZE = 1 << 20;
+    /**
+     * The modulus of the Adler-32 checksum
+     */
+    private static final long ADLER_BASE = 65521;
+
+    /**
+     * A compressed strip of the image.
+     * @param data  the compressed data
+     * @param crc   the checksum of the strip's IDAT chunk
+     * @param adler the Adler-32 checksum of the strip's uncompressed data
+     * @param size  the length of the strip's uncompressed data
+     */
+    private record Strip(byte[] data, int crc, int adler, long size) {}
+
+    /**
+     * Encodes an image as a PNG file, compressing its strips in parallel in the common fork-join pool.
+     * @param  out    the stream of the file
+     * @param  pixels the pixels of the image, row by row, with the RGB components of every pixel packed into
+     *                an int (0xRRGGBB)
+     * @param  nX     the number of pixels in a row of the image
+     * @param  nY     the number of rows of the image
+     * @throws IOException on an I/O error
+     */
+    static void write(OutputStream out, int[] pixels, int nX, int nY) throws IOException {
+        int rowsPerStrip = Math.max(1, STRIP_SIZE / (1 + 3 * nX));
+        int strips = (nY + rowsPerStrip - 1) / rowsPerStrip;
+        List<ForkJoinTask<Strip>> tasks = new ArrayList<>(strips);
+        for (int strip = 0; strip < strips; ++strip) {
+            int from = strip * rowsPerStrip, to = Math.min(nY, from + rowsPerStrip);
+            tasks.add(ForkJoinPool.commonPool().submit(() -> deflateStrip(pixels, nX, from, to, to == nY)));
+        }
+
+        writeHeader(out, nX, nY);
+        // the strips are written in order as soon as each is compressed, while the next ones are compressed
+        long adler = 1;
+        for (int i = 0; i < strips; ++i) {
+            Strip strip = tasks.get(i).join();
+            writeChunk(out, "IDAT", strip.data(), strip.data().length, strip.crc());
+            adler = i == 0 ? strip.adler() : combineAdler32(adler, strip.adler(), strip.size());
+        }
+        byte[] trailer = new byte[4];
+        putInt(trailer, 0, (int) adler);
+        writeChunk(out, "IDAT", trailer, trailer.length);
+        writeChunk(out, "IEND", trailer, 0);
+    }
+
+    /**
+     * Filters and compresses a strip of the image.
+     * @param  pixels the pixels of the image
+     * @param  nX     the number of pixels in a row of the image
+     * @param  from   the first row of the strip (inclusive)
+     * @param  to     the last row of the strip (exclusive)
+     * @param  last   whether it is the last strip, which ends the deflate stream
+     * @return        the compressed strip
+     */
+    private static Strip deflateStrip(int[] pixels, int nX, int from, int to, boolean last) {
+        byte[] raw = filterRows(pixels, nX, from, to);
+        Adler32 adler = new Adler32();
+        adler.update(raw);
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            if (from > 0) {
+                // the previous strip's end is the window of the decoder, so it primes the compressor
+                int rows = Math.min(from, (WINDOW_SIZE + 3 * nX) / (1 + 3 * nX));
+                byte[] previous = filterRows(pixels, nX, from - rows, from);
+                int length = Math.min(WINDOW_SIZE, previous.length);
+                deflater.setDictionary(previous, previous.length - length, length);
+            }
+            deflater.setInput(raw);
+            if (last)
+                deflater.finish();
+
+            // the chunk's type and the zlib header precede the data, so the chunk's checksum covers them
+            byte[] data = new byte[Math.max(64, raw.length / 2)];
+            putChunkType(data, 0, "IDAT");
+            int length = 4;
+            if (from == 0) {
+                data[length++] = ZLIB_HEADER[0];
+                data[length++] = ZLIB_HEADER[1];
+            }
+            while (true) {
+                if (length == data.length)
+                    data = Arrays.copyOf(data, 2 * data.length);
+                int space = data.length - length;
+                int count = deflater.deflate(data, length, space, last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+                length += count;
+                if (last ? deflater.finished() : count < space)
+                    break;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, length);
+            return new Strip(Arrays.copyOfRange(data, 4, length), (int) crc.getValue(), (int) adler.getValue(),
+                    raw.length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Filters rows of the image as the PNG image data: every row is its filter type followed by
+     * its filtered RGB components.
+     * @param  pixels the pixels of the image
+     * @param  nX     the number of pixels in a row of the image
+     * @param  from   the first row (inclusive)
+     * @param  to     the last row (exclusive)
+     * @return        the filtered rows
+     */
+    private static byte[] filterRows(int[] pixels, int nX, int from, int to) {
+        int rowLength = 1 + 3 * nX;
+        byte[] filtered = new byte[(to - from) * rowLength];
+        byte[] previous = new byte[3 * nX], current = new byte[3 * nX];
+        if (from > 0)
+            unpackRow(pixels, (from - 1) * nX, previous);
+        for (int y = from; y < to; ++y) {
+            unpackRow(pixels, y * nX, current);
+            filterRow(previous, current, filtered, (y - from) * rowLength);
+            byte[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return filtered;
+    }
+
+    /**
+     * Unpacks a row of pixels into RGB components.
+     * @param pixels the pixels, with the RGB components of every pixel packed into an int (0xRRGGBB)
+     * @param offset the index of the row's first pixel
+     * @param row    the components of the row
+     */
+    static void unpackRow(int[] pixels, int offset, byte[] row) {
+        for (int component = 0, pixel = offset; component < row.length; ++pixel) {
+            int rgb = pixels[pixel];
+            row[component++] = (byte) (rgb >> 16);
+            row[component++] = (byte) (rgb >> 8);
+            row[component++] = (byte) rgb;
+        }
+    }
+
+    /**
+     * Filters a row of RGB components by the filter type that is likely to compress it best:
+     * the type whose filtered bytes have the smallest sum of absolute values, as the PNG specification suggests.
+     * @param previous the components of the previous row, zeros for the first row
+     * @param current  the components of the row
+     * @param out      the array the filter type and the filtered components are put into
+     * @param offset   the index in the array of the filter type
+     */
+    static void filterRow(byte[] previous, byte[] current, byte[] out, int offset) {
+        int bestType = 0;
+        long bestSum = Long.MAX_VALUE;
+        for (int type = 0; type < 5; ++type) {
+            long sum = 0;
+            for (int i = 0; i < current.length && sum < bestSum; ++i)
+                sum += Math.abs(filter(type, previous, current, i));
+            if (sum < bestSum) {
+                bestSum = sum;
+                bestType = type;
+            }
+        }
+
+        out[offset] = (byte) bestType;
+        for (int i = 0; i < current.length; ++i)
+            out[offset + 1 + i] = filter(bestType, previous, current, i);
+    }
+
+    /**
+     * Filters a component of a row.
+     * @param  type     the filter type: 0 - none, 1 - sub, 2 - up, 3 - average, 4 - Paeth
+     * @param  previous the components of the previous row
+     * @param  current  the components of the row
+     * @param  i        the index of the component
+     * @return          the filtered component
+     */
+    private static byte filter(int type, byte[] previous, byte[] current, int i) {
+        int x = current[i] & 0xFF;
+        int a = i >= 3 ? current[i - 3] & 0xFF : 0; // the same component of the left pixel
+        int b = previous[i] & 0xFF;
+        return (byte) switch (type) {
+            case 0 -> x;
+            case 1 -> x - a;
+            case 2 -> x - b;
+            case 3 -> x - (a + b) / 2;
+            default -> {
+                int c = i >= 3 ? previous[i - 3] & 0xFF : 0;
+                int p = a + b - c, pa = Math.abs(p - a), pb = Math.abs(p - b), pc = Math.abs(p - c);
+                yield x - (pa <= pb && pa <= pc ? a : pb <= pc ? b : c);
+            }
+        };
+    }
+
+    /**
+     * Combines the Adler-32 checksums of two consecutive blocks of data into the checksum of both,
+     * as zlib's adler32_combine does.
+     * @param  adler1 the checksum of the first block
+     * @param  adler2 the checksum of the second block
+     * @param  length the length of the second block
+     * @return        the checksum of the first block followed by the second
+     */
+    static long combineAdler32(long adler1, long adler2, long length) {
+        long remainder = length % ADLER_BASE;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = remainder * sum1 % ADLER_BASE;
+        sum1 += (adler2 & 0xFFFF) + ADLER_BASE - 1;
+        sum2 += (adler1 >>> 16 & 0xFFFF) + (adler2 >>> 16 & 0xFFFF) + ADLER_BASE - remainder;
+        if (sum1 >= ADLER_BASE) sum1 -= ADLER_BASE;
+        if (sum1 >= ADLER_BASE) sum1 -= ADLER_BASE;
+        if (sum2 >= ADLER_BASE << 1) sum2 -= ADLER_BASE << 1;
+        if (sum2 >= ADLER_BASE) sum2 -= ADLER_BASE;
+        return sum1 | sum2 << 16;
+    }
+
+    /**
+     * Writes the signature and the header chunk of an 8-bit RGB PNG image.
+     * @param  out the stream of the file
+     * @param  nX  the number of pixels in a row of the image
+     * @param  nY  the number of rows of the image
+     * @throws IOException on an I/O error
+     */
+    static void writeHeader(OutputStream out, int nX, int nY) throws IOException {
+        out.write(SIGNATURE);
+        // 8 bits per component, RGB, deflate compression, adaptive filtering, no interlace
+        byte[] header = { 0, 0, 0, 0, 0, 0, 0, 0, 8, 2, 0, 0, 0 };
+        putInt(header, 0, nX);
+        putInt(header, 4, nY);
+        writeChunk(out, "IHDR", header, header.length);
+    }
+
+    /**
+     * Writes a PNG chunk: its length, type, data and checksum.
+     * @param  out    the stream of the file
+     * @param  type   the type of the chunk
+     * @param  data   the data of the chunk
+     * @param  length the length of the data
+     * @throws IOException on an I/O error
+     */
+    static void writeChunk(OutputStream out, String type, byte[] data, int length) throws IOException {
+        byte[] name = new byte[4];
+        putChunkType(name, 0, type);
+        CRC32 crc = new CRC32();
+        crc.update(name);
+        crc.update(data, 0, length);
+        writeChunk(out, type, data, length, (int) crc.getValue());
+    }
+
+    /**
+     * Writes a PNG chunk whose checksum was already calculated.
+     * @param  out    the stream of the file
+     * @param  type   the type of the chunk
+     * @param  data   the data of the chunk
+     * @param  length the length of the data
+     * @param  crc    the checksum of the chunk's type and data
+     * @throws IOException on an I/O error
+     */
+    private static void writeChunk(OutputStream out, String type, byte[] data, int length, int crc)
+            throws IOException {
+        byte[] prefix = new byte[8];
+        putInt(prefix, 0, length);
+        putChunkType(prefix, 4, type);
+        out.write(prefix);
+        out.write(data, 0, length);
+        byte[] checksum = new byte[4];
+        putInt(checksum, 0, crc);
+        out.write(checksum);
+    }
+
+    /**
+     * Puts the type of a chunk in a byte array.
+     * @param bytes  the array
+     * @param offset the index of the type's first byte
+     * @param type   the type of the chunk
+     */
+    private static void putChunkType(byte[] bytes, int offset, String type) {
+        for (int i = 0; i < 4; ++i)
+            bytes[offset + i] = (byte) type.charAt(i);
+    }
+
+    /**
+     * Puts an int in a byte array in big-endian order, the order of the PNG format.
+     * @param bytes  the array
+     * @param offset the index of the int's first byte
+     * @param value  the int
+     */
+    static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset]     = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+}
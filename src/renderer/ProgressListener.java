@@ -0,0 +1,21 @@
+package renderer;
+
+/**
+ * The ProgressListener interface is notified after every pass of a progressive render
+ * (see {@link Camera.Builder#setProgressive(int, ProgressListener)}), when the camera's image holds
+ * the accumulated result of the passes so far, e.g., for writing a preview of it
+ * by {@link Camera#writeToImage(String)} or {@link Camera#writeToImageAsync(String)}.
+ * It is notified on the rendering thread, between the passes, so the image doesn't change meanwhile.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+    /**
+     * Notifies that a pass of the render is done.
+     * @param camera the rendering camera
+     * @param pass   the number of the pass, from 1
+     * @param stride the distance in pixels between the pixels traced by the pass, 1 once all the pixels are traced
+     * @return true for continuing the render, false for stopping it with the image as it is
+     */
+    boolean passDone(Camera camera, int pass, int stride);
+}
@@ -14,6 +14,19 @@ public abstract class RayTracerBase {
      */
     protected final Scene scene;
 
+    /**
+     * The statistics each rendering thread counts its work in. They belong to the thread's render and not to
+     * the ray tracer, so the cameras that share a ray tracer count in their own statistics.
+     */
+    private final ThreadLocal<RenderStatistics> statistics = new ThreadLocal<>();
+
+    /**
+     * Whether statistics were ever set. Until then, the work doesn't look up its thread's statistics,
+     * so counting costs nothing when it isn't used. It is a plain field: the statistics are set for the current
+     * thread, which always sees its own write, and the other threads only need the flag for skipping the look-up.
+     */
+    private boolean statisticsSet = false;
+
     /**
      * Constructs a ray tracer with a given scene.
      * @param scene the scene that will be rendered
@@ -22,8 +35,42 @@ public abstract class RayTracerBase {
         this.scene = scene;
     }
 
+    /**
+     * Sets the statistics the rendering work of the current thread is counted in.
+     * The camera sets them for every tile it renders, and clears them once the tile is done.
+     * @param statistics the statistics, or null for not counting the thread's work
+     */
+    public void setStatistics(RenderStatistics statistics) {
+        if (statistics == null)
+            this.statistics.remove();
+        else {
+            statisticsSet = true;
+            this.statistics.set(statistics);
+        }
+    }
+
+    /**
+     * Gets the statistics the rendering work of the current thread is counted in.
+     * @return the statistics, or null if the thread's work isn't counted
+     */
+    protected RenderStatistics statistics() {
+        return statisticsSet ? statistics.get() : null;
+    }
+
+    /**
+     * Prepares the ray tracer for rendering the scene in its current state,
+     * e.g., builds acceleration structures over the scene's geometries.
+     * The camera calls this method once before rendering an image. The cameras that share a ray tracer may
+     * prepare it while another one renders, so an implementation builds a single structure at a time and
+     * replaces the previous one at once.
+     */
+    public void prepare() {
+    }
+
     /**
      * Traces a given ray through the scene and calculates the color seen along the ray.
+     * The camera may call this method from several threads at once when rendering in parallel,
+     * so implementations must not keep any per-ray state in fields.
      * @param ray the ray from the camera through a pixel
      * @return the color resulting from the ray's interaction with the scene
      */
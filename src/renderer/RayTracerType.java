@@ -7,5 +7,7 @@ public enum RayTracerType {
    /** Simple (basic) ray tracer */
    SIMPLE,
    /** Ray tracer using regular grid */
-   GRID
+   GRID,
+   /** Ray tracer using bounding volume hierarchy */
+   BVH
 }
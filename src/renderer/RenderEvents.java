@@ -0,0 +1,114 @@
+package renderer;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * RenderEvents holds the Java Flight Recorder events of the rendering phases, so a recording shows
+ * the phases of a render (preparing the ray tracer, rendering every tile, writing the image) instead of
+ * one long render. The events are disabled unless a recording enables them, and a disabled event costs
+ * only the creation of the event object, so they are emitted always.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+final class RenderEvents {
+    /** Don't let anyone instantiate this class. */
+    private RenderEvents() {}
+
+    /**
+     * The rendering of a whole image by {@link Camera#renderImage()}
+     */
+    @Name("renderer.Render")
+    @Label("Render")
+    @Category({ "Ray Tracer" })
+    @Description("Rendering of a whole image")
+    @StackTrace(false)
+    static final class Render extends Event {
+        /** The number of pixel columns */
+        @Label("Width")
+        int width;
+        /** The number of pixel rows */
+        @Label("Height")
+        int height;
+        /** The number of rendering threads, 0 for the calling thread only */
+        @Label("Threads")
+        int threads;
+        /** The number of tiles the image was split into */
+        @Label("Tiles")
+        int tiles;
+    }
+
+    /**
+     * The preparation of the ray tracer for rendering, e.g., building the acceleration structure
+     */
+    @Name("renderer.Prepare")
+    @Label("Prepare Ray Tracer")
+    @Category({ "Ray Tracer" })
+    @Description("Preparation of the ray tracer, e.g., building the acceleration structure")
+    @StackTrace(false)
+    static final class Prepare extends Event {
+        /** The class of the ray tracer */
+        @Label("Ray Tracer")
+        String rayTracer;
+        /** The number of geometries in the scene */
+        @Label("Primitives")
+        int primitives;
+    }
+
+    /**
+     * The rendering of a tile of the image
+     */
+    @Name("renderer.Tile")
+    @Label("Render Tile")
+    @Category({ "Ray Tracer" })
+    @Description("Rendering of a tile of the image")
+    @StackTrace(false)
+    static final class RenderTile extends Event {
+        /** The column of the tile's top-left pixel */
+        @Label("X")
+        int x;
+        /** The row of the tile's top-left pixel */
+        @Label("Y")
+        int y;
+        /** The number of pixel columns in the tile */
+        @Label("Width")
+        int width;
+        /** The number of pixel rows in the tile */
+        @Label("Height")
+        int height;
+        /** The number of rays of all the types traced for the tile (primary, shadow, reflection and refraction) */
+        @Label("Rays")
+        long rays;
+        /** The number of intersection tests between rays and geometries made for the tile */
+        @Label("Intersection Tests")
+        long intersectionTests;
+    }
+
+    /**
+     * The writing of an image file by {@link ImageWriter#writeToImage(String)}
+     */
+    @Name("renderer.WriteImage")
+    @Label("Write Image")
+    @Category({ "Ray Tracer" })
+    @Description("Writing of an image file")
+    @StackTrace(false)
+    static final class WriteImage extends Event {
+        /** The name of the image file */
+        @Label("Image Name")
+        String imageName;
+        /** The number of pixel columns */
+        @Label("Width")
+        int width;
+        /** The number of pixel rows */
+        @Label("Height")
+        int height;
+        /** The size of the written file */
+        @Label("File Size")
+        @DataAmount
+        long bytes;
+    }
+}
@@ -0,0 +1,215 @@
+package renderer;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RenderJob is the handle of a render running in the background (see {@link Camera#startRender()}):
+ * it reports the progress of the render - the pixels and tiles done, the rate of the rays from the camera
+ * and the estimated time remaining - and it can cancel the render.
+ * The rendering threads count in striped counters, which are summed only when the progress is read,
+ * so polling the job doesn't slow the render.
+ * The cancellation is cooperative: the rendering threads stop before their next row of pixels, and the tiles
+ * they didn't finish are discarded by a checkpoint (see {@link Camera.Builder#setCheckpoint(String)}),
+ * so a cancelled render can be resumed. The pixels rendered before the cancellation stay in the camera's image.
+ * The camera must not be used until the job is done, and another render of it is rejected meanwhile.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+public final class RenderJob {
+    /**
+     * The number of pixels of the image
+     */
+    private final long totalPixels;
+    /**
+     * The number of pixels traced (for the first time) or restored so far
+     */
+    private final LongAdder pixels = new LongAdder();
+    /**
+     * The number of tiles done so far, in all the passes
+     */
+    private final LongAdder tiles = new LongAdder();
+    /**
+     * The number of rays from the camera traced so far
+     */
+    private final LongAdder rays = new LongAdder();
+    /**
+     * The time (of {@link System#nanoTime()}) the render started
+     */
+    private final long start = System.nanoTime();
+    /**
+     * The time (of {@link System#nanoTime()}) the render ended, 0 while it is running
+     */
+    private volatile long end = 0;
+    /**
+     * Whether the render was requested to stop
+     */
+    private volatile boolean cancelled = false;
+    /**
+     * The completion of the render
+     */
+    private final CompletableFuture<Camera> completion = new CompletableFuture<>();
+
+    /**
+     * Constructs the job of a render.
+     * @param totalPixels the number of pixels of the image
+     */
+    RenderJob(long totalPixels) {
+        this.totalPixels = totalPixels;
+    }
+
+    /**
+     * Counts the pixels traced for the first time, or restored from a checkpoint.
+     * @param count the number of pixels
+     */
+    void pixelsDone(int count) {
+        pixels.add(count);
+    }
+
+    /**
+     * Counts a tile that is done.
+     */
+    void tileDone() {
+        tiles.increment();
+    }
+
+    /**
+     * Counts a ray from the camera.
+     */
+    void rayTraced() {
+        rays.increment();
+    }
+
+    /**
+     * Ends the job.
+     * @param camera the rendering camera
+     * @param error  the failure of the render, or null if it didn't fail
+     */
+    void finish(Camera camera, Throwable error) {
+        end = System.nanoTime();
+        if (error == null)
+            completion.complete(camera);
+        else
+            completion.completeExceptionally(error);
+    }
+
+    /**
+     * Requests the render to stop. The rendering threads stop before their next row of pixels.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks whether the render was requested to stop.
+     * @return true if the job was cancelled, false otherwise
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Checks whether the render ended, either done, cancelled or failed.
+     * @return true if the render ended, false if it is running
+     */
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * Waits for the render to end.
+     * @return the rendering camera, whose image holds the pixels rendered so far if the job was cancelled
+     * @throws IllegalStateException if the render failed or the waiting thread was interrupted
+     */
+    public Camera join() {
+        try {
+            return completion.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("The render failed", e.getCause());
+        }
+    }
+
+    /**
+     * Gets the completion of the render, for continuing when it ends without waiting for it.
+     * @return the completion, which completes with the rendering camera, or exceptionally if the render failed
+     */
+    public CompletableFuture<Camera> completion() {
+        return completion.copy();
+    }
+
+    /**
+     * Gets the number of pixels of the image.
+     * @return the number of pixels
+     */
+    public long getTotalPixels() {
+        return totalPixels;
+    }
+
+    /**
+     * Gets the number of pixels done so far: traced for the first time (the refining passes of the adaptive
+     * sampling aren't counted) or restored from a checkpoint.
+     * @return the number of pixels
+     */
+    public long getCompletedPixels() {
+        return pixels.sum();
+    }
+
+    /**
+     * Gets the number of tiles done so far, in all the passes of the render.
+     * @return the number of tiles
+     */
+    public long getCompletedTiles() {
+        return tiles.sum();
+    }
+
+    /**
+     * Gets the fraction of the pixels done so far.
+     * @return the fraction, between 0 and 1
+     */
+    public double getProgress() {
+        return totalPixels == 0 ? 1 : (double) getCompletedPixels() / totalPixels;
+    }
+
+    /**
+     * Gets the number of rays from the camera traced so far.
+     * @return the number of rays
+     */
+    public long getRays() {
+        return rays.sum();
+    }
+
+    /**
+     * Gets the time the render has run so far, or until it ended.
+     * @return the elapsed time
+     */
+    public Duration getElapsed() {
+        long last = end;
+        return Duration.ofNanos((last == 0 ? System.nanoTime() : last) - start);
+    }
+
+    /**
+     * Gets the mean rate of the rays from the camera so far.
+     * @return the rays per second
+     */
+    public double getRaysPerSecond() {
+        long nanos = getElapsed().toNanos();
+        return nanos == 0 ? 0 : getRays() * 1e9 / nanos;
+    }
+
+    /**
+     * Estimates the time remaining until all the pixels are done, by the mean rate of the pixels so far.
+     * The refining passes of the adaptive sampling aren't estimated (see
+     * {@link Camera.Builder#setAdaptiveSampling} for bounding them by a budget).
+     * @return the estimated time remaining, zero if the render ended, or null if no pixel was done yet
+     */
+    public Duration getEstimatedRemaining() {
+        if (isDone())
+            return Duration.ZERO;
+        long done = getCompletedPixels();
+        if (done == 0)
+            return null;
+        double nanos = getElapsed().toNanos() * (double) (totalPixels - done) / done;
+        return Duration.ofNanos((long) nanos);
+    }
+}
@@ -0,0 +1,322 @@
+package renderer;
+
+import geometries.Geometry;
+import geometries.Intersectable;
+import geometries.IntersectionProbe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RenderStatistics counts the work of a render: the rays traced by their type, the intersection tests and hits
+ * by the class of the tested geometry, the shadow rays that were occluded, the recursion depths of the color
+ * calculation, and the time spent on intersections and on shading.
+ * Every rendering thread counts in its own counters, which are summed only when the statistics are read,
+ * so counting doesn't serialize a parallel render.
+ * The statistics should be read after the render is done.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+public class RenderStatistics {
+    /**
+     * The types of the traced rays
+     */
+    public enum RayType {
+        /** A ray from the camera through a pixel */
+        PRIMARY,
+        /** A ray from an intersection toward a light source */
+        SHADOW,
+        /** A ray reflected from an intersection */
+        REFLECTION,
+        /** A ray refracted through an intersection */
+        REFRACTION
+    }
+
+    /**
+     * The counters of a single thread, which is also the probe of the thread's intersection tests
+     */
+    private static class Counters implements IntersectionProbe {
+        /**
+         * The thread that counts in the counters
+         */
+        private final Thread owner = Thread.currentThread();
+        /**
+         * The number of traced rays, by the ordinal of their type
+         */
+        private final long[] rays = new long[RayType.values().length];
+        /**
+         * The number of intersection tests and hits (in this order) by the class of the tested geometry
+         */
+        private final Map<Class<? extends Geometry>, long[]> tests = new IdentityHashMap<>();
+        /**
+         * The number of shadow rays that were occluded
+         */
+        private long occludedShadowRays = 0;
+        /**
+         * The number of color calculations by their recursion depth
+         */
+        private long[] depths = new long[0];
+        /**
+         * The time spent on tracing rays in nanoseconds
+         */
+        private long traceNanos = 0;
+        /**
+         * The time spent on intersection queries in nanoseconds
+         */
+        private long intersectionNanos = 0;
+
+        /**
+         * Clears the counters.
+         */
+        private void clear() {
+            Arrays.fill(rays, 0);
+            tests.clear();
+            occludedShadowRays = 0;
+            depths = new long[0];
+            traceNanos = 0;
+            intersectionNanos = 0;
+        }
+
+        @Override
+        public void tested(Geometry geometry, boolean hit) {
+            long[] counts = tests.computeIfAbsent(geometry.getClass(), type -> new long[2]);
+            ++counts[0];
+            if (hit)
+                ++counts[1];
+        }
+    }
+
+    /**
+     * The counters of all the threads that counted since the last reset
+     */
+    private final List<Counters> all = new ArrayList<>();
+
+    /**
+     * The counters of each thread, which register themselves on their first use
+     */
+    private final ThreadLocal<Counters> counters = ThreadLocal.withInitial(() -> {
+        Counters threadCounters = new Counters();
+        synchronized (all) {
+            all.add(threadCounters);
+        }
+        return threadCounters;
+    });
+
+    /**
+     * Clears all the statistics before a new render.
+     * The counters of the live threads are cleared in place, and the counters of the threads that ended
+     * (e.g., the previous render's pool) are dropped, so it must not be called during a render.
+     */
+    public void reset() {
+        synchronized (all) {
+            all.removeIf(threadCounters -> !threadCounters.owner.isAlive());
+            for (Counters threadCounters : all)
+                threadCounters.clear();
+        }
+    }
+
+    /**
+     * Gets the probe that counts the intersection tests of the current thread,
+     * to be set for the thread by {@link Intersectable#setProbe(IntersectionProbe)}.
+     * @return the probe of the current thread
+     */
+    public IntersectionProbe probe() {
+        return counters.get();
+    }
+
+    /**
+     * Counts a traced ray.
+     * @param type the type of the ray
+     */
+    public void countRay(RayType type) {
+        ++counters.get().rays[type.ordinal()];
+    }
+
+    /**
+     * Counts a shadow ray that was occluded.
+     */
+    public void countOccludedShadowRay() {
+        ++counters.get().occludedShadowRays;
+    }
+
+    /**
+     * Counts a color calculation.
+     * @param depth the recursion depth of the calculation, 0 for the intersection of a primary ray
+     */
+    public void countDepth(int depth) {
+        Counters threadCounters = counters.get();
+        if (depth >= threadCounters.depths.length)
+            threadCounters.depths = Arrays.copyOf(threadCounters.depths, depth + 1);
+        ++threadCounters.depths[depth];
+    }
+
+    /**
+     * Adds the time of tracing a ray.
+     * @param nanos the time in nanoseconds
+     */
+    public void addTraceTime(long nanos) {
+        counters.get().traceNanos += nanos;
+    }
+
+    /**
+     * Adds the time of an intersection query.
+     * @param nanos the time in nanoseconds
+     */
+    public void addIntersectionTime(long nanos) {
+        counters.get().intersectionNanos += nanos;
+    }
+
+    /**
+     * Gets the number of traced rays of a type.
+     * @param type the type of the rays
+     * @return the number of rays of the type
+     */
+    public long getRays(RayType type) {
+        long sum = 0;
+        synchronized (all) {
+            for (Counters threadCounters : all)
+                sum += threadCounters.rays[type.ordinal()];
+        }
+        return sum;
+    }
+
+    /**
+     * Gets the number of traced rays of all the types.
+     * @return the number of rays
+     */
+    public long getRays() {
+        long sum = 0;
+        for (RayType type : RayType.values())
+            sum += getRays(type);
+        return sum;
+    }
+
+    /**
+     * Gets the number of rays of all the types the current thread traced since the last reset,
+     * e.g., for counting the rays of a part of the render by the difference.
+     * @return the number of rays of the current thread
+     */
+    public long getThreadRays() {
+        long sum = 0;
+        for (long count : counters.get().rays)
+            sum += count;
+        return sum;
+    }
+
+    /**
+     * Gets the number of shadow rays that were occluded.
+     * @return the number of occluded shadow rays
+     */
+    public long getOccludedShadowRays() {
+        long sum = 0;
+        synchronized (all) {
+            for (Counters threadCounters : all)
+                sum += threadCounters.occludedShadowRays;
+        }
+        return sum;
+    }
+
+    /**
+     * Sums the intersection tests or hits of all the threads.
+     * @param index 0 for the tests, 1 for the hits
+     * @return the number of tests or hits by the class of the tested geometry, ordered by the class name
+     */
+    private Map<Class<? extends Geometry>, Long> sumTests(int index) {
+        Map<Class<? extends Geometry>, Long> sums = new IdentityHashMap<>();
+        synchronized (all) {
+            for (Counters threadCounters : all)
+                for (var entry : threadCounters.tests.entrySet())
+                    sums.merge(entry.getKey(), entry.getValue()[index], Long::sum);
+        }
+        Map<Class<? extends Geometry>, Long> sorted = new LinkedHashMap<>();
+        sums.entrySet().stream().sorted(Map.Entry.comparingByKey(Comparator.comparing(Class::getSimpleName)))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    /**
+     * Gets the number of intersection tests by the class of the tested geometry.
+     * @return the number of tests by the geometry class, ordered by the class name
+     */
+    public Map<Class<? extends Geometry>, Long> getIntersectionTests() {
+        return sumTests(0);
+    }
+
+    /**
+     * Gets the number of intersection tests that found an intersection by the class of the tested geometry.
+     * @return the number of hits by the geometry class, ordered by the class name
+     */
+    public Map<Class<? extends Geometry>, Long> getIntersectionHits() {
+        return sumTests(1);
+    }
+
+    /**
+     * Gets the histogram of the recursion depths of the color calculations.
+     * @return the number of calculations by their depth, the first is the depth of the primary rays' intersections
+     */
+    public long[] getDepthHistogram() {
+        long[] histogram = new long[0];
+        synchronized (all) {
+            for (Counters threadCounters : all) {
+                if (threadCounters.depths.length > histogram.length)
+                    histogram = Arrays.copyOf(histogram, threadCounters.depths.length);
+                for (int depth = 0; depth < threadCounters.depths.length; ++depth)
+                    histogram[depth] += threadCounters.depths[depth];
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Gets the time the rendering threads spent on intersection queries.
+     * @return the time in nanoseconds, summed over the threads
+     */
+    public long getIntersectionNanos() {
+        long sum = 0;
+        synchronized (all) {
+            for (Counters threadCounters : all)
+                sum += threadCounters.intersectionNanos;
+        }
+        return sum;
+    }
+
+    /**
+     * Gets the time the rendering threads spent on tracing rays other than the intersection queries,
+     * i.e., on shading.
+     * @return the time in nanoseconds, summed over the threads
+     */
+    public long getShadingNanos() {
+        long sum = 0;
+        synchronized (all) {
+            for (Counters threadCounters : all)
+                sum += threadCounters.traceNanos - threadCounters.intersectionNanos;
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder("Rays: ").append(getRays());
+        for (RayType type : RayType.values())
+            summary.append(", ").append(type.name().toLowerCase(Locale.ROOT)).append(": ").append(getRays(type));
+        summary.append("\nOccluded shadow rays: ").append(getOccludedShadowRays());
+
+        Map<Class<? extends Geometry>, Long> hits = getIntersectionHits();
+        for (var entry : getIntersectionTests().entrySet())
+            summary.append("\n").append(entry.getKey().getSimpleName()).append(" tests: ").append(entry.getValue())
+                    .append(", hits: ").append(hits.get(entry.getKey()));
+
+        summary.append("\nDepths:");
+        long[] histogram = getDepthHistogram();
+        for (int depth = 0; depth < histogram.length; ++depth)
+            summary.append(' ').append(depth).append(": ").append(histogram[depth]);
+
+        return summary.append(String.format(Locale.ROOT, "%nIntersection: %.1f ms, shading: %.1f ms",
+                getIntersectionNanos() / 1e6, getShadingNanos() / 1e6)).toString();
+    }
+}
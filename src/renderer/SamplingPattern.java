@@ -0,0 +1,13 @@
+package renderer;
+
+/**
+ * Sampling patterns - the positions of the samples (rays) within a pixel
+ */
+public enum SamplingPattern {
+   /** Stratified jittering: the pixel is divided into a grid of strata, and a sample is placed randomly in each */
+   JITTERED,
+   /** The Halton sequence of the bases 2 and 3, randomly shifted for every pixel */
+   HALTON,
+   /** The Sobol sequence, randomly scrambled for every pixel, a (0,2)-sequence that stratifies every power of 2 */
+   SOBOL
+}
@@ -1,8 +1,11 @@
 package renderer;
 
-import geometries.Intersectable. Intersection;
+import geometries.Geometry;
+import geometries.Intersectable;
+import geometries.Intersectable.Intersection;
 import lighting.LightSource;
 import primitives.*;
+import renderer.RenderStatistics.RayType;
 import sceneTest.Scene;
 
 import static primitives.Util.alignZero;
@@ -33,12 +36,68 @@ public class SimpleRayTracer extends RayTracerBase {
      */
     private static final Double3 INITIAL_K = Double3.ONE;
 
+    /**
+     * The geometries the rays are traced against, which are the scene's geometries
+     * or an acceleration structure built over them.
+     */
+    protected volatile Intersectable geometries;
+
+    /**
+     * The closest-hit record of each thread, reused for all the rays the thread traces
+     */
+    private final ThreadLocal<Intersectable.Hit> hits = ThreadLocal.withInitial(Intersectable.Hit::new);
+
+    /**
+     * The transparency accumulator of each thread, reused for all the shadow rays the thread traces
+     */
+    private final ThreadLocal<Transparency> transparencies = ThreadLocal.withInitial(Transparency::new);
+
+    /**
+     * Transparency accumulates the transparency factor (kT) of the geometries along a shadow ray,
+     * and stops the query once the accumulated factor is negligible.
+     */
+    private static class Transparency implements Intersectable.OcclusionAccumulator {
+        /**
+         * The accumulated transparency factor
+         */
+        private double d1, d2, d3;
+
+        /**
+         * Starts accumulating for a new ray, with full transparency.
+         * @return the accumulator
+         */
+        Transparency reset() {
+            d1 = d2 = d3 = 1;
+            return this;
+        }
+
+        @Override
+        public boolean accept(Geometry geometry) {
+            if (d1 < MIN_CALC_COLOR_K && d2 < MIN_CALC_COLOR_K && d3 < MIN_CALC_COLOR_K)
+                return false;
+            Double3 kT = geometry.getMaterial().kT;
+            d1 *= kT.d1();
+            d2 *= kT.d2();
+            d3 *= kT.d3();
+            return true;
+        }
+    }
+
     /**
      * Constructs a new SimpleRayTracer with the given scene.
      * @param scene the scene that will be rendered using this ray tracer
      */
     public SimpleRayTracer(Scene scene) {
         super(scene);
+        if (scene != null)
+            geometries = scene.geometries;
+    }
+
+    @Override
+    public synchronized void prepare() {
+        // a camera built without a ray tracer has no scene, so it fails only when a ray is traced
+        if (scene != null)
+            geometries = scene.geometries;
     }
 
     /**
@@ -52,17 +111,9 @@ public class SimpleRayTracer extends RayTracerBase {
         // Create a ray from the point to the light source
         Ray ray = new Ray(intersection.point, pointToLight, intersection.normal);
 
-        var intersections = scene.geometries.
-                calculateIntersections(ray, intersection.light.getDistance(intersection.point));
-
-        if (intersections == null)
-            return true;
-        else {
-            for (Intersection i : intersections)
-                if (i.material.kT.lowerThan(MIN_CALC_COLOR_K))
-                    return false;
-        }
-        return true;
+        // the query stops at the first opaque geometry
+        return !geometries.occluded(ray, intersection.light.getDistance(intersection.point),
+                geometry -> !geometry.getMaterial().kT.lowerThan(MIN_CALC_COLOR_K));
     }
 
     /**
@@ -74,20 +125,22 @@ public class SimpleRayTracer extends RayTracerBase {
         Vector pointToLight = intersection.l.scale(-1); // from the point to the light source
 
         Ray ray = new Ray(intersection.point, pointToLight, intersection.normal); // create a ray from the point to the light source
-        var intersections = scene.geometries.calculateIntersections(ray, intersection.light.getDistance(intersection.point));
-
-        Double3 ktr = Double3.ONE;
-
-        if (intersections == null)
-            return ktr;
-        else {
-            for (Intersection i : intersections) {
-                if (ktr.lowerThan(MIN_CALC_COLOR_K))
-                    return Double3.ZERO;
-                ktr = ktr.product(i.material.kT);
-            }
-        }
-        return ktr;
+        // the transparency is accumulated along the ray, and the query stops once it is negligible
+        Transparency ktr = transparencies.get().reset();
+        final RenderStatistics statistics = statistics();
+        if (statistics == null)
+            return geometries.occluded(ray, intersection.light.getDistance(intersection.point), ktr)
+                    ? Double3.ZERO : new Double3(ktr.d1, ktr.d2, ktr.d3);
+
+        statistics.countRay(RayType.SHADOW);
+        long start = System.nanoTime();
+        boolean occluded = geometries.occluded(ray, intersection.light.getDistance(intersection.point), ktr);
+        statistics.addIntersectionTime(System.nanoTime() - start);
+        Double3 result = occluded ? Double3.ZERO : new Double3(ktr.d1, ktr.d2, ktr.d3);
+        // the query may end before stopping, so a negligible transparency counts as occluded as well
+        if (result.lowerThan(MIN_CALC_COLOR_K))
+            statistics.countOccludedShadowRay();
+        return result;
     }
 
     /**
@@ -131,10 +184,10 @@ public class SimpleRayTracer extends RayTracerBase {
      */
     private Color calcColorGlobalEffects(Intersection intersection, int level, Double3 k) {
         Color globalEffectColor1 = calcColorGlobalEffect(constructRefractedRay(intersection),
-                level, k, intersection.material.kT);
+                RayType.REFRACTION, level, k, intersection.material.kT);
 
         Color globalEffectColor2 = calcColorGlobalEffect(constructReflectedRay(intersection),
-                level, k, intersection.material.kR);
+                RayType.REFLECTION, level, k, intersection.material.kR);
 
         return globalEffectColor1.add(globalEffectColor2);
     }
@@ -142,17 +195,22 @@ public class SimpleRayTracer extends RayTracerBase {
     /**
      * Calculates the global color contribution from a single reflected or refracted ray.
      * @param ray the reflected or refracted ray
+     * @param type the type of the ray, reflection or refraction
      * @param level the current recursion level
      * @param k the accumulated attenuation factor so far
      * @param kx the reflection or refraction coefficient for the current step
      * @return the color contribution from this global effect
      */
-    private Color calcColorGlobalEffect(Ray ray, int level, Double3 k, Double3 kx) {
+    private Color calcColorGlobalEffect(Ray ray, RayType type, int level, Double3 k, Double3 kx) {
         Double3 kkx = k.product(kx);
 
         if (kkx.lowerThan(MIN_CALC_COLOR_K))
             return Color.BLACK;
 
+        final RenderStatistics statistics = statistics();
+        if (statistics != null)
+            statistics.countRay(type);
+
         Intersection intersection = findClosestIntersection(ray);
 
         if (intersection == null)
@@ -180,7 +238,7 @@ public class SimpleRayTracer extends RayTracerBase {
      */
     private Ray constructReflectedRay(Intersection intersection) {
         // According to the formula
-        Vector r = intersection.v.add((intersection.normal.scale(-2 * intersection.vNormal)));
+        Vector r = intersection.v.add(intersection.normal, -2 * intersection.vNormal);
         return new Ray(intersection.point, r, intersection.normal);
     }
 
@@ -190,8 +248,15 @@ public class SimpleRayTracer extends RayTracerBase {
      * @return the closest intersection, or null if there are no intersections
      */
     private Intersection findClosestIntersection(Ray ray) {
-        var intersections = scene.geometries.calculateIntersections(ray);
-        return intersections == null ? null : ray.findClosestIntersection(intersections);
+        Intersectable.Hit hit = hits.get();
+        hit.reset();
+        final RenderStatistics statistics = statistics();
+        final long start = statistics == null ? 0 : System.nanoTime();
+        boolean found = geometries.findClosestHit(ray, Double.POSITIVE_INFINITY, hit);
+        if (statistics != null)
+            statistics.addIntersectionTime(System.nanoTime() - start);
+        // the point of the intersection is calculated only once the closest hit is known
+        return found ? new Intersection(hit.geometry, ray.getPoint(hit.t)) : null;
     }
 
     /**
@@ -210,37 +275,42 @@ public class SimpleRayTracer extends RayTracerBase {
                 continue;
 
             Double3 ktr = transparency(intersection);
-            if (!ktr.product(k).lowerThan(MIN_CALC_COLOR_K)) {
+            if (!ktr.productLowerThan(k, MIN_CALC_COLOR_K)) {
                 Color iL = lightSource.getIntensity(intersection.point).scale(ktr);
-                color = color
-                        .add(iL.scale(calcDiffusive(intersection)
-                                .add(calcSpecular(intersection))));
+                Material material = intersection.material;
+                // kD * |l·n| + kS * max(0, -v·r)^nSh, without creating the two scaled triads
+                color = color.add(iL.scale(material.kD.scaleAndAdd(calcDiffusive(intersection),
+                        material.kS, calcSpecular(intersection))));
             }
         }
         return color;
     }
 
     /**
-     * Calculates the specular reflection component at the intersection point
-     * based on the Phong reflection model.
+     * Calculates the specular reflection factor at the intersection point
+     * based on the Phong reflection model. The reflected vector is calculated in components,
+     * so no vector is created.
      * @param intersection the intersection data including vectors and material
-     * @return the specular reflection as a Double3 coefficient
+     * @return the factor of the specular coefficient (kS)
      */
-    private Double3 calcSpecular(Intersection intersection) {
-        Vector r = intersection.l.subtract(intersection.normal.scale(2 * intersection.lNormal));
-        double vr = -1 * intersection.v.dotProduct(r);
-
-        return intersection.material.kS.scale(Math.pow(Math.max(0, vr), intersection.material.nSh));
+    private double calcSpecular(Intersection intersection) {
+        final Vector l = intersection.l, n = intersection.normal, v = intersection.v;
+        final double scale = 2 * intersection.lNormal;
+        // r = l - n * 2(l·n)
+        double vr = -1 * Vector.dotProduct(v.getX(), v.getY(), v.getZ(),
+                l.getX() - n.getX() * scale, l.getY() - n.getY() * scale, l.getZ() - n.getZ() * scale);
+
+        return Math.pow(Math.max(0, vr), intersection.material.nSh);
     }
 
     /**
-     * Calculates the diffuse reflection component at the intersection point
+     * Calculates the diffuse reflection factor at the intersection point
      * based on the Phong reflection model.
      * @param intersection the intersection data including normal and material
-     * @return the diffuse reflection as a Double3 coefficient
+     * @return the factor of the diffuse coefficient (kD)
      */
-    private Double3 calcDiffusive(Intersection intersection) {
-        return intersection.material.kD.scale(Math.abs(intersection.lNormal));
+    private double calcDiffusive(Intersection intersection) {
+        return Math.abs(intersection.lNormal);
     }
 
     /**
@@ -270,13 +340,26 @@ public class SimpleRayTracer extends RayTracerBase {
      * @return the resulting color at the intersection
      */
     private Color calcColor(Intersection intersection, int level, Double3 k) {
+        final RenderStatistics statistics = statistics();
+        if (statistics != null)
+            statistics.countDepth(MAX_CALC_COLOR_LEVEL - level);
         Color color = calcColorLocalEffects(intersection, k);
         return 1 == level ? color : color.add(calcColorGlobalEffects(intersection, level, k));
     }
 
     @Override
     public Color traceRay(Ray ray) {
+        final RenderStatistics statistics = statistics();
+        if (statistics == null) {
+            Intersection closestIntersection = findClosestIntersection(ray);
+            return closestIntersection == null ? scene.background : calcColor(closestIntersection, ray);
+        }
+
+        statistics.countRay(RayType.PRIMARY);
+        long start = System.nanoTime();
         Intersection closestIntersection = findClosestIntersection(ray);
-        return closestIntersection == null ? scene.background : calcColor(closestIntersection, ray);
+        Color color = closestIntersection == null ? scene.background : calcColor(closestIntersection, ray);
+        statistics.addTraceTime(System.nanoTime() - start);
+        return color;
     }
 }
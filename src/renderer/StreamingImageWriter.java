@@ -0,0 +1,212 @@
+package renderer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.Deflater;
+
+/**
+ * StreamingImageWriter encodes an image file band by band, as the rows of the image are rendered,
+ * so the whole image is never held in memory - only the current row and the previous one are.
+ * The file is a PNG image (filtered and deflated as the rows arrive, into IDAT chunks of a bounded size),
+ * or an uncompressed binary PPM image.
+ * The rows must be written in order from the top, and the writer must be closed to complete the file.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+final class StreamingImageWriter implements Closeable {
+    /**
+     * The maximal size of the data of an IDAT chunk of the PNG file, in bytes
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * The number of pixels in a row of the image
+     */
+    private final int nX;
+    /**
+     * The number of rows of the image
+     */
+    private final int nY;
+    /**
+     * The name of the image
+     */
+    private final String imageName;
+    /**
+     * The file of the image
+     */
+    private final File file;
+    /**
+     * The stream of the file
+     */
+    private final OutputStream out;
+    /**
+     * The RGB components of the current row
+     */
+    private byte[] row;
+    /**
+     * The RGB components of the previous row, by which a row of the PNG image is filtered, null for PPM
+     */
+    private byte[] previous;
+    /**
+     * A filtered row of the PNG image: its filter type followed by its filtered components, null for PPM
+     */
+    private final byte[] filtered;
+    /**
+     * The compressor of the PNG image data, null for PPM
+     */
+    private final Deflater deflater;
+    /**
+     * The compressed image data that wasn't written yet, an IDAT chunk at most
+     */
+    private final byte[] chunk;
+    /**
+     * The number of bytes in the compressed data buffer
+     */
+    private int chunkLength = 0;
+    /**
+     * The number of rows written so far
+     */
+    private int rows = 0;
+    /**
+     * The flight recorder event of writing the file
+     */
+    private final RenderEvents.WriteImage event = new RenderEvents.WriteImage();
+
+    /**
+     * Creates the file of an image and writes its header.
+     * @param imageName the name of the file, without its extension
+     * @param nX        the number of pixels in a row of the image
+     * @param nY        the number of rows of the image
+     * @param format    the format of the file
+     * @throws IllegalStateException on an I/O error
+     */
+    StreamingImageWriter(String imageName, int nX, int nY, ImageFormat format) {
+        this.nX = nX;
+        this.nY = nY;
+        this.imageName = imageName;
+        event.begin();
+        file = new File(ImageWriter.FOLDER_PATH + '/' + imageName + '.' + format.name().toLowerCase(Locale.ROOT));
+        try {
+            out = new BufferedOutputStream(new FileOutputStream(file));
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - may be missing directory " + ImageWriter.FOLDER_PATH, e);
+        }
+
+        row = new byte[3 * nX];
+        if (format == ImageFormat.PNG) {
+            previous = new byte[3 * nX];
+            filtered = new byte[1 + 3 * nX];
+            deflater = new Deflater();
+            chunk = new byte[CHUNK_SIZE];
+        } else {
+            filtered = null;
+            deflater = null;
+            chunk = null;
+        }
+
+        try {
+            if (format == ImageFormat.PNG)
+                PngEncoder.writeHeader(out, nX, nY);
+            else
+                out.write(("P6\n" + nX + " " + nY + "\n255\n").getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            abort();
+            throw new IllegalStateException("I/O error writing " + file, e);
+        }
+    }
+
+    /**
+     * Writes the next rows of the image.
+     * @param  pixels the pixels of the rows, row by row, with the RGB components of every pixel packed into
+     *                an int (0xRRGGBB); the array may be longer than the rows
+     * @param  count  the number of rows
+     * @throws IllegalArgumentException if the rows exceed the image
+     * @throws IllegalStateException    on an I/O error
+     */
+    void writeRows(int[] pixels, int count) {
+        if (rows + count > nY)
+            throw new IllegalArgumentException("The rows exceed the image");
+
+        try {
+            for (int y = 0; y < count; ++y) {
+                PngEncoder.unpackRow(pixels, y * nX, row);
+                if (deflater == null)
+                    out.write(row);
+                else {
+                    PngEncoder.filterRow(previous, row, filtered, 0);
+                    byte[] swap = previous;
+                    previous = row;
+                    row = swap;
+                    deflater.setInput(filtered);
+                    // the filtered row's buffer is reused, so it must be consumed before the next row
+                    while (!deflater.needsInput())
+                        deflate();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error writing " + file, e);
+        }
+        rows += count;
+    }
+
+    /**
+     * Completes the file: flushes the compressed data and writes the trailer of the PNG image.
+     * @throws IllegalStateException if not all the rows were written (the file is closed anyway),
+     *                               or on an I/O error
+     */
+    @Override
+    public void close() {
+        try {
+            if (deflater != null && rows == nY) {
+                deflater.finish();
+                while (!deflater.finished())
+                    deflate();
+                if (chunkLength > 0)
+                    PngEncoder.writeChunk(out, "IDAT", chunk, chunkLength);
+                PngEncoder.writeChunk(out, "IEND", chunk, 0);
+            }
+            out.close();
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error writing " + file, e);
+        } finally {
+            if (deflater != null)
+                deflater.end();
+        }
+
+        if (rows < nY)
+            throw new IllegalStateException("Only " + rows + " of the " + nY + " rows of " + file + " were written");
+        if (event.shouldCommit()) {
+            event.imageName = imageName;
+            event.width = nX;
+            event.height = nY;
+            event.bytes = file.length();
+            event.commit();
+        }
+    }
+
+    /**
+     * Closes the file after a failure, ignoring further errors.
+     */
+    private void abort() {
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // the original failure is reported
+        }
+        if (deflater != null)
+            deflater.end();
+    }
+
+    /**
+     * Compresses the pending input into the compressed data buffer,
+     * and writes the buffer as an IDAT chunk when it is full.
+     * @throws IOException on an I/O error
+     */
+    private void deflate() throws IOException {
+        chunkLength += deflater.deflate(chunk, chunkLength, chunk.length - chunkLength);
+        if (chunkLength == chunk.length) {
+            PngEncoder.writeChunk(out, "IDAT", chunk, chunkLength);
+            chunkLength = 0;
+        }
+    }
+}
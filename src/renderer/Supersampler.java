@@ -0,0 +1,133 @@
+package renderer;
+
+import primitives.Color;
+import primitives.Double3;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Supersampler is the adaptive supersampling of a tile. The samples are taken on a lattice that divides every pixel
+ * into 2^depth by 2^depth cells: a pixel is first sampled at its corners, and a cell whose corners' colors
+ * differ beyond the threshold is divided into 4 cells by sampling its center and the middles of its edges,
+ * down to the maximal depth. The color of a cell that isn't divided is the mean of its corners.
+ * Every sample is traced once for the tile, so the corners and the edges are shared by the neighboring
+ * pixels and cells; only the samples on the tile's edges are traced again by the neighboring tiles.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+final class Supersampler implements PixelTracer {
+    /**
+     * The number of lattice cells along a pixel's edge
+     */
+    private final int scale;
+    /**
+     * The color difference (of a single RGB component) between the corners of a cell
+     * beyond which the cell is divided
+     */
+    private final double threshold;
+    /**
+     * The tracing of the samples' rays
+     */
+    private final RayCaster caster;
+    /**
+     * The samples that may still be shared, by their lattice coordinates (the column in the upper half
+     * of the key and the row in its lower half)
+     */
+    private final Map<Long, Color> samples = new HashMap<>();
+
+    /**
+     * Constructs the supersampler of a tile.
+     * @param depth the maximal depth of a pixel's subdivision
+     * @param threshold the color difference (of a single RGB component) between the corners of a cell
+     *                  beyond which the cell is divided
+     * @param caster the tracing of the samples' rays
+     */
+    Supersampler(int depth, double threshold, RayCaster caster) {
+        this.scale = 1 << depth;
+        this.threshold = threshold;
+        this.caster = caster;
+    }
+
+    /**
+     * Gets the color of a lattice point, tracing it if it wasn't sampled yet.
+     * @param u the lattice column of the point
+     * @param v the lattice row of the point
+     * @return the color of the point
+     */
+    private Color sample(long u, long v) {
+        return samples.computeIfAbsent(u << 32 | v, key -> caster.cast((double) u / scale, (double) v / scale));
+    }
+
+    /**
+     * Calculates the color of a pixel.
+     * @param i the pixel's row number
+     * @param j the pixel's column number
+     * @return the color of the pixel
+     */
+    @Override
+    public Color pixel(int i, int j) {
+        long u = (long) j * scale, v = (long) i * scale;
+        return cell(u, v, scale, sample(u, v), sample(u + scale, v), sample(u, v + scale),
+                sample(u + scale, v + scale));
+    }
+
+    /**
+     * Calculates the color of a cell, dividing it if its corners differ.
+     * @param u the lattice column of the cell's top-left corner
+     * @param v the lattice row of the cell's top-left corner
+     * @param size the number of lattice cells along the cell's edge
+     * @param topLeft the color of the top-left corner
+     * @param topRight the color of the top-right corner
+     * @param bottomLeft the color of the bottom-left corner
+     * @param bottomRight the color of the bottom-right corner
+     * @return the color of the cell
+     */
+    private Color cell(long u, long v, int size, Color topLeft, Color topRight, Color bottomLeft,
+                       Color bottomRight) {
+        if (size == 1 || similar(topLeft, topRight, bottomLeft, bottomRight))
+            return topLeft.add(topRight, bottomLeft, bottomRight).reduce(4);
+
+        int half = size / 2;
+        Color top = sample(u + half, v);
+        Color left = sample(u, v + half);
+        Color center = sample(u + half, v + half);
+        Color right = sample(u + size, v + half);
+        Color bottom = sample(u + half, v + size);
+        return cell(u, v, half, topLeft, top, left, center)
+                .add(cell(u + half, v, half, top, topRight, center, right),
+                        cell(u, v + half, half, left, center, bottomLeft, bottom),
+                        cell(u + half, v + half, half, center, right, bottom, bottomRight))
+                .reduce(4);
+    }
+
+    /**
+     * Checks whether the colors of a cell's corners are within the threshold of each other.
+     * @param colors the colors of the corners
+     * @return true if no RGB component differs beyond the threshold, false otherwise
+     */
+    private boolean similar(Color... colors) {
+        for (int component = 0; component < 3; ++component) {
+            double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+            for (Color color : colors) {
+                Double3 rgb = color.getRgb();
+                double value = component == 0 ? rgb.d1() : component == 1 ? rgb.d2() : rgb.d3();
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > threshold)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Drops the samples that can't be shared anymore once a row of pixels is done,
+     * so the memory is bounded by a row of the tile.
+     * @param i the row's number
+     */
+    @Override
+    public void endRow(int i) {
+        long bottom = (long) (i + 1) * scale;
+        samples.keySet().removeIf(key -> (key & 0xFFFFFFFFL) < bottom);
+    }
+}
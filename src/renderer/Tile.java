@@ -0,0 +1,44 @@
+package renderer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tile record represents a rectangular block of pixels in the view plane,
+ * which is rendered as a single unit of work.
+ * @param x      the column of the tile's top-left pixel
+ * @param y      the row of the tile's top-left pixel
+ * @param width  the number of pixel columns in the tile
+ * @param height the number of pixel rows in the tile
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+record Tile(int x, int y, int width, int height) {
+    /**
+     * Splits a view plane into square tiles, row by row from the top-left corner.
+     * The tiles at the right and bottom edges are clipped to the view plane.
+     * @param nX   the number of pixel columns in the view plane
+     * @param nY   the number of pixel rows in the view plane
+     * @param size the width and height of a tile in pixels
+     * @return the list of the tiles covering the view plane
+     */
+    static List<Tile> split(int nX, int nY, int size) {
+        return split(nX, 0, nY, size);
+    }
+
+    /**
+     * Splits a band of rows of a view plane into square tiles, row by row from the band's top-left corner.
+     * The tiles at the right and bottom edges are clipped to the band.
+     * @param nX   the number of pixel columns in the view plane
+     * @param from the first row of the band (inclusive)
+     * @param to   the last row of the band (exclusive)
+     * @param size the width and height of a tile in pixels
+     * @return the list of the tiles covering the band
+     */
+    static List<Tile> split(int nX, int from, int to, int size) {
+        List<Tile> tiles = new ArrayList<>();
+        for (int y = from; y < to; y += size)
+            for (int x = 0; x < nX; x += size)
+                tiles.add(new Tile(x, y, Math.min(size, nX - x), Math.min(size, to - y)));
+        return tiles;
+    }
+}
@@ -0,0 +1,231 @@
+package renderer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * TileStore is a checkpoint of a render: a memory-mapped file holding the pixels of the finished tiles
+ * and a bitmap of the tiles that are finished, so an interrupted render can be resumed by rendering
+ * only the remaining tiles.
+ * The file is written through the operating system's page cache, so it survives the rendering process
+ * being killed; it is forced to the disk when the store is closed.
+ * The file holds a header (the image's resolution and the tile size), the completion bitmap (a bit per tile,
+ * row by row) and the packed RGB pixels of the image (0xRRGGBB), row by row. The pixels are mapped band by band,
+ * a band of rows as high as a tile, so huge images don't need a huge mapping.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+final class TileStore implements Closeable {
+    /**
+     * The first int of a tile store file
+     */
+    private static final int MAGIC = 0x52545453; // "RTTS"
+    /**
+     * The version of the file's layout
+     */
+    private static final int VERSION = 1;
+    /**
+     * The size of the file's header in bytes: the magic, the version, nX, nY and the tile size
+     */
+    private static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+    /**
+     * The number of pixels in a row of the image
+     */
+    private final int nX;
+    /**
+     * The number of rows of the image
+     */
+    private final int nY;
+    /**
+     * The width and height of a tile in pixels
+     */
+    private final int tileSize;
+    /**
+     * The number of tiles in a row of tiles
+     */
+    private final int tilesAcross;
+    /**
+     * The file's channel
+     */
+    private final FileChannel channel;
+    /**
+     * The mapping of the header and the completion bitmap, null once the store is closed
+     */
+    private MappedByteBuffer bitmap;
+    /**
+     * The mappings of the pixels' bands, mapped on their first use and dropped when the store is closed
+     */
+    private final MappedByteBuffer[] bands;
+    /**
+     * The offset of the pixels in the file
+     */
+    private final long pixelsOffset;
+
+    /**
+     * Opens the tile store of an image, or creates it if it doesn't exist.
+     * A store of another resolution or tile size is discarded and the image starts anew.
+     * @param  path     the path of the store's file
+     * @param  nX       the number of pixels in a row of the image
+     * @param  nY       the number of rows of the image
+     * @param  tileSize the width and height of a tile in pixels
+     * @throws IllegalStateException on an I/O error
+     */
+    TileStore(Path path, int nX, int nY, int tileSize) {
+        this.nX = nX;
+        this.nY = nY;
+        this.tileSize = tileSize;
+        tilesAcross = (nX + tileSize - 1) / tileSize;
+        int tiles = tilesAcross * ((nY + tileSize - 1) / tileSize);
+        pixelsOffset = HEADER_SIZE + (tiles + 7) / 8;
+        bands = new MappedByteBuffer[(nY + tileSize - 1) / tileSize];
+
+        FileChannel opened = null;
+        try {
+            opened = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            channel = opened;
+            long size = pixelsOffset + 4L * nX * nY;
+            boolean resumed = channel.size() == size;
+            if (!resumed)
+                channel.truncate(0);
+            bitmap = channel.map(FileChannel.MapMode.READ_WRITE, 0, pixelsOffset);
+            if (resumed && (bitmap.getInt(0) != MAGIC || bitmap.getInt(4) != VERSION || bitmap.getInt(8) != nX
+                    || bitmap.getInt(12) != nY || bitmap.getInt(16) != tileSize)) {
+                // another image of the same size - start anew
+                for (int i = HEADER_SIZE; i < pixelsOffset; ++i)
+                    bitmap.put(i, (byte) 0);
+                resumed = false;
+            }
+            if (!resumed) {
+                channel.write(ByteBuffer.allocate(1), size - 1); // extends the file
+                bitmap.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, nX).putInt(12, nY).putInt(16, tileSize);
+            }
+        } catch (IOException | RuntimeException e) {
+            // the store isn't constructed, so nobody else can close its file
+            if (opened != null)
+                try {
+                    opened.close();
+                } catch (IOException closing) {
+                    e.addSuppressed(closing);
+                }
+            if (e instanceof RuntimeException runtime)
+                throw runtime;
+            throw new IllegalStateException("I/O error opening the tile store " + path, e);
+        }
+    }
+
+    /**
+     * Gets the index of a tile's bit in the completion bitmap.
+     * @param  tile the tile
+     * @return      the index of the tile's bit
+     */
+    private int index(Tile tile) {
+        return tile.y() / tileSize * tilesAcross + tile.x() / tileSize;
+    }
+
+    /**
+     * Checks whether a tile was finished.
+     * @param  tile the tile
+     * @return      true if the tile's pixels are stored, false otherwise
+     */
+    synchronized boolean isFinished(Tile tile) {
+        int index = index(tile);
+        return (bitmap.get(HEADER_SIZE + (index >> 3)) & 1 << (index & 7)) != 0;
+    }
+
+    /**
+     * Gets the mapping of a band of the pixels, mapping it on its first use.
+     * @param  y a row of the band
+     * @return   the mapping of the band, beginning at the band's first row
+     * @throws IllegalStateException on an I/O error
+     */
+    private synchronized MappedByteBuffer band(int y) {
+        int band = y / tileSize;
+        if (bands[band] == null)
+            try {
+                long rows = Math.min(tileSize, nY - (long) band * tileSize);
+                bands[band] = channel.map(FileChannel.MapMode.READ_WRITE,
+                        pixelsOffset + 4L * nX * band * tileSize, 4L * nX * rows);
+            } catch (IOException e) {
+                throw new IllegalStateException("I/O error mapping the tile store", e);
+            }
+        return bands[band];
+    }
+
+    /**
+     * Stores the pixels of a finished tile and marks it as finished.
+     * The pixels are stored before the tile is marked, so a marked tile is always complete.
+     * @param tile        the tile
+     * @param imageWriter the image the tile was rendered into
+     */
+    void save(Tile tile, ImageWriter imageWriter) {
+        MappedByteBuffer band = band(tile.y());
+        int bandY = tile.y() / tileSize * tileSize;
+        for (int y = tile.y(); y < tile.y() + tile.height(); ++y)
+            for (int x = tile.x(); x < tile.x() + tile.width(); ++x)
+                band.putInt(4 * ((y - bandY) * nX + x), imageWriter.readRGB(x, y));
+
+        int index = index(tile);
+        synchronized (this) {
+            int offset = HEADER_SIZE + (index >> 3);
+            bitmap.put(offset, (byte) (bitmap.get(offset) | 1 << (index & 7)));
+        }
+    }
+
+    /**
+     * Loads the pixels of a finished tile into an image.
+     * @param tile        the tile
+     * @param imageWriter the image
+     */
+    void load(Tile tile, ImageWriter imageWriter) {
+        MappedByteBuffer band = band(tile.y());
+        int bandY = tile.y() / tileSize * tileSize;
+        for (int y = tile.y(); y < tile.y() + tile.height(); ++y)
+            for (int x = tile.x(); x < tile.x() + tile.width(); ++x)
+                imageWriter.writeRGB(x, y, band.getInt(4 * ((y - bandY) * nX + x)));
+    }
+
+    /**
+     * Forces the store to the disk and closes its file.
+     * The mappings are dropped, so they can be unmapped, which some systems (e.g., Windows) require
+     * before the file is deleted.
+     * @throws IllegalStateException on an I/O error
+     */
+    @Override
+    public synchronized void close() {
+        if (bitmap == null)
+            return;
+        try {
+            for (int i = 0; i < bands.length; ++i)
+                if (bands[i] != null) {
+                    bands[i].force();
+                    bands[i] = null;
+                }
+            bitmap.force();
+            bitmap = null;
+            channel.close();
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error closing the tile store", e);
+        }
+    }
+
+    /**
+     * Deletes the file of a tile store, if it exists.
+     * The deletion is best-effort: the image was already written, so a file that can't be deleted now
+     * (e.g., while a mapping of it isn't unmapped yet) is deleted when the program exits instead.
+     * @param path the path of the store's file
+     */
+    static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            path.toFile().deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package renderer;
+
+/**
+ * The ToneMapper interface maps a linear color component of any brightness to the displayable range,
+ * before the gamma correction, when an image with a high dynamic range is written.
+ * The component is normalized, 1 is the printed white (a component of 255).
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+@FunctionalInterface
+public interface ToneMapper {
+    /**
+     * Clamping: the components above the white are set to the white, as in the 8-bit images
+     */
+    ToneMapper CLAMP = x -> Math.min(x, 1);
+
+    /**
+     * Reinhard's operator x / (1 + x), which compresses the bright components smoothly and never saturates
+     */
+    ToneMapper REINHARD = x -> x / (1 + x);
+
+    /**
+     * The ACES filmic curve (Narkowicz's fit), which keeps the contrast of the mid-tones
+     * and saturates the highlights softly
+     */
+    ToneMapper ACES = x -> Math.min(1, x * (2.51 * x + 0.03) / (x * (2.43 * x + 0.59) + 0.14));
+
+    /**
+     * Maps a linear color component to the displayable range.
+     * @param x the normalized linear component, non-negative
+     * @return the mapped component, between 0 and 1
+     */
+    double map(double x);
+}
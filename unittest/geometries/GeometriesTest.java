@@ -5,6 +5,10 @@ import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -156,4 +160,298 @@ class GeometriesTest {
         assertNotNull(result14, "Can't be empty list");
         assertEquals(4, result14.size(), "Wrong number of points");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link Geometries#buildBvh()}.
+     */
+    @Test
+    void testBuildBvh() {
+        // The axis vector of ray to (0,0,1)
+        final Vector v001 = new Vector(0, 0, 1);
+        // A ray for test
+        final Ray ray = new Ray(new Point(1, 1, 1), v001);
+
+        // A plane used in some test cases - 1 intersection with ray (unbounded)
+        final Plane plane = new Plane(new Point(-1, 3, 3), v001);
+        // A triangle used in some test cases - 1 intersection with ray
+        final Triangle triangle = new Triangle(new Point(0, 2, 2), new Point(2, 2, 2), new Point(0, -1, 4));
+        // A sphere used in some test cases - 2 intersections with ray
+        final Sphere sphere = new Sphere(new Point(1, 1, 4), 1);
+        // A cylinder used in some test cases - 2 intersections with ray
+        final Cylinder cylinder = new Cylinder(2, new Ray(new Point(1, 1, 6), v001), 6);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Bounded, unbounded and nested geometries, some intersections within range and some not
+        final var result01 = new Geometries(plane, new Geometries(triangle, sphere), cylinder).buildBvh()
+                .calculateIntersections(ray, 4.5);
+        assertNotNull(result01, "Can't be empty list");
+        assertEquals(4, result01.size(), "Wrong number of points");
+
+        // TC02: Random rays through a field of triangles give the same intersections as without the hierarchy
+        Random random = new Random(11);
+        Geometries triangles = new Geometries();
+        for (int i = 0; i < 500; ++i) {
+            Point p = new Point(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100);
+            triangles.add(new Triangle(p, p.add(new Vector(random.nextDouble() * 5 + 1, 0, random.nextDouble())),
+                    p.add(new Vector(0, random.nextDouble() * 5 + 1, random.nextDouble()))));
+        }
+        Geometries hierarchy = new Geometries(triangles).buildBvh();
+        for (int i = 0; i < 500; ++i) {
+            Ray randomRay = new Ray(new Point(random.nextDouble() * 100, random.nextDouble() * 100, -10),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, 1));
+            var expected = triangles.calculateIntersections(randomRay);
+            var result = hierarchy.calculateIntersections(randomRay);
+            assertEquals(expected == null ? 0 : expected.size(), result == null ? 0 : result.size(),
+                    "Wrong number of points");
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: There are no geometries at all
+        assertNull(new Geometries().buildBvh().calculateIntersections(ray), "No geometries");
+
+        // TC12: Adding a geometry after the build - the new geometry is intersected too
+        final Geometries geometries = new Geometries(triangle).buildBvh();
+        geometries.add(sphere);
+        assertEquals(3, geometries.calculateIntersections(ray).size(), "Wrong number of points");
+    }
+
+    /**
+     * Test method for {@link Geometries#setBoundingBoxCulling(boolean)}.
+     */
+    @Test
+    void testBoundingBoxCulling() {
+        // The axis vector of ray to (0,0,1)
+        final Vector v001 = new Vector(0, 0, 1);
+        // A ray for test
+        final Ray ray = new Ray(new Point(1, 1, 1), v001);
+
+        // A plane used in some test cases - 1 intersection with ray (unbounded)
+        final Plane plane = new Plane(new Point(-1, 3, 3), v001);
+        // A triangle used in some test cases - 1 intersection with ray
+        final Triangle triangle = new Triangle(new Point(0, 2, 2), new Point(2, 2, 2), new Point(0, -1, 4));
+        // A sphere used in some test cases - 2 intersections with ray
+        final Sphere sphere = new Sphere(new Point(1, 1, 4), 1);
+        // A sphere used in some test cases - 0 intersections with ray
+        final Sphere farSphere = new Sphere(new Point(10, 1, 4), 1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Culling gives the same intersections, also for geometries added later
+        final Geometries geometries = new Geometries(plane, triangle);
+        geometries.setBoundingBoxCulling(true);
+        geometries.add(new Geometries(sphere, farSphere));
+        final var result01 = geometries.calculateIntersections(ray);
+        assertNotNull(result01, "Can't be empty list");
+        assertEquals(4, result01.size(), "Wrong number of points");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Culled geometry whose box is beyond the maximum distance
+        sphere.setBoundingBoxCulling(true);
+        assertNull(sphere.calculateIntersections(ray, 1.5), "Sphere is beyond the maximum distance");
+    }
+
+    /**
+     * Test method for {@link Intersectable#findClosestHit(Ray, double, Intersectable.Hit)}.
+     */
+    @Test
+    void testFindClosestHit() {
+        // The axis vector of ray to (0,0,1)
+        final Vector v001 = new Vector(0, 0, 1);
+        // A ray for test
+        final Ray ray = new Ray(new Point(1, 1, 1), v001);
+
+        // A triangle used in some test cases - 1 intersection with ray at distance 1.67
+        final Triangle triangle = new Triangle(new Point(0, 2, 2), new Point(2, 2, 2), new Point(0, -1, 4));
+        // A sphere used in some test cases - 2 intersections with ray at distances 2 and 4
+        final Sphere sphere = new Sphere(new Point(1, 1, 4), 1);
+        // A cylinder used in some test cases - the bottom base at distance 5
+        final Cylinder cylinder = new Cylinder(2, new Ray(new Point(1, 1, 6), v001), 6);
+        final Intersectable.Hit hit = new Intersectable.Hit();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The closest of several geometries is found
+        assertTrue(new Geometries(cylinder, sphere, triangle).findClosestHit(ray, Double.POSITIVE_INFINITY, hit),
+                "Closest hit not found");
+        assertSame(triangle, hit.geometry, "Wrong geometry");
+        assertEquals(5d / 3, hit.t, 1e-10, "Wrong distance");
+
+        // TC02: A closer hit found before isn't replaced
+        assertFalse(sphere.findClosestHit(ray, Double.POSITIVE_INFINITY, hit), "Farther hit recorded");
+        assertSame(triangle, hit.geometry, "Wrong geometry");
+
+        // TC03: The part of a cylinder is recorded
+        assertTrue(cylinder.findClosestHit(ray, Double.POSITIVE_INFINITY, hit.reset()), "Closest hit not found");
+        assertEquals(1, hit.primitive, "Wrong part of the cylinder");
+        assertEquals(5, hit.t, 1e-10, "Wrong distance");
+
+        // TC04: Random rays through all kinds of geometries give the same closest intersection as the lists
+        Random random = new Random(5);
+        Geometries geometries = new Geometries(new Plane(new Point(0, 0, -50), new Vector(0.1, 0.2, 1)),
+                new Tube(3, new Ray(new Point(50, 50, 0), new Vector(1, 1, 0))));
+        for (int i = 0; i < 60; ++i) {
+            Point p = new Point(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100);
+            Vector v = new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() + 0.1)
+                    .normalize();
+            geometries.add(switch (i % 5) {
+                case 0 -> new Sphere(p, random.nextDouble() * 5 + 1);
+                case 1 -> new Triangle(p, p.add(new Vector(6, 0, 1)), p.add(new Vector(0, 6, 2)));
+                case 2 -> new Polygon(p, p.add(new Vector(6, 0, 0)), p.add(new Vector(6, 6, 1)),
+                        p.add(new Vector(0, 6, 1)));
+                case 3 -> new Circle(p, random.nextDouble() * 5 + 1, v);
+                default -> new Cylinder(random.nextDouble() * 3 + 1, new Ray(p, v), random.nextDouble() * 8 + 1);
+            });
+        }
+        Geometries hierarchy = new Geometries(geometries).buildBvh();
+        for (int i = 0; i < 2000; ++i) {
+            Ray randomRay = new Ray(new Point(random.nextDouble() * 100, random.nextDouble() * 100, -10),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, 1));
+            var expected = randomRay.findClosestIntersection(geometries.calculateIntersections(randomRay));
+            for (Intersectable intersectable : new Intersectable[]{geometries, hierarchy}) {
+                boolean found = intersectable.findClosestHit(randomRay, Double.POSITIVE_INFINITY, hit.reset());
+                assertEquals(expected != null, found, "Wrong closest hit existence");
+                if (found) {
+                    assertSame(expected.geometry, hit.geometry, "Wrong geometry");
+                    assertEquals(expected.point, randomRay.getPoint(hit.t), "Wrong point");
+                }
+            }
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: All the intersections are beyond the maximum distance
+        assertFalse(new Geometries(sphere, triangle).findClosestHit(ray, 1.5, hit.reset()), "Hit beyond the maximum");
+        assertNull(hit.geometry, "Hit beyond the maximum recorded");
+
+        // TC12: There are no geometries at all
+        assertFalse(new Geometries().findClosestHit(ray, Double.POSITIVE_INFINITY, hit.reset()), "No geometries");
+
+        // TC13: A hit recorded before is closer than all the geometries - nothing is recorded, also with the hierarchy
+        assertTrue(triangle.findClosestHit(ray, Double.POSITIVE_INFINITY, hit.reset()), "Closest hit not found");
+        assertFalse(new Geometries(sphere, cylinder).buildBvh().findClosestHit(ray, Double.POSITIVE_INFINITY, hit),
+                "Farther hit recorded");
+        assertSame(triangle, hit.geometry, "Wrong geometry");
+    }
+
+    /**
+     * Test method for {@link Intersectable#occluded(Ray, double, Intersectable.OcclusionAccumulator)}.
+     */
+    @Test
+    void testOccluded() {
+        // The axis vector of ray to (0,0,1)
+        final Vector v001 = new Vector(0, 0, 1);
+        // A ray for test
+        final Ray ray = new Ray(new Point(1, 1, 1), v001);
+
+        // A triangle used in some test cases - 1 intersection with ray
+        final Triangle triangle = new Triangle(new Point(0, 2, 2), new Point(2, 2, 2), new Point(0, -1, 4));
+        // A sphere used in some test cases - 2 intersections with ray
+        final Sphere sphere = new Sphere(new Point(1, 1, 4), 1);
+        // A cylinder used in some test cases - 2 intersections with ray
+        final Cylinder cylinder = new Cylinder(2, new Ray(new Point(1, 1, 6), v001), 6);
+        final Geometries geometries = new Geometries(triangle, sphere, cylinder);
+        final List<Geometry> accepted = new ArrayList<>();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The accumulator never stops - all the intersections are passed, in the order of the list
+        assertFalse(geometries.occluded(ray, Double.POSITIVE_INFINITY, accepted::add), "Query stopped");
+        assertEquals(geometries.calculateIntersections(ray).stream().map(i -> i.geometry).toList(), accepted,
+                "Wrong intersections");
+
+        // TC02: The accumulator stops at the sphere - the cylinder is not passed
+        accepted.clear();
+        assertTrue(geometries.occluded(ray, Double.POSITIVE_INFINITY, g -> accepted.add(g) && g != sphere),
+                "Query not stopped");
+        assertEquals(List.of(triangle, sphere), accepted, "Wrong intersections");
+
+        // TC03: Random rays through a hierarchy of spheres and triangles pass the same intersections as its list
+        Random random = new Random(13);
+        Geometries hierarchy = new Geometries();
+        for (int i = 0; i < 200; ++i) {
+            Point p = new Point(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100);
+            hierarchy.add(i % 2 == 0 ? new Sphere(p, random.nextDouble() * 5 + 1)
+                    : new Triangle(p, p.add(new Vector(6, 0, 1)), p.add(new Vector(0, 6, 2))));
+        }
+        hierarchy.buildBvh();
+        for (int i = 0; i < 500; ++i) {
+            Ray randomRay = new Ray(new Point(random.nextDouble() * 100, random.nextDouble() * 100, -10),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, 1));
+            var expected = hierarchy.calculateIntersections(randomRay, 80);
+            accepted.clear();
+            assertFalse(hierarchy.occluded(randomRay, 80, accepted::add), "Query stopped");
+            assertEquals(expected == null ? List.of() : expected.stream().map(in -> in.geometry).toList(), accepted,
+                    "Wrong intersections");
+        }
+
+        // TC04: Random rays through tubes and cylinders pass the same intersections as their lists
+        for (int i = 0; i < 500; ++i) {
+            Ray axis = new Ray(new Point(random.nextDouble() * 20, random.nextDouble() * 20, random.nextDouble() * 20),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() - 0.5));
+            Geometry tube = i % 2 == 0 ? new Tube(random.nextDouble() * 5 + 1, axis)
+                    : new Cylinder(random.nextDouble() * 5 + 1, axis, random.nextDouble() * 10 + 1);
+            Ray randomRay = new Ray(new Point(random.nextDouble() * 20, random.nextDouble() * 20, -10),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, 1));
+            var expected = tube.calculateIntersections(randomRay, 40);
+            accepted.clear();
+            assertFalse(tube.occluded(randomRay, 40, accepted::add), "Query stopped");
+            assertEquals(expected == null ? List.of() : expected.stream().map(in -> in.geometry).toList(), accepted,
+                    "Wrong intersections");
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: All the intersections are beyond the maximum distance
+        assertFalse(geometries.occluded(ray, 0.5, g -> false), "Query stopped beyond the maximum");
+        // TC12: The accumulator stops at the cylinder's first intersection - its second is not passed
+        accepted.clear();
+        assertTrue(cylinder.occluded(ray, Double.POSITIVE_INFINITY, g -> !accepted.add(g)),
+                "Query not stopped");
+        assertEquals(List.of(cylinder), accepted, "Wrong intersections");
+    }
+
+    /**
+     * Test method for {@link geometries.Intersectable#setProbe(IntersectionProbe)}.
+     */
+    @Test
+    void testSetProbe() {
+        // The axis vector of ray to (0,0,1)
+        final Vector v001 = new Vector(0, 0, 1);
+        // A ray for test
+        final Ray ray = new Ray(new Point(1, 1, 1), v001);
+
+        // A triangle used in some test cases - 1 intersection with ray
+        final Triangle triangle = new Triangle(new Point(0, 2, 2), new Point(2, 2, 2), new Point(0, -1, 4));
+        // A sphere used in some test cases - 2 intersections with ray
+        final Sphere sphere = new Sphere(new Point(1, 1, 4), 1);
+        // A cylinder used in some test cases - 2 intersections with ray
+        final Cylinder cylinder = new Cylinder(2, new Ray(new Point(1, 1, 6), v001), 6);
+        // A sphere the ray misses
+        final Sphere missed = new Sphere(new Point(10, 10, 4), 1);
+        final Geometries geometries = new Geometries(triangle, sphere, cylinder, missed);
+        final List<String> tests = new ArrayList<>();
+
+        Intersectable.setProbe((geometry, hit) -> tests.add(geometry.getClass().getSimpleName() + ":" + hit));
+        try {
+            // ============ Equivalence Partitions Tests ==============
+            // TC01: A closest-hit query - only the triangle is closer than the hits found before it
+            geometries.findClosestHit(ray, Double.POSITIVE_INFINITY, new Intersectable.Hit());
+            assertEquals(List.of("Triangle:true", "Sphere:false", "Cylinder:false", "Sphere:false"), tests,
+                    "Wrong closest-hit tests");
+
+            // TC02: An occlusion query - every intersected geometry is a hit, until the query stops
+            tests.clear();
+            geometries.occluded(ray, Double.POSITIVE_INFINITY, geometry -> geometry != sphere);
+            assertEquals(List.of("Triangle:true", "Sphere:true"), tests, "Wrong occlusion tests");
+
+            // TC03: A list query - the geometries of the cylinder (its bases) aren't probed on their own
+            tests.clear();
+            geometries.calculateIntersections(ray);
+            assertEquals(List.of("Triangle:true", "Sphere:true", "Cylinder:true", "Sphere:false"), tests,
+                    "Wrong list tests");
+        } finally {
+            Intersectable.setProbe(null);
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: No probe - nothing is probed
+        tests.clear();
+        geometries.findClosestHit(ray, Double.POSITIVE_INFINITY, new Intersectable.Hit());
+        assertTrue(tests.isEmpty(), "Probed without a probe");
+    }
+}
@@ -0,0 +1,153 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing RegularGrid
+ * @author Yair Ziv and Amitay Yosh'i
+ */
+class RegularGridTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    RegularGridTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link RegularGrid#calculateIntersections(Ray, double)}.
+     */
+    @Test
+    void testCalculateIntersections() {
+        // The axis vector of ray to (0,0,1)
+        final Vector v001 = new Vector(0, 0, 1);
+        // A ray for test
+        final Ray ray = new Ray(new Point(1, 1, 1), v001);
+
+        // A plane used in some test cases - 1 intersection with ray (unbounded)
+        final Plane plane = new Plane(new Point(-1, 3, 3), v001);
+        // A polygon used in some test cases - 1 intersection with ray
+        final Polygon polygon = new Polygon(new Point(0, 2, 1), new Point(2, 2, 1),
+                new Point(2, -1, 3), new Point(0, -1, 3));
+        // A triangle used in some test cases - 1 intersection with ray
+        final Triangle triangle = new Triangle(new Point(0, 2, 2), new Point(2, 2, 2), new Point(0, -1, 4));
+        // A sphere used in some test cases - 2 intersections with ray
+        final Sphere sphere = new Sphere(new Point(1, 1, 4), 1);
+        // A sphere far from the ray - 0 intersections with ray
+        final Sphere farSphere = new Sphere(new Point(50, 50, 50), 1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Bounded and unbounded geometries, some intersections within range and some not
+        final var result01 = new RegularGrid(new Geometries(plane, polygon, triangle, sphere, farSphere))
+                .calculateIntersections(ray, 1.8);
+        assertNotNull(result01, "Can't be empty list");
+        assertEquals(2, result01.size(), "Wrong number of points");
+
+        // TC02: Nested geometries, all intersections within range, each geometry is counted once
+        final var result02 = new RegularGrid(new Geometries(plane, new Geometries(polygon, triangle),
+                sphere, farSphere)).calculateIntersections(ray);
+        assertNotNull(result02, "Can't be empty list");
+        assertEquals(5, result02.size(), "Wrong number of points");
+
+        // TC03: Ray misses the grid's box
+        assertNull(new RegularGrid(new Geometries(polygon, triangle, sphere))
+                .calculateIntersections(new Ray(new Point(10, 10, 0), v001)), "Ray misses the grid");
+
+        // TC04: Random rays through a field of spheres give the same intersections as the geometries list
+        Random random = new Random(7);
+        Geometries spheres = new Geometries();
+        for (int i = 0; i < 200; ++i)
+            spheres.add(new Sphere(new Point(random.nextDouble() * 100, random.nextDouble() * 100,
+                    random.nextDouble() * 100), random.nextDouble() * 3 + 0.5));
+        RegularGrid grid = new RegularGrid(spheres);
+        for (int i = 0; i < 500; ++i) {
+            Ray randomRay = new Ray(new Point(random.nextDouble() * 100, random.nextDouble() * 100, -10),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, 1));
+            var expected = spheres.calculateIntersections(randomRay);
+            var result = grid.calculateIntersections(randomRay);
+            assertEquals(expected == null ? 0 : expected.size(), result == null ? 0 : result.size(),
+                    "Wrong number of points");
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: There are no geometries at all
+        assertNull(new RegularGrid(new Geometries()).calculateIntersections(ray), "No geometries");
+
+        // TC12: Only unbounded geometries
+        assertEquals(1, new RegularGrid(new Geometries(plane)).calculateIntersections(ray).size(),
+                "Wrong number of points");
+
+        // TC13: Flat grid - all the geometries are in the same plane, the ray is in the plane's direction
+        final Triangle flat1 = new Triangle(new Point(0, 0, 0), new Point(2, 0, 0), new Point(0, 2, 0));
+        final Triangle flat2 = new Triangle(new Point(5, 5, 0), new Point(7, 5, 0), new Point(5, 7, 0));
+        final var result13 = new RegularGrid(new Geometries(flat1, flat2))
+                .calculateIntersections(new Ray(new Point(5.5, 5.5, 10), new Vector(0, 0, -1)));
+        assertNotNull(result13, "Can't be empty list");
+        assertEquals(1, result13.size(), "Wrong number of points");
+    }
+
+    /**
+     * Test method for {@link RegularGrid#findClosestHit(Ray, double, Intersectable.Hit)}.
+     */
+    @Test
+    void testFindClosestHit() {
+        // The axis vector of ray to (0,0,1)
+        final Vector v001 = new Vector(0, 0, 1);
+        // A ray for test
+        final Ray ray = new Ray(new Point(1, 1, 1), v001);
+        final Intersectable.Hit hit = new Intersectable.Hit();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Random rays through a field of spheres and triangles give the same closest intersection as the list
+        Random random = new Random(3);
+        Geometries geometries = new Geometries(new Plane(new Point(0, 0, 120), v001));
+        for (int i = 0; i < 200; ++i) {
+            Point p = new Point(random.nextDouble() * 100, random.nextDouble() * 100, random.nextDouble() * 100);
+            geometries.add(i % 2 == 0 ? new Sphere(p, random.nextDouble() * 3 + 0.5)
+                    : new Triangle(p, p.add(new Vector(4, 0, 1)), p.add(new Vector(0, 4, 2))));
+        }
+        RegularGrid grid = new RegularGrid(geometries);
+        for (int i = 0; i < 1000; ++i) {
+            Ray randomRay = new Ray(new Point(random.nextDouble() * 100, random.nextDouble() * 100, -10),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, 1));
+            var expected = randomRay.findClosestIntersection(geometries.calculateIntersections(randomRay));
+            assertTrue(grid.findClosestHit(randomRay, Double.POSITIVE_INFINITY, hit.reset()), "Closest hit not found");
+            assertSame(expected.geometry, hit.geometry, "Wrong geometry");
+            assertEquals(expected.point, randomRay.getPoint(hit.t), "Wrong point");
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: There are no geometries at all
+        assertFalse(new RegularGrid(new Geometries()).findClosestHit(ray, Double.POSITIVE_INFINITY, hit.reset()),
+                "No geometries");
+    }
+
+    /**
+     * Test method for {@link RegularGrid#occluded(Ray, double, Intersectable.OcclusionAccumulator)}.
+     */
+    @Test
+    void testOccluded() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Random rays through a field of spheres count the same intersections as the list
+        Random random = new Random(17);
+        Geometries spheres = new Geometries();
+        for (int i = 0; i < 200; ++i)
+            spheres.add(new Sphere(new Point(random.nextDouble() * 100, random.nextDouble() * 100,
+                    random.nextDouble() * 100), random.nextDouble() * 3 + 0.5));
+        RegularGrid grid = new RegularGrid(spheres);
+        for (int i = 0; i < 500; ++i) {
+            Ray randomRay = new Ray(new Point(random.nextDouble() * 100, random.nextDouble() * 100, -10),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, 1));
+            var expected = spheres.calculateIntersections(randomRay, 60);
+            int[] count = {0};
+            assertFalse(grid.occluded(randomRay, 60, g -> ++count[0] > 0), "Query stopped");
+            assertEquals(expected == null ? 0 : expected.size(), count[0], "Wrong number of intersections");
+
+            // TC02: Stopping at the first intersection
+            assertEquals(expected != null, grid.occluded(randomRay, 60, g -> false), "Wrong occlusion");
+        }
+    }
+}
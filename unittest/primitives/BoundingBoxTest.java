@@ -0,0 +1,81 @@
+package primitives;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing BoundingBox
+ * @author Yair Ziv and Amitay Yosh'i
+ */
+class BoundingBoxTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    BoundingBoxTest() { /* to satisfy JavaDoc generator */ }
+
+    /** A box for tests from (0,0,0) to (2,2,2) */
+    private final BoundingBox box = BoundingBox.of(List.of(Point.ZERO, new Point(2, 2, 2)));
+
+    /** Delta value for accuracy when comparing the numbers of type 'double' in assertEquals */
+    private static final double DELTA = 0.000001;
+
+    /**
+     * Test method for {@link BoundingBox#entryDistance(Ray, double)}.
+     */
+    @Test
+    void testEntryDistance() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Ray enters the box
+        assertEquals(1, box.entryDistance(new Ray(new Point(1, 1, -1), new Vector(0, 0, 1)),
+                Double.POSITIVE_INFINITY), DELTA, "Wrong entry distance");
+
+        // TC02: Ray starts inside the box
+        assertEquals(0, box.entryDistance(new Ray(new Point(1, 1, 1), new Vector(1, 2, 3)),
+                Double.POSITIVE_INFINITY), DELTA, "Wrong entry distance");
+
+        // TC03: Ray misses the box diagonally
+        assertFalse(box.intersects(new Ray(new Point(3, -1, 1), new Vector(1, 1, 0)), Double.POSITIVE_INFINITY),
+                "Ray misses the box");
+
+        // TC04: Ray points away from the box
+        assertFalse(box.intersects(new Ray(new Point(1, 1, -1), new Vector(0, 0, -1)), Double.POSITIVE_INFINITY),
+                "Box is behind the ray");
+
+        // TC05: Box is beyond the maximum distance
+        assertFalse(box.intersects(new Ray(new Point(1, 1, -1), new Vector(0, 0, 1)), 0.5),
+                "Box is beyond the maximum distance");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Ray parallel to an axis, outside the box's slab
+        assertFalse(box.intersects(new Ray(new Point(3, 1, -1), new Vector(0, 0, 1)), Double.POSITIVE_INFINITY),
+                "Ray parallel to the box misses it");
+
+        // TC12: Ray parallel to an axis, on the box's face
+        assertTrue(box.intersects(new Ray(new Point(2, 1, -1), new Vector(0, 0, 1)), Double.POSITIVE_INFINITY),
+                "Ray on the box's face");
+
+        // TC13: Ray with a negative direction
+        assertEquals(1, box.entryDistance(new Ray(new Point(3, 1, 1), new Vector(-1, 0, 0)),
+                Double.POSITIVE_INFINITY), DELTA, "Wrong entry distance");
+    }
+
+    /**
+     * Test method for {@link BoundingBox#union(BoundingBox)}.
+     */
+    @Test
+    void testUnion() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Union of two separate boxes
+        assertEquals(new BoundingBox(-1, 0, 0, 2, 3, 2),
+                box.union(new BoundingBox(-1, 1, 1, 0, 3, 1)), "Wrong union box");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Union with a box inside the box
+        assertEquals(box, box.union(new BoundingBox(1, 1, 1, 1, 1, 1)), "Wrong union box");
+
+        // TC12: Illegal box
+        assertThrows(IllegalArgumentException.class, () -> new BoundingBox(1, 0, 0, 0, 1, 1),
+                "Minimal coordinate bigger than the maximal");
+    }
+}
@@ -51,6 +51,22 @@ class PointTest {
                 "ERROR: Point + Vector does not work correctly");
     }
 
+    /**
+     * Test method for {@link Point#add(Vector, double)}.
+     */
+    @Test
+    void testAddScaled() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Test that adds a scaled vector to a point and compares it to the expected result.
+        assertEquals(new Point(1, 8, -1), new Point(1, 2, 3).add(new Vector(0, 3, -2), 2),
+                "ERROR: Point + Vector * Scalar does not work correctly");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Test that adds a vector scaled by zero - the point itself.
+        assertEquals(new Point(1, 2, 3), new Point(1, 2, 3).add(new Vector(0, 3, -2), 0),
+                "ERROR: Point + Vector * 0 does not work correctly");
+    }
+
     /**
      * Test method for {@link Point#distanceSquared(Point)}.
      */
@@ -81,6 +81,25 @@ class VectorTest {
                 "ERROR: Vector + -itself does not throw an exception");
     }
 
+    /**
+     * Test method for {@link Vector#add(Vector, double)}.
+     */
+    @Test
+    void testAddScaled() {
+        // A vector for tests to (1,2,3)
+        final Vector V1 = new Vector(1, 2, 3);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Test that adds a scaled vector and compares it to the expected result.
+        assertEquals(new Vector(1, 8, -1), V1.add(new Vector(0, 3, -2), 2),
+                "ERROR: Vector + Vector * Scalar does not work correctly");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Test that adds a vector scaled to its opposite and check it throws an exception.
+        assertThrows(IllegalArgumentException.class, () -> V1.add(new Vector(2, 4, 6), -0.5),
+                "ERROR: Vector + -itself does not throw an exception");
+    }
+
     /**
      * Test method for {@link Vector#scale(double)}.
      */
@@ -215,5 +234,26 @@ class VectorTest {
         // TC01: Test that normalizes a vector and compares it to the expected result.
         assertEquals(new Vector(0, 0.6, 0.8), new Vector(0, 3, 4).normalize(),
                 "ERROR: Vector normalize does not work correctly");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Test that normalizing a unit vector gives the same vector.
+        assertEquals(Vector.AXIS_Y, Vector.AXIS_Y.normalize(),
+                "ERROR: Vector normalize of a unit vector does not work correctly");
+    }
+
+    /**
+     * Test method for {@link Vector#dotProduct(double, double, double, double, double, double)}.
+     */
+    @Test
+    void testComponents() {
+        // A vector for tests to (1,2,3)
+        final Vector V1 = new Vector(1, 2, 3);
+        // A vector for tests to (-2,-4,-6)
+        final Vector V2 = new Vector(-2, -4, -6);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Test that the dot product of components is as the dot product of the vectors.
+        assertEquals(V1.dotProduct(V2), Vector.dotProduct(1, 2, 3, -2, -4, -6), DELTA,
+                "ERROR: dotProduct of components does not work correctly");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package renderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderFixture.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+
+/**
+ * Testing the adaptive sampling of the pixels, driven by their variance
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class AdaptiveSamplingTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    AdaptiveSamplingTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link Camera.Builder#setAdaptiveSampling(int, int, double, Duration)}.
+     */
+    @Test
+    void testAdaptiveSampling() {
+        Camera.Builder builder = builder(edgeScene(), 100, 100, 20, 20).setStatistics(true)
+                .setAdaptiveSampling(4, 64, 2, null);
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: the flat pixels keep their initial rays, and only the pixels on the sphere's edge get more
+        Camera camera = builder.build().renderImage();
+        long rays = camera.getStatistics().getRays(RenderStatistics.RayType.PRIMARY);
+        assertTrue(rays > 4 * 20 * 20, "The edge of the sphere didn't get more rays");
+        assertTrue(rays < 16 * 20 * 20, "The flat pixels got more rays");
+
+        // EP02: a render on several threads with other tiles is the same image
+        assertSameImage(camera.toImage(), builder.setMultithreading(3).setTileSize(3).build().renderImage().toImage(),
+                "The adaptive sampling isn't reproducible");
+
+        // =============== Boundary Values Tests ==================
+        // BV01: a spent budget stops after the initial rays
+        camera = builder.setAdaptiveSampling(4, 64, 2, Duration.ZERO).build().renderImage();
+        assertEquals(4 * 20 * 20, camera.getStatistics().getRays(RenderStatistics.RayType.PRIMARY),
+                "The budget wasn't kept");
+
+        // BV02: illegal arguments, and the adaptive sampling together with the adaptive supersampling or a checkpoint
+        assertThrows(IllegalArgumentException.class, () -> builder.setAdaptiveSampling(1, 64, 2, null),
+                "A single initial ray");
+        assertThrows(IllegalArgumentException.class, () -> builder.setAdaptiveSampling(8, 4, 2, null),
+                "More initial rays than the largest number");
+        assertThrows(IllegalArgumentException.class, () -> builder.setAdaptiveSampling(4, 64, -1, null),
+                "Negative error");
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.setAdaptiveSampling(4, 64, 2, Duration.ofSeconds(-1)), "Negative budget");
+        assertThrows(IllegalArgumentException.class, () -> builder.setAdaptiveSupersampling(2, 10).build(),
+                "Adaptive sampling with adaptive supersampling");
+        builder.setAdaptiveSupersampling(0, 0);
+        assertThrows(IllegalArgumentException.class, () -> builder.setCheckpoint("adaptiveSampling").build(),
+                "Adaptive sampling with a checkpoint");
+    }
+}
@@ -0,0 +1,57 @@
+package renderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderFixture.*;
+
+import org.junit.jupiter.api.Test;
+
+import primitives.Point;
+import primitives.Vector;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Testing the writing of images while the next ones are rendered
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class AsyncWriteTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    AsyncWriteTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link renderer.Camera#writeToImageAsync(String)}.
+     * @throws Exception if an image can't be read or its write failed
+     */
+    @Test
+    void testWriteToImageAsync() throws Exception {
+        Camera.Builder builder = builder(diffuseScene(), 100, 100, 40, 40);
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: frames of a sequence are rendered while the previous ones are written, and equal the written frames
+        List<BufferedImage> frames = new ArrayList<>();
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (int frame = 0; frame < 4; ++frame) {
+            Camera camera = builder.setLocation(new Point(10 * frame, 0, 1000)).setDirection(Point.ZERO, Vector.AXIS_Y)
+                    .build().renderImage();
+            frames.add(camera.toImage());
+            writes.add(camera.writeToImageAsync("asyncFrame" + frame));
+        }
+        for (CompletableFuture<Void> write : writes)
+            write.get();
+        for (int frame = 0; frame < 4; ++frame)
+            assertSameImage(frames.get(frame), ImageIO.read(new File("images/asyncFrame" + frame + ".png")),
+                    "Frame " + frame);
+
+        // =============== Boundary Values Tests ==================
+        // BV01: the camera keeps its image after writing a copy of it
+        Camera camera = builder.build().renderImage();
+        BufferedImage image = camera.toImage();
+        camera.writeToImageAsync("asyncKept").get();
+        assertSameImage(image, camera.toImage(), "The camera didn't keep its image");
+    }
+}
@@ -0,0 +1,65 @@
+package renderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderFixture.*;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Testing the checkpoints of the renders, which resume interrupted renders
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class CheckpointTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    CheckpointTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link renderer.Camera.Builder#setCheckpoint(String)}.
+     * @throws IOException if the checkpoint or an image can't be written or read
+     */
+    @Test
+    void testCheckpoint() throws IOException {
+        Camera.Builder builder = builder(diffuseScene(), 100, 100, 30, 20).setTileSize(8);
+        BufferedImage whole = builder.build().renderImage().toImage();
+
+        // an interrupted render finished the top-left tile only, which is marked white to be told apart
+        Path path = Path.of("images/checkpoint.tiles");
+        ImageWriter interrupted = new ImageWriter(30, 20);
+        for (int y = 0; y < 8; ++y)
+            for (int x = 0; x < 8; ++x)
+                interrupted.writeRGB(x, y, 0xFFFFFF);
+        try (TileStore store = new TileStore(path, 30, 20, 8)) {
+            store.save(new Tile(0, 0, 8, 8), interrupted);
+        }
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: a resumed render restores the finished tile and renders the rest, on several threads
+        Camera camera = builder.setCheckpoint("checkpoint").setMultithreading(2).setStatistics(true).build();
+        BufferedImage resumed = camera.renderImage().toImage();
+        assertEquals(30 * 20 - 8 * 8, camera.getStatistics().getRays(RenderStatistics.RayType.PRIMARY),
+                "The finished tile was rendered again");
+        for (int x = 0; x < 30; x++)
+            for (int y = 0; y < 20; y++)
+                assertEquals(x < 8 && y < 8 ? java.awt.Color.WHITE.getRGB() : whole.getRGB(x, y),
+                        resumed.getRGB(x, y), "Wrong pixel color at " + x + "," + y);
+        camera.writeToImage("checkpointResumed");
+        assertFalse(Files.exists(path), "The checkpoint wasn't deleted after writing the image");
+
+        // EP02: a checkpointed render on the calling thread, streamed, is the whole image
+        builder.setMultithreading(0).setStreaming(ImageFormat.PNG).build().writeToImage("checkpointStreamed");
+        assertSameImage(whole, ImageIO.read(new File("images/checkpointStreamed.png")), "Streamed checkpoint");
+
+        // =============== Boundary Values Tests ==================
+        // BV01: a checkpoint can't keep a high dynamic range
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.setStreaming(null).setToneMapping(ToneMapper.ACES, 2.2).build(),
+                "A checkpoint of a high dynamic range");
+    }
+}
@@ -0,0 +1,68 @@
+package renderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderFixture.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Testing the rendering within a deadline
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class DeadlineRenderTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    DeadlineRenderTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link Camera#renderImage(Duration)}.
+     */
+    @Test
+    void testRenderImageDeadline() {
+        Camera.Builder builder = builder(litScene(), 200, 100, 256, 128).setStatistics(true);
+        BufferedImage reference = builder.build().renderImage().toImage();
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: a deadline long enough for all the passes renders the whole image, from a coarse first pass
+        List<Integer> strides = new ArrayList<>();
+        Camera camera = builder.setProgressive(1, (c, pass, stride) -> strides.add(stride)).build()
+                .renderImage(Duration.ofSeconds(30));
+        assertEquals(List.of(8, 4, 2, 1), strides, "Wrong passes");
+        assertEquals(256 * 128, camera.getStatistics().getRays(RenderStatistics.RayType.PRIMARY), "Wrong rays count");
+        assertSameImage(reference, camera.toImage(), "Render before the deadline");
+
+        // EP02: a deadline passing during the passes stops them, leaving the squares of the last pass
+        camera = builder.setProgressive(1, (c, pass, stride) -> {
+            if (pass == 2)
+                try {
+                    Thread.sleep(1100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            return true;
+        }).build().renderImage(Duration.ofSeconds(1));
+        assertSampledImage(reference, camera.toImage(), 4, "Render stopped by the deadline");
+
+        // =============== Boundary Values Tests ==================
+        // BV01: a passed deadline renders only the first pass, which leaves no holes
+        camera = builder.setProgressive(1, null).build().renderImage(Duration.ZERO);
+        assertEquals(32 * 16, camera.getStatistics().getRays(RenderStatistics.RayType.PRIMARY), "Wrong rays count");
+        assertSampledImage(reference, camera.toImage(), 8, "Render after the deadline");
+
+        // BV02: a missing or negative deadline, and a streamed or checkpointed image
+        Camera valid = builder.build();
+        assertThrows(IllegalArgumentException.class, () -> valid.renderImage(null), "Missing deadline");
+        assertThrows(IllegalArgumentException.class, () -> valid.renderImage(Duration.ofSeconds(-1)),
+                "Negative deadline");
+        assertThrows(IllegalStateException.class,
+                () -> builder.setStreaming(ImageFormat.PNG).build().renderImage(Duration.ZERO), "Streamed image");
+        builder.setStreaming(null);
+        assertThrows(IllegalStateException.class,
+                () -> builder.setCheckpoint("deadline").build().renderImage(Duration.ZERO), "Checkpointed image");
+    }
+}
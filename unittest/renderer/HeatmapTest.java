@@ -0,0 +1,47 @@
+package renderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderFixture.*;
+
+import org.junit.jupiter.api.Test;
+
+import geometries.Sphere;
+
+/**
+ * Testing the heatmap of the pixels' cost
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class HeatmapTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    HeatmapTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link Camera#writeHeatmap(String)}.
+     */
+    @Test
+    void testHeatmap() {
+        Camera.Builder builder = builder(diffuseScene(), 100, 100, 11, 11);
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: a pixel that misses the sphere costs one test, a pixel on the sphere costs its shadow ray's test too
+        Camera camera = builder.setHeatmap(HeatmapType.INTERSECTION_TESTS).setStatistics(true).build().renderImage();
+        assertEquals(1, camera.getPixelCost(0, 0), "Wrong cost of a missing pixel");
+        assertEquals(2, camera.getPixelCost(5, 5), "Wrong cost of a pixel on the sphere");
+        long total = 0;
+        for (int i = 0; i < 11; i++)
+            for (int j = 0; j < 11; j++)
+                total += camera.getPixelCost(j, i);
+        assertEquals(total, camera.getStatistics().getIntersectionTests().get(Sphere.class).longValue(),
+                "The heatmap and the statistics disagree");
+        camera.writeHeatmap("heatmapTests");
+
+        // EP02: the trace time of a pixel
+        camera = builder.setHeatmap(HeatmapType.TRACE_TIME).setMultithreading(2).setTileSize(4).build().renderImage();
+        assertTrue(camera.getPixelCost(5, 5) > 0, "Wrong trace time of a pixel");
+
+        // =============== Boundary Values Tests ==================
+        // BV01: no heatmap by default
+        Camera plain = builder.setHeatmap(null).build().renderImage();
+        assertThrows(IllegalStateException.class, () -> plain.writeHeatmap("heatmapNone"), "Heatmap without opting in");
+    }
+}
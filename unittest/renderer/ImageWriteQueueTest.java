@@ -0,0 +1,60 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing ImageWriteQueue Class
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class ImageWriteQueueTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    ImageWriteQueueTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link ImageWriteQueue#submit(Runnable)}.
+     * @throws Exception if the test is interrupted or times out
+     */
+    @Test
+    void testSubmit() throws Exception {
+        ImageWriteQueue queue = new ImageWriteQueue(2);
+        CountDownLatch blocked = new CountDownLatch(1);
+        StringBuilder order = new StringBuilder();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The writes don't block the caller while the queue has free places, and they are done in order
+        CompletableFuture<Void> first = queue.submit(() -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            order.append(1);
+        });
+        CompletableFuture<Void> second = queue.submit(() -> order.append(2));
+        assertFalse(first.isDone(), "The write is done while it is blocked");
+
+        // TC02: A full queue blocks the caller until a write is done
+        CompletableFuture<CompletableFuture<Void>> third = CompletableFuture.supplyAsync(
+                () -> queue.submit(() -> order.append(3)));
+        Thread.sleep(200);
+        assertFalse(third.isDone(), "A full queue didn't block the caller");
+        blocked.countDown();
+        third.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals("123", order.toString(), "The writes weren't done in order");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A failed write completes exceptionally and frees its place
+        CompletableFuture<Void> failed = queue.submit(() -> { throw new IllegalStateException("I/O error"); });
+        assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS), "The failure was lost");
+        queue.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        queue.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+}
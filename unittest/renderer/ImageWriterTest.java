@@ -3,7 +3,15 @@ package renderer;
 import org.junit.jupiter.api.Test;
 import primitives.Color;
 
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static java.awt.Color.*;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Testing ImageWriter Class
@@ -40,4 +48,114 @@ class ImageWriterTest {
         // Write the image to a file
         imageWriter.writeToImage("yellow with red grid");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link ImageWriter#writePixel(int, int, Color)}.
+     */
+    @Test
+    void testWritePixel() {
+        ImageWriter imageWriter = new ImageWriter(3, 2);
+        imageWriter.writePixel(0, 0, new Color(RED));
+        imageWriter.writePixel(2, 1, new Color(12.9, 200, 34.5));
+        imageWriter.writePixel(1, 1, new Color(300, 128.7, 1000));
+        BufferedImage image = imageWriter.toImage();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A written pixel, with the components truncated as by java.awt.Color
+        assertEquals(new Color(12.9, 200, 34.5).getColor().getRGB(), image.getRGB(2, 1), "Wrong pixel");
+        assertEquals(RED.getRGB(), image.getRGB(0, 0), "Wrong pixel");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A pixel that wasn't written is black
+        assertEquals(BLACK.getRGB(), image.getRGB(1, 0), "Wrong unwritten pixel");
+        // TC12: Components bigger than 255 are set to 255
+        assertEquals(new java.awt.Color(255, 128, 255).getRGB(), image.getRGB(1, 1), "Wrong saturated pixel");
+    }
+
+    /**
+     * Test method for {@link ImageWriter#setToneMapping(ToneMapper, double)}.
+     */
+    @Test
+    void testToneMapping() {
+        ImageWriter imageWriter = new ImageWriter(2, 1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Clamping without gamma keeps the components in the range, and clamps the brighter ones
+        imageWriter.setToneMapping(ToneMapper.CLAMP, 1);
+        imageWriter.writePixel(0, 0, new Color(100, 200, 50));
+        imageWriter.writePixel(1, 0, new Color(510, 0, 1000));
+        assertEquals(new java.awt.Color(100, 200, 50).getRGB(), imageWriter.toImage().getRGB(0, 0), "Wrong clamp");
+        assertEquals(new java.awt.Color(255, 0, 255).getRGB(), imageWriter.toImage().getRGB(1, 0), "Wrong clamp");
+
+        // TC02: Reinhard maps the white to the half, and twice the white to two thirds
+        imageWriter.setToneMapping(ToneMapper.REINHARD, 1);
+        imageWriter.writePixel(0, 0, new Color(255, 510, 0));
+        assertEquals(new java.awt.Color(128, 170, 0).getRGB(), imageWriter.toImage().getRGB(0, 0), "Wrong Reinhard");
+
+        // TC03: ACES maps the white to about 0.8, and saturates the highlights
+        imageWriter.setToneMapping(ToneMapper.ACES, 1);
+        imageWriter.writePixel(0, 0, new Color(255, 255 * 100, 0));
+        assertEquals(new java.awt.Color(205, 255, 0).getRGB(), imageWriter.toImage().getRGB(0, 0), "Wrong ACES");
+
+        // TC04: Gamma correction brightens the mid-tones
+        imageWriter.setToneMapping(ToneMapper.CLAMP, 2);
+        imageWriter.writePixel(0, 0, new Color(63.75, 255, 0));
+        assertEquals(new java.awt.Color(128, 255, 0).getRGB(), imageWriter.toImage().getRGB(0, 0), "Wrong gamma");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: No tone mapping or a gamma that isn't positive
+        assertThrows(IllegalArgumentException.class, () -> imageWriter.setToneMapping(null, 1), "No tone mapping");
+        assertThrows(IllegalArgumentException.class, () -> imageWriter.setToneMapping(ToneMapper.CLAMP, 0), "Zero gamma");
+    }
+
+    /**
+     * Test method for {@link ImageWriter#writePixel(int, int, Color)} in the high dynamic range mode.
+     */
+    @Test
+    void testWritePixelHdr() {
+        ImageWriter imageWriter = new ImageWriter(2, 1);
+        imageWriter.setToneMapping(ToneMapper.REINHARD, 1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A color beyond the white isn't clipped before the tone mapping
+        imageWriter.writePixel(0, 0, new Color(255, 255, 255));
+        int white = imageWriter.toImage().getRGB(0, 0);
+        imageWriter.writePixel(0, 0, new Color(765, 765, 765));
+        assertNotEquals(white, imageWriter.toImage().getRGB(0, 0), "Clipped pixel");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A pixel that wasn't written is black
+        assertEquals(BLACK.getRGB(), imageWriter.toImage().getRGB(1, 0), "Wrong empty pixel");
+    }
+
+    /**
+     * Test method for {@link ImageWriter#writePfm(String)}.
+     * @throws IOException if the file can't be read
+     */
+    @Test
+    void testWritePfm() throws IOException {
+        ImageWriter imageWriter = new ImageWriter(2, 2);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: There is no float map in 8 bits
+        assertThrows(IllegalStateException.class, () -> imageWriter.writePfm("pfm8bit"), "8-bit float map");
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The header, then the linear components from the bottom row up
+        imageWriter.setToneMapping(ToneMapper.ACES, 2.2);
+        imageWriter.writePixel(0, 0, new Color(510, 255, 0));
+        imageWriter.writePixel(0, 1, new Color(0, 51, 25.5));
+        imageWriter.writePfm("pfmTest");
+        byte[] bytes = Files.readAllBytes(Path.of("images/pfmTest.pfm"));
+        String header = "PF\n2 2\n-1.0\n";
+        assertEquals(header, new String(bytes, 0, header.length()), "Wrong header");
+        assertEquals(header.length() + 4 * 3 * 4, bytes.length, "Wrong size");
+        ByteBuffer floats = ByteBuffer.wrap(bytes, header.length(), 4 * 3 * 4).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(0, floats.getFloat(), 1e-6, "Wrong bottom-left red");
+        assertEquals(0.2, floats.getFloat(), 1e-6, "Wrong bottom-left green");
+        assertEquals(0.1, floats.getFloat(), 1e-6, "Wrong bottom-left blue");
+        floats.position(header.length() + 2 * 3 * 4);
+        assertEquals(2, floats.getFloat(), 1e-6, "Wrong top-left red");
+        assertEquals(1, floats.getFloat(), 1e-6, "Wrong top-left green");
+    }
+}
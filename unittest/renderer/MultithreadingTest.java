@@ -0,0 +1,33 @@
+package renderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderFixture.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testing the rendering on several threads
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class MultithreadingTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    MultithreadingTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link Camera.Builder#setMultithreading(int)}.
+     */
+    @Test
+    void testMultithreading() {
+        Camera.Builder builder = builder(litScene(), 150, 100, 150, 100);
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: tiles that don't divide the image are rendered exactly like the single thread rendering
+        assertSameImage(builder.build().renderImage().toImage(),
+                builder.setMultithreading(4).setTileSize(7).build().renderImage().toImage(), "Tiled render");
+
+        // =============== Boundary Values Tests ==================
+        // BV01: illegal threads count and tile size
+        assertThrows(IllegalArgumentException.class, () -> builder.setMultithreading(-2));
+        assertThrows(IllegalArgumentException.class, () -> builder.setTileSize(0));
+    }
+}
@@ -0,0 +1,104 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing PixelSampler Class
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class PixelSamplerTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    PixelSamplerTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Counts the samples of a pixel in every cell of a grid dividing the pixel.
+     * @param sampler the sampler
+     * @param pixel the index of the pixel
+     * @param samples the number of samples
+     * @param cellsX the number of cells in a row of the grid
+     * @param cellsY the number of cells in a column of the grid
+     * @return the number of samples in every cell, row by row
+     */
+    private static int[] count(PixelSampler sampler, long pixel, int samples, int cellsX, int cellsY) {
+        int[] counts = new int[cellsX * cellsY];
+        double[] offset = new double[2];
+        sampler.startPixel(pixel);
+        for (int k = 0; k < samples; ++k) {
+            sampler.sample(k, offset);
+            assertTrue(offset[0] >= 0 && offset[0] < 1 && offset[1] >= 0 && offset[1] < 1,
+                    "The sample is outside the pixel");
+            ++counts[(int) (offset[1] * cellsY) * cellsX + (int) (offset[0] * cellsX)];
+        }
+        return counts;
+    }
+
+    /**
+     * Test method for {@link PixelSampler#sample(int, double[])}.
+     */
+    @Test
+    void testSample() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Jittering places a sample in every stratum
+        for (int count : count(new PixelSampler(SamplingPattern.JITTERED, 16, 1), 5, 16, 4, 4))
+            assertEquals(1, count, "A stratum without exactly one sample");
+
+        // TC02: The scrambled Sobol sequence stratifies 16 samples by rows, columns and squares
+        PixelSampler sobol = new PixelSampler(SamplingPattern.SOBOL, 16, 1);
+        for (int[] cells : new int[][] { { 16, 1 }, { 1, 16 }, { 4, 4 }, { 2, 8 } })
+            for (int count : count(sobol, 5, 16, cells[0], cells[1]))
+                assertEquals(1, count, "A cell of " + cells[0] + "x" + cells[1] + " without exactly one sample");
+
+        // TC03: The shifted Halton sequence spreads 6 samples over the 2x3 cells of the torus
+        int[] halton = count(new PixelSampler(SamplingPattern.HALTON, 6, 1), 5, 6, 2, 3);
+        int occupied = 0;
+        for (int count : halton)
+            if (count > 0)
+                ++occupied;
+        assertTrue(occupied >= 4, "The Halton samples are clumped");
+
+        // TC04: The samples are the same for the same seed and pixel, and differ for other pixels and seeds
+        for (SamplingPattern pattern : SamplingPattern.values()) {
+            PixelSampler sampler = new PixelSampler(pattern, 4, 1);
+            double[] first = new double[2], again = new double[2], other = new double[2], seeded = new double[2];
+            sampler.startPixel(7);
+            sampler.sample(1, first);
+            sampler.startPixel(7);
+            sampler.sample(1, again);
+            sampler.startPixel(8);
+            sampler.sample(1, other);
+            PixelSampler reseeded = new PixelSampler(pattern, 4, 2);
+            reseeded.startPixel(7);
+            reseeded.sample(1, seeded);
+            assertArrayEquals(first, again, 0, pattern + " isn't reproducible");
+            assertNotEquals(first[0], other[0], pattern + " repeats in the next pixel");
+            assertNotEquals(first[0], seeded[0], pattern + " ignores the seed");
+        }
+    }
+
+    /**
+     * Test method for {@link PixelSampler#radicalInverse(int, int)} and {@link PixelSampler#sobol2(int)}.
+     */
+    @Test
+    void testSequences() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The radical inverses of 1 to 4 in base 2 and of 1 to 3 in base 3
+        assertEquals(0.5, PixelSampler.radicalInverse(1, 2), 1e-12, "Wrong radical inverse");
+        assertEquals(0.25, PixelSampler.radicalInverse(2, 2), 1e-12, "Wrong radical inverse");
+        assertEquals(0.75, PixelSampler.radicalInverse(3, 2), 1e-12, "Wrong radical inverse");
+        assertEquals(0.125, PixelSampler.radicalInverse(4, 2), 1e-12, "Wrong radical inverse");
+        assertEquals(1 / 3d, PixelSampler.radicalInverse(1, 3), 1e-12, "Wrong radical inverse");
+        assertEquals(1 / 9d, PixelSampler.radicalInverse(3, 3), 1e-12, "Wrong radical inverse");
+
+        // TC02: The second Sobol dimension of 1 to 3 is 1/2, 3/4 and 1/4
+        assertEquals(0x80000000, PixelSampler.sobol2(1), "Wrong Sobol value");
+        assertEquals(0xC0000000, PixelSampler.sobol2(2), "Wrong Sobol value");
+        assertEquals(0x40000000, PixelSampler.sobol2(3), "Wrong Sobol value");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The first index is 0 in both sequences
+        assertEquals(0, PixelSampler.radicalInverse(0, 3), "Wrong first radical inverse");
+        assertEquals(0, PixelSampler.sobol2(0), "Wrong first Sobol value");
+    }
+}
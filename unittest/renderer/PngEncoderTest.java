@@ -0,0 +1,99 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing PngEncoder Class
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class PngEncoderTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    PngEncoderTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link PngEncoder#combineAdler32(long, long, long)}.
+     */
+    @Test
+    void testCombineAdler32() {
+        byte[] data = new byte[100000];
+        new Random(2).nextBytes(data);
+        Adler32 whole = new Adler32();
+        whole.update(data);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Two blocks of different lengths
+        Adler32 first = new Adler32(), second = new Adler32();
+        first.update(data, 0, 70001);
+        second.update(data, 70001, data.length - 70001);
+        assertEquals(whole.getValue(), PngEncoder.combineAdler32(first.getValue(), second.getValue(),
+                data.length - 70001), "Wrong combined checksum");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: An empty second block
+        assertEquals(whole.getValue(), PngEncoder.combineAdler32(whole.getValue(), 1, 0), "Wrong empty block");
+    }
+
+    /**
+     * Test method for {@link PngEncoder#write(java.io.OutputStream, int[], int, int)}.
+     * @throws IOException         if the image can't be decoded
+     * @throws DataFormatException if the image data isn't a valid zlib stream
+     */
+    @Test
+    void testWrite() throws IOException, DataFormatException {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: An image of several strips, half noise and half gradients, so every filter type is used
+        int nX = 1000, nY = 1200;
+        int[] pixels = new int[nX * nY];
+        Random random = new Random(3);
+        for (int y = 0; y < nY; ++y)
+            for (int x = 0; x < nX; ++x)
+                pixels[y * nX + x] = y < nY / 2 ? random.nextInt(1 << 24) : x / 4 << 16 | y / 5 << 8 | (x + y) % 256;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PngEncoder.write(out, pixels, nX, nY);
+        byte[] png = out.toByteArray();
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertEquals(nX, image.getWidth(), "Wrong width");
+        assertEquals(nY, image.getHeight(), "Wrong height");
+        for (int y = 0; y < nY; ++y)
+            for (int x = 0; x < nX; ++x)
+                assertEquals(pixels[y * nX + x], image.getRGB(x, y) & 0xFFFFFF, "Wrong pixel at " + x + "," + y);
+
+        // the checksums of the chunks and of the zlib stream, which decoders may not verify, are valid
+        ByteBuffer buffer = ByteBuffer.wrap(png, 8, png.length - 8);
+        Inflater inflater = new Inflater();
+        int chunks = 0;
+        while (buffer.hasRemaining()) {
+            int length = buffer.getInt();
+            CRC32 crc = new CRC32();
+            crc.update(png, buffer.position(), 4 + length);
+            String type = new String(png, buffer.position(), 4);
+            if (type.equals("IDAT")) {
+                inflater.setInput(png, buffer.position() + 4, length);
+                ++chunks;
+            }
+            byte[] inflated = new byte[1 << 16];
+            while (inflater.inflate(inflated) > 0) { /* the image data was verified by decoding it */ }
+            buffer.position(buffer.position() + 4 + length);
+            assertEquals((int) crc.getValue(), buffer.getInt(), "Wrong checksum of a " + type + " chunk");
+        }
+        assertTrue(inflater.finished(), "The zlib stream isn't complete");
+        assertEquals((long) nY * (1 + 3 * nX), inflater.getBytesWritten(), "Wrong length of the image data");
+        assertTrue(chunks > 2, "The image wasn't split into strips");
+        inflater.end();
+    }
+}
@@ -0,0 +1,74 @@
+package renderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderFixture.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Testing the progressive rendering, by passes from a coarse preview to the whole image
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class ProgressiveRenderTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    ProgressiveRenderTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link Camera.Builder#setProgressive(int, ProgressListener)}.
+     */
+    @Test
+    void testProgressive() {
+        Camera.Builder builder = builder(litScene(), 150, 100, 60, 40).setStatistics(true);
+        BufferedImage reference = builder.build().renderImage().toImage();
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: the passes halve the stride, the first pass is previewed by squares, and every pixel is traced once
+        List<Integer> strides = new ArrayList<>();
+        List<BufferedImage> previews = new ArrayList<>();
+        Camera camera = builder.setProgressive(8, (c, pass, stride) -> {
+            assertEquals(strides.size() + 1, pass, "Wrong pass number");
+            strides.add(stride);
+            previews.add(c.toImage());
+            return true;
+        }).build().renderImage();
+        assertEquals(List.of(8, 4, 2, 1), strides, "Wrong passes");
+        assertEquals(60 * 40, camera.getStatistics().getRays(RenderStatistics.RayType.PRIMARY), "Wrong rays count");
+        assertSampledImage(reference, previews.getFirst(), 8, "Preview");
+        assertSameImage(reference, camera.toImage(), "Progressive render");
+
+        // EP02: a progressive render on several threads with tiles that don't divide the strides is the same image
+        strides.clear();
+        assertSameImage(reference, builder.setMultithreading(3).setTileSize(5).build().renderImage().toImage(),
+                "Progressive render on several threads");
+        assertEquals(List.of(8, 4, 2, 1), strides, "Wrong passes on several threads");
+
+        // EP03: the adaptive sampling refines the image by its own passes after all the pixels are traced
+        strides.clear();
+        builder.setMultithreading(0).setAdaptiveSampling(4, 64, 2, null)
+                .setProgressive(4, (c, pass, stride) -> strides.add(stride)).build().renderImage();
+        assertEquals(List.of(4, 2, 1), strides.subList(0, 3), "Wrong passes");
+        assertTrue(strides.size() > 3 && strides.subList(3, strides.size()).stream().allMatch(s -> s == 1),
+                "Wrong refinement passes");
+        builder.setAdaptiveSampling(0, 0, 0, null);
+
+        // =============== Boundary Values Tests ==================
+        // BV01: a listener stopping after the first pass stops the render
+        camera = builder.setProgressive(8, (c, pass, stride) -> false).build().renderImage();
+        assertEquals(8 * 5, camera.getStatistics().getRays(RenderStatistics.RayType.PRIMARY),
+                "The render didn't stop");
+
+        // BV02: illegal strides, and a progressive render together with streaming or a checkpoint
+        assertThrows(IllegalArgumentException.class, () -> builder.setProgressive(0, null), "Zero stride");
+        assertThrows(IllegalArgumentException.class, () -> builder.setProgressive(6, null), "Stride of 6");
+        assertThrows(IllegalArgumentException.class, () -> builder.setStreaming(ImageFormat.PNG).build(),
+                "A streamed progressive render");
+        builder.setStreaming(null);
+        assertThrows(IllegalArgumentException.class, () -> builder.setCheckpoint("progressive").build(),
+                "A checkpointed progressive render");
+    }
+}
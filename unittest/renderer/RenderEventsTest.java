@@ -0,0 +1,84 @@
+package renderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderFixture.*;
+
+import org.junit.jupiter.api.Test;
+
+import geometries.Plane;
+import primitives.*;
+import sceneTest.Scene;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Testing the flight recorder events of the render phases (see RenderEvents)
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class RenderEventsTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    RenderEventsTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for the flight recorder events of {@link Camera#renderImage()}
+     * and {@link Camera#writeToImage(String)}.
+     * @throws IOException if the recording can't be written or read
+     */
+    @Test
+    void testFlightRecorderEvents() throws IOException {
+        Scene scene = diffuseScene();
+        scene.geometries.add(new Plane(new Point(0, 0, -100), Vector.AXIS_Z));
+        Camera.Builder builder = builder(scene, 100, 100, 20, 20).setRayTracer(scene, RayTracerType.BVH)
+                .setMultithreading(2).setTileSize(8);
+
+        Path file = Files.createTempFile("render", ".jfr");
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("renderer.Render", "renderer.Prepare", "renderer.Tile", "renderer.WriteImage"))
+                recording.enable(name);
+            recording.start();
+            builder.build().renderImage().writeToImage("flightRecorder");
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: an event of the render, of the preparation, and of every tile
+        List<RecordedEvent> renders = events.stream().filter(e -> e.getEventType().getName().equals("renderer.Render"))
+                .toList();
+        assertEquals(1, renders.size(), "Wrong number of render events");
+        assertEquals(9, renders.getFirst().getInt("tiles"), "Wrong number of tiles");
+
+        List<RecordedEvent> prepares = events.stream()
+                .filter(e -> e.getEventType().getName().equals("renderer.Prepare")).toList();
+        assertEquals(1, prepares.size(), "Wrong number of prepare events");
+        assertEquals("BvhRayTracer", prepares.getFirst().getString("rayTracer"), "Wrong ray tracer");
+        assertEquals(2, prepares.getFirst().getInt("primitives"), "Wrong number of primitives");
+
+        List<RecordedEvent> tiles = events.stream().filter(e -> e.getEventType().getName().equals("renderer.Tile"))
+                .toList();
+        assertEquals(9, tiles.size(), "Wrong number of tile events");
+        // the tiles count all the rays they trace, as the statistics of the same render do
+        long rays = builder.setStatistics(true).build().renderImage().getStatistics().getRays();
+        assertTrue(rays > 400, "Missing secondary rays");
+        assertEquals(rays, tiles.stream().mapToLong(e -> e.getLong("rays")).sum(), "Wrong number of rays");
+        assertTrue(tiles.stream().allMatch(e -> e.getLong("intersectionTests") > 0), "Missing intersection tests");
+
+        // EP02: an event of writing the image
+        List<RecordedEvent> writes = events.stream()
+                .filter(e -> e.getEventType().getName().equals("renderer.WriteImage")).toList();
+        assertEquals(1, writes.size(), "Wrong number of write events");
+        assertEquals("flightRecorder", writes.getFirst().getString("imageName"), "Wrong image name");
+        assertTrue(writes.getFirst().getLong("bytes") > 0, "Wrong file size");
+    }
+}
@@ -0,0 +1,121 @@
+package renderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import geometries.*;
+import lighting.*;
+import primitives.*;
+import sceneTest.Scene;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * The scenes and cameras shared by the tests of the rendering features, and assertions on rendered images.
+ * The images are compared in memory, so the tests don't depend on the image files.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+final class RenderFixture {
+    /** Don't let anyone instantiate this class. */
+    private RenderFixture() {}
+
+    /**
+     * Creates a sphere over a reflective plane, lighted by a point light,
+     * so the image has shading, a highlight, a shadow and a reflection.
+     * @return the scene
+     */
+    static Scene litScene() {
+        Scene scene = new Scene("Lit scene").setAmbientLight(new AmbientLight(new Color(26, 26, 26)));
+        scene.geometries.add(
+                new Sphere(new Point(0, 0, -50), 50d).setEmission(new Color(0, 0, 150))
+                        .setMaterial(new Material().setKD(0.4).setKS(0.3).setShininess(100)),
+                new Plane(new Point(0, 0, -100), Vector.AXIS_Z).setMaterial(new Material().setKD(0.5).setKR(0.3)));
+        scene.lights.add(new PointLight(new Color(500, 300, 0), new Point(-100, 100, 200)));
+        return scene;
+    }
+
+    /**
+     * Creates a flat emissive sphere on a black background, so the only detail of the image is the sphere's edge.
+     * @return the scene
+     */
+    static Scene edgeScene() {
+        Scene scene = new Scene("Edge scene");
+        scene.geometries.add(new Sphere(Point.ZERO, 40d).setEmission(new Color(200, 100, 0)));
+        return scene;
+    }
+
+    /**
+     * Creates a diffuse sphere lighted from the camera's side by a directional light.
+     * @return the scene
+     */
+    static Scene diffuseScene() {
+        Scene scene = new Scene("Diffuse scene");
+        scene.geometries.add(new Sphere(Point.ZERO, 40d).setMaterial(new Material().setKD(0.5)));
+        scene.lights.add(new DirectionalLight(new Color(100, 100, 100), new Vector(0, 0, -1)));
+        return scene;
+    }
+
+    /**
+     * Creates a builder of a camera looking at the origin from 1000 along the Z axis.
+     * @param scene the scene, rendered by the simple ray tracer
+     * @param width the width of the view plane
+     * @param height the height of the view plane
+     * @param nX the number of pixels in a row
+     * @param nY the number of rows
+     * @return the builder
+     */
+    static Camera.Builder builder(Scene scene, double width, double height, int nX, int nY) {
+        return Camera.getBuilder()
+                .setRayTracer(scene, RayTracerType.SIMPLE)
+                .setLocation(new Point(0, 0, 1000))
+                .setDirection(Point.ZERO, Vector.AXIS_Y)
+                .setVpDistance(1000).setVpSize(width, height)
+                .setResolution(nX, nY);
+    }
+
+    /**
+     * Counts the pixels in a region blended from the sphere of the edge scene and the background.
+     * @param image the image of the edge scene
+     * @param fromX the first column of the region
+     * @param toX the column after the region
+     * @param fromY the first row of the region
+     * @param toY the row after the region
+     * @return the number of blended pixels
+     */
+    static int blended(BufferedImage image, int fromX, int toX, int fromY, int toY) {
+        int count = 0;
+        for (int x = fromX; x < toX; x++)
+            for (int y = fromY; y < toY; y++) {
+                int red = image.getRGB(x, y) >> 16 & 0xFF;
+                if (red > 0 && red < 200)
+                    ++count;
+            }
+        return count;
+    }
+
+    /**
+     * Asserts that two images have the same pixels.
+     * @param expected the expected image
+     * @param actual the actual image
+     * @param message the message of a failure
+     */
+    static void assertSameImage(BufferedImage expected, BufferedImage actual, String message) {
+        assertSampledImage(expected, actual, 1, message);
+    }
+
+    /**
+     * Asserts that an image is an expected image sampled by squares, as a progressive pass leaves it:
+     * every pixel has the color of the top-left pixel of its square.
+     * @param expected the expected image
+     * @param actual the actual image
+     * @param stride the size of the squares
+     * @param message the message of a failure
+     */
+    static void assertSampledImage(BufferedImage expected, BufferedImage actual, int stride, String message) {
+        assertEquals(expected.getWidth(), actual.getWidth(), message + ": wrong width");
+        assertEquals(expected.getHeight(), actual.getHeight(), message + ": wrong height");
+        for (int x = 0; x < actual.getWidth(); x++)
+            for (int y = 0; y < actual.getHeight(); y++)
+                assertEquals(expected.getRGB(x / stride * stride, y / stride * stride) & 0xFFFFFF,
+                        actual.getRGB(x, y) & 0xFFFFFF, message + ": wrong pixel color at " + x + "," + y);
+    }
+}
@@ -0,0 +1,91 @@
+package renderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderFixture.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testing RenderJob Class
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class RenderJobTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    RenderJobTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link Camera#startRender()}.
+     */
+    @Test
+    void testStartRender() {
+        Camera.Builder builder = builder(litScene(), 150, 100, 60, 40).setMultithreading(3).setTileSize(10);
+        BufferedImage reference = builder.build().renderImage().toImage();
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: a finished job reports all the pixels and tiles, and its image is the blocking render's image
+        RenderJob job = builder.build().startRender();
+        Camera camera = job.join();
+        assertTrue(job.isDone(), "The job isn't done");
+        assertFalse(job.isCancelled(), "The job is cancelled");
+        assertEquals(60 * 40, job.getCompletedPixels(), "Wrong pixels count");
+        assertEquals(1, job.getProgress(), 0, "Wrong progress");
+        assertEquals(24, job.getCompletedTiles(), "Wrong tiles count");
+        assertEquals(60 * 40, job.getRays(), "Wrong rays count");
+        assertTrue(job.getRaysPerSecond() > 0, "Wrong rays rate");
+        assertEquals(Duration.ZERO, job.getEstimatedRemaining(), "Wrong time remaining");
+        assertSameImage(reference, camera.toImage(), "Finished job");
+
+        // EP02: a job cancelled while running stops, estimating the time remaining until then,
+        // and keeps the pixels rendered so far
+        RenderJob[] running = new RenderJob[1];
+        Duration[] remaining = new Duration[1];
+        camera = builder.setProgressive(8, (c, pass, stride) -> {
+            synchronized (running) {
+                remaining[0] = running[0].getEstimatedRemaining();
+                running[0].cancel();
+            }
+            return true;
+        }).build();
+        synchronized (running) {
+            running[0] = camera.startRender();
+        }
+        job = running[0];
+        job.join();
+        assertTrue(job.isCancelled(), "The job isn't cancelled");
+        assertEquals(8 * 5, job.getCompletedPixels(), "Wrong pixels count");
+        assertTrue(remaining[0] != null && remaining[0].compareTo(Duration.ZERO) > 0, "Wrong time remaining");
+        assertSampledImage(reference, camera.toImage(), 8, "Cancelled job");
+
+        // =============== Boundary Values Tests ==================
+        // BV01: the camera renders a single image at a time - another render is rejected while a job runs,
+        // and it is accepted once the job is done
+        List<String> rejected = new ArrayList<>();
+        Camera busy = builder.setProgressive(8, (c, pass, stride) -> {
+            try {
+                c.startRender();
+            } catch (IllegalStateException e) {
+                rejected.add("startRender");
+            }
+            try {
+                c.renderImage();
+            } catch (IllegalStateException e) {
+                rejected.add("renderImage");
+            }
+            return false;
+        }).build();
+        busy.startRender().join();
+        assertEquals(List.of("startRender", "renderImage"), rejected, "Wrong renders rejected while a job runs");
+        busy.renderImage();
+        assertEquals(4, rejected.size(), "The camera isn't idle once the job is done");
+
+        // BV02: a streamed image is rendered by writing it
+        assertThrows(IllegalStateException.class,
+                () -> builder.setProgressive(1, null).setStreaming(ImageFormat.PNG).build().startRender(),
+                "A streamed job");
+    }
+}
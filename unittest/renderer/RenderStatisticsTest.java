@@ -0,0 +1,80 @@
+package renderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderFixture.*;
+
+import org.junit.jupiter.api.Test;
+
+import geometries.*;
+import lighting.DirectionalLight;
+import primitives.*;
+import sceneTest.Scene;
+
+/**
+ * Testing RenderStatistics Class
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class RenderStatisticsTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    RenderStatisticsTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link Camera#getStatistics()}.
+     */
+    @Test
+    void testStatistics() {
+        Scene scene = new Scene("Statistics scene");
+        scene.geometries.add(new Plane(new Point(0, 0, -100), Vector.AXIS_Z)
+                .setMaterial(new Material().setKD(0.5).setKR(0.3)));
+        scene.lights.add(new DirectionalLight(new Color(100, 100, 100), new Vector(0.3, 0, -1)));
+        Camera.Builder builder = builder(scene, 100, 100, 10, 10);
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: every pixel hits the reflective plane, which is lighted, and the reflected ray misses
+        Camera camera = builder.setStatistics(true).build().renderImage();
+        RenderStatistics statistics = camera.getStatistics();
+        assertEquals(100, statistics.getRays(RenderStatistics.RayType.PRIMARY), "Wrong primary rays count");
+        assertEquals(100, statistics.getRays(RenderStatistics.RayType.SHADOW), "Wrong shadow rays count");
+        assertEquals(100, statistics.getRays(RenderStatistics.RayType.REFLECTION), "Wrong reflection rays count");
+        assertEquals(0, statistics.getRays(RenderStatistics.RayType.REFRACTION), "Wrong refraction rays count");
+        assertEquals(300, statistics.getRays(), "Wrong rays count");
+        assertEquals(0, statistics.getOccludedShadowRays(), "Wrong occluded shadow rays count");
+        assertEquals(300, statistics.getIntersectionTests().get(Plane.class).longValue(),
+                "Wrong intersection tests count");
+        assertEquals(100, statistics.getIntersectionHits().get(Plane.class).longValue(),
+                "Wrong intersection hits count");
+        assertArrayEquals(new long[] { 100 }, statistics.getDepthHistogram(), "Wrong depth histogram");
+        assertTrue(statistics.getIntersectionNanos() > 0 && statistics.getShadingNanos() > 0, "Missing times");
+
+        // EP02: the counters of all the threads are summed, and every render starts counting from zero
+        camera = builder.setMultithreading(4).setTileSize(3).build().renderImage().renderImage();
+        assertEquals(300, camera.getStatistics().getRays(), "Wrong rays count of a parallel render");
+        assertEquals(300, camera.getStatistics().getIntersectionTests().get(Plane.class).longValue(),
+                "Wrong intersection tests count of a parallel render");
+
+        // EP03: a sphere shades some of the plane - its shadow rays are occluded
+        scene.geometries.add(new Sphere(new Point(0, 0, 0), 30d).setMaterial(new Material().setKD(0.5)));
+        statistics = builder.setMultithreading(0).build().renderImage().getStatistics();
+        assertTrue(statistics.getOccludedShadowRays() > 0, "No occluded shadow rays");
+        assertTrue(statistics.getOccludedShadowRays() < statistics.getRays(RenderStatistics.RayType.SHADOW),
+                "Too many occluded shadow rays");
+
+        // EP04: every built camera counts in its own statistics, also with a shared ray tracer
+        Camera first = builder.build(), second = builder.build();
+        assertNotSame(first.getStatistics(), second.getStatistics(), "Statistics shared by built cameras");
+        second.renderImage();
+        assertEquals(0, first.getStatistics().getRays(), "Counted in another camera's statistics");
+
+        // EP05: cameras sharing a ray tracer render at the same time, and each counts only its own work
+        long rays = second.getStatistics().getRays();
+        RenderJob job = second.startRender();
+        first.renderImage();
+        job.join();
+        assertEquals(rays, first.getStatistics().getRays(), "Wrong rays count of a concurrent render");
+        assertEquals(rays, second.getStatistics().getRays(), "Wrong rays count of a concurrent job");
+
+        // =============== Boundary Values Tests ==================
+        // BV01: the statistics aren't collected by default
+        assertNull(builder.setStatistics(false).build().renderImage().getStatistics(), "Statistics without opting in");
+    }
+}
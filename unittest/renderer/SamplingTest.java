@@ -0,0 +1,49 @@
+package renderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderFixture.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+
+
+/**
+ * Testing the sampling of the pixels by the sampling patterns
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class SamplingTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    SamplingTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link renderer.Camera.Builder#setSampling(SamplingPattern, int, long)}.
+     */
+    @Test
+    void testSampling() {
+        Camera.Builder builder = builder(edgeScene(), 100, 100, 20, 20).setStatistics(true);
+
+        // ============ Equivalence Partitions Tests ==============
+        for (SamplingPattern pattern : SamplingPattern.values()) {
+            // EP01: every pixel is sampled by the given number of rays
+            Camera camera = builder.setSampling(pattern, 8, 42).setMultithreading(0).build().renderImage();
+            assertEquals(8 * 20 * 20, camera.getStatistics().getRays(RenderStatistics.RayType.PRIMARY),
+                    "Wrong number of " + pattern + " rays");
+            BufferedImage single = camera.toImage();
+
+            // EP02: a render on several threads with other tiles is the same image
+            assertSameImage(single, builder.setMultithreading(3).setTileSize(3).build().renderImage().toImage(),
+                    pattern + " isn't reproducible");
+
+            // EP03: the pixels on the sphere's edge are blended
+            assertTrue(blended(single, 0, 20, 0, 20) > 0, "The edge of the sphere isn't blended by " + pattern);
+        }
+
+        // =============== Boundary Values Tests ==================
+        // BV01: illegal number of rays, and a sampling pattern together with the adaptive supersampling
+        assertThrows(IllegalArgumentException.class, () -> builder.setSampling(SamplingPattern.SOBOL, 0, 1),
+                "No rays in a pixel");
+        assertThrows(IllegalArgumentException.class, () -> builder.setAdaptiveSupersampling(2, 10).build(),
+                "A sampling pattern with adaptive supersampling");
+    }
+}
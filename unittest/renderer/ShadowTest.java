@@ -4,6 +4,8 @@ import static java.awt.Color.BLUE;
 
 import org.junit.jupiter.api.Test;
 
+import benchmark.ReferenceScenes;
+
 import geometries.*;
 import lighting.*;
 import primitives.*;
@@ -98,23 +100,7 @@ class ShadowTest {
     */
    @Test
    void trianglesSphere() {
-      scene.geometries //
-         .add( //
-              new Triangle(new Point(-150, -150, -115), new Point(150, -150, -135), new Point(75, 75, -150)) //
-                 .setMaterial(new Material().setKS(0.8).setShininess(60)), //
-              new Triangle(new Point(-150, -150, -115), new Point(-70, 70, -140), new Point(75, 75, -150)) //
-                 .setMaterial(new Material().setKS(0.8).setShininess(60)), //
-              new Sphere(new Point(0, 0, -11), 30d) //
-                 .setEmission(new Color(BLUE)) //
-                 .setMaterial(new Material().setKD(0.5).setKS(0.5).setShininess(30)) //
-         );
-      scene.setAmbientLight(new AmbientLight(new Color(38, 38, 38)));
-      scene.lights //
-         .add(new SpotLight(new Color(700, 400, 400), new Point(40, 40, 115), new Vector(-1, -1, -4)) //
-            .setKl(4E-4).setKq(2E-5));
-
-      camera//
-         .setResolution(600, 600) //
+      ReferenceScenes.SHADOW_TRIANGLES_SPHERE.camera(RayTracerType.SIMPLE, 600) //
          .build() //
          .renderImage() //
          .writeToImage("shadowTrianglesSphere");
@@ -0,0 +1,61 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing StreamingImageWriter Class
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class StreamingImageWriterTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    StreamingImageWriterTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link StreamingImageWriter#writeRows(int[], int)}.
+     * @throws IOException if the image can't be read
+     */
+    @Test
+    void testWriteRows() throws IOException {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Noise that doesn't compress, so its data spans several chunks, written in bands of 7 rows
+        int nX = 300, nY = 250;
+        int[] pixels = new int[nX * nY];
+        Random random = new Random(1);
+        for (int pixel = 0; pixel < pixels.length; ++pixel)
+            pixels[pixel] = random.nextInt(1 << 24);
+        try (StreamingImageWriter writer = new StreamingImageWriter("streamedNoise", nX, nY, ImageFormat.PNG)) {
+            int[] band = new int[7 * nX];
+            for (int y = 0; y < nY; y += 7) {
+                int rows = Math.min(7, nY - y);
+                System.arraycopy(pixels, y * nX, band, 0, rows * nX);
+                writer.writeRows(band, rows);
+            }
+        }
+        BufferedImage image = ImageIO.read(new File("images/streamedNoise.png"));
+        assertEquals(nX, image.getWidth(), "Wrong width");
+        assertEquals(nY, image.getHeight(), "Wrong height");
+        for (int x = 0; x < nX; x++)
+            for (int y = 0; y < nY; y++)
+                assertEquals(pixels[y * nX + x], image.getRGB(x, y) & 0xFFFFFF, "Wrong pixel at " + x + "," + y);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: More rows than the image has
+        try (StreamingImageWriter writer = new StreamingImageWriter("streamedLong", 2, 1, ImageFormat.PPM)) {
+            assertThrows(IllegalArgumentException.class, () -> writer.writeRows(new int[4], 2), "Too many rows");
+            writer.writeRows(new int[2], 1);
+        }
+
+        // TC12: Fewer rows than the image has
+        StreamingImageWriter writer = new StreamingImageWriter("streamedShort", 2, 2, ImageFormat.PNG);
+        writer.writeRows(new int[2], 1);
+        assertThrows(IllegalStateException.class, writer::close, "Too few rows");
+    }
+}
@@ -0,0 +1,61 @@
+package renderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderFixture.*;
+
+import org.junit.jupiter.api.Test;
+
+import primitives.Color;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Testing the rendering of streamed images.
+ * A streamed image exists only in its file, so it is read back from there.
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class StreamingTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    StreamingTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link renderer.Camera.Builder#setStreaming(ImageFormat)}.
+     * @throws IOException if an image can't be read
+     */
+    @Test
+    void testStreaming() throws IOException {
+        Camera.Builder builder = builder(litScene(), 150, 100, 75, 50).setTileSize(8);
+        BufferedImage whole = builder.build().renderImage().toImage();
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: a png image streamed in bands that don't divide it, by several threads, is the whole image
+        builder.setStreaming(ImageFormat.PNG).setMultithreading(3).build().writeToImage("streamingPng");
+        assertSameImage(whole, ImageIO.read(new File("images/streamingPng.png")), "Streamed png");
+
+        // EP02: a ppm image streamed on the calling thread is the whole image
+        builder.setStreaming(ImageFormat.PPM).setMultithreading(0).build().writeToImage("streamingPpm");
+        byte[] ppm = Files.readAllBytes(Path.of("images/streamingPpm.ppm"));
+        String header = "P6\n75 50\n255\n";
+        assertEquals(header, new String(ppm, 0, header.length()), "Wrong ppm header");
+        assertEquals(header.length() + 3 * 75 * 50, ppm.length, "Wrong ppm size");
+        for (int x = 0; x < 75; x++)
+            for (int y = 0; y < 50; y++) {
+                int offset = header.length() + 3 * (y * 75 + x);
+                int rgb = (ppm[offset] & 0xFF) << 16 | (ppm[offset + 1] & 0xFF) << 8 | ppm[offset + 2] & 0xFF;
+                assertEquals(whole.getRGB(x, y) & 0xFFFFFF, rgb, "Wrong ppm pixel color at " + x + "," + y);
+            }
+
+        // =============== Boundary Values Tests ==================
+        // BV01: a streamed image is rendered only by writing it, and it has no grid nor copy
+        Camera camera = builder.build();
+        assertThrows(IllegalStateException.class, camera::renderImage, "Rendering a streamed image without writing it");
+        assertThrows(IllegalStateException.class, () -> camera.printGrid(10, new Color(java.awt.Color.WHITE)),
+                "Printing a grid on a streamed image");
+        assertThrows(IllegalStateException.class, camera::toImage, "Copying a streamed image");
+    }
+}
@@ -0,0 +1,52 @@
+package renderer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderFixture.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+
+
+/**
+ * Testing the adaptive supersampling (anti-aliasing) of the pixels
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class SupersamplingTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    SupersamplingTest() { /* to satisfy JavaDoc generator */ }
+
+    /** The color of the sphere of the edge scene */
+    private static final int SPHERE = new java.awt.Color(200, 100, 0).getRGB();
+
+    /**
+     * Test method for {@link renderer.Camera.Builder#setAdaptiveSupersampling(int, double)}.
+     */
+    @Test
+    void testAdaptiveSupersampling() {
+        Camera.Builder builder = builder(edgeScene(), 100, 100, 20, 20).setStatistics(true);
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: pixels whose corners are alike aren't divided, and the corners are shared by the neighbors
+        Camera camera = builder.setAdaptiveSupersampling(3, 255).build().renderImage();
+        assertEquals(21 * 21, camera.getStatistics().getRays(RenderStatistics.RayType.PRIMARY),
+                "The corners of the pixels weren't shared");
+
+        // EP02: the pixels on the sphere's edge are blended, and the rest keep their color
+        camera = builder.setAdaptiveSupersampling(3, 10).build().renderImage();
+        long rays = camera.getStatistics().getRays(RenderStatistics.RayType.PRIMARY);
+        // a small image is mostly edges, yet it is far from the 64 rays per pixel of uniform sampling
+        assertTrue(rays < 8 * 20 * 20, "Too many rays for adaptive sampling: " + rays);
+        BufferedImage image = camera.toImage();
+        assertEquals(java.awt.Color.BLACK.getRGB(), image.getRGB(0, 0), "Wrong background");
+        assertEquals(SPHERE, image.getRGB(10, 10), "Wrong inside of the sphere");
+        assertTrue(blended(image, 0, 10, 10, 11) > 0 && blended(image, 10, 20, 10, 11) > 0,
+                "The edges of the sphere in the middle row aren't blended");
+
+        // =============== Boundary Values Tests ==================
+        // BV01: illegal depth and threshold
+        assertThrows(IllegalArgumentException.class, () -> builder.setAdaptiveSupersampling(-1, 10), "Negative depth");
+        assertThrows(IllegalArgumentException.class, () -> builder.setAdaptiveSupersampling(9, 10), "Too deep");
+        assertThrows(IllegalArgumentException.class, () -> builder.setAdaptiveSupersampling(2, -1), "Negative threshold");
+    }
+}
@@ -0,0 +1,58 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testing TileStore Class
+ * @author Yair Ziv and Amitay Yosh'i.
+ */
+class TileStoreTest {
+    /** Default constructor to satisfy JavaDoc generator */
+    TileStoreTest() { /* to satisfy JavaDoc generator */ }
+
+    /**
+     * Test method for {@link TileStore#save(Tile, ImageWriter)} and {@link TileStore#load(Tile, ImageWriter)}.
+     */
+    @Test
+    void testSaveLoad() {
+        Path path = Path.of("images/tileStoreTest.tiles");
+        TileStore.delete(path);
+        Tile tile = new Tile(4, 4, 3, 2); // the bottom-right tile, clipped by the image
+        Tile other = new Tile(0, 4, 4, 2);
+        ImageWriter image = new ImageWriter(7, 6);
+        for (int y = 4; y < 6; ++y)
+            for (int x = 4; x < 7; ++x)
+                image.writeRGB(x, y, y * 16 + x);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A saved tile is finished after the store is reopened, with its pixels
+        try (TileStore store = new TileStore(path, 7, 6, 4)) {
+            assertFalse(store.isFinished(tile), "A new store has a finished tile");
+            store.save(tile, image);
+            assertTrue(store.isFinished(tile), "A saved tile isn't finished");
+        }
+        try (TileStore store = new TileStore(path, 7, 6, 4)) {
+            assertTrue(store.isFinished(tile), "A saved tile isn't finished after reopening");
+            assertFalse(store.isFinished(other), "A tile that wasn't saved is finished");
+            ImageWriter restored = new ImageWriter(7, 6);
+            store.load(tile, restored);
+            for (int y = 4; y < 6; ++y)
+                for (int x = 4; x < 7; ++x)
+                    assertEquals(y * 16 + x, restored.readRGB(x, y), "Wrong restored pixel at " + x + "," + y);
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A store of another image starts anew
+        try (TileStore store = new TileStore(path, 6, 7, 4)) {
+            assertFalse(store.isFinished(tile), "A store of another image has a finished tile");
+        }
+        // TC12: The store is deleted
+        TileStore.delete(path);
+        assertFalse(Files.exists(path), "The store wasn't deleted");
+    }
+}